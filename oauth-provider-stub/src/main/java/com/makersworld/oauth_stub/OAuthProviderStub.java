@@ -0,0 +1,227 @@
+package com.makersworld.oauth_stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬 OAuth 제공자 스텁 (Google / Kakao / Naver)
+ *
+ * 부하 테스트에서 실제 제공자 대신 사용하며, 앱은 stub 프로필로 이 서버를 가리킵니다.
+ * - 인가(authorize): redirect_uri 로 바로 리다이렉트하며 사용자 1..users 중 하나의 인증 코드를 발급
+ * - 토큰 교환 / 사용자 정보: 제공자별 응답 형식 그대로 응답 (Kakao 의 kakao_account/properties, Naver 의 response 봉투)
+ * - 지연/오류/무응답/느린 본문을 StubSettings 설정대로 주입
+ *
+ * 응답 지연은 스레드를 재우지 않고 스케줄러로 예약하므로, 적은 스레드로 수천 개의 동시 요청을 대기시킬 수 있습니다.
+ */
+public final class OAuthProviderStub {
+
+    private static final String CODE_PREFIX = "stub-code-";
+    private static final String TOKEN_PREFIX = "stub-at-";
+    private static final int SLOW_BODY_CHUNKS = 10;
+    private static final long HANG_CLOSE_MS = TimeUnit.MINUTES.toMillis(5); // 무응답 요청도 결국 정리
+
+    private final StubSettings settings;
+    private final ScheduledExecutorService scheduler;
+
+    private OAuthProviderStub(StubSettings settings) {
+        this.settings = settings;
+        this.scheduler = Executors.newScheduledThreadPool(settings.schedulerThreads(), r -> {
+            Thread thread = new Thread(r, "stub-responder");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static void main(String[] args) throws IOException {
+        StubSettings settings = new StubSettings(args);
+        new OAuthProviderStub(settings).start();
+    }
+
+    private void start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(settings.port()), 4096);
+        // Google
+        route(server, "/google/o/oauth2/v2/auth", "google", Endpoint.AUTHORIZE);
+        route(server, "/google/token", "google", Endpoint.TOKEN);
+        route(server, "/google/oauth2/v2/userinfo", "google", Endpoint.USERINFO);
+        // Kakao
+        route(server, "/kakao/oauth/authorize", "kakao", Endpoint.AUTHORIZE);
+        route(server, "/kakao/oauth/token", "kakao", Endpoint.TOKEN);
+        route(server, "/kakao/v2/user/me", "kakao", Endpoint.USERINFO);
+        // Naver
+        route(server, "/naver/oauth2.0/authorize", "naver", Endpoint.AUTHORIZE);
+        route(server, "/naver/oauth2.0/token", "naver", Endpoint.TOKEN);
+        route(server, "/naver/v1/nid/me", "naver", Endpoint.USERINFO);
+
+        // 요청 파싱만 하고 응답은 스케줄러가 보내므로 작은 풀로 충분
+        server.setExecutor(Executors.newFixedThreadPool(settings.schedulerThreads()));
+        server.start();
+        System.out.println("OAuth 제공자 스텁 시작: http://localhost:" + settings.port() + " 설정=" + settings);
+    }
+
+    private void route(HttpServer server, String path, String provider, Endpoint endpoint) {
+        server.createContext(path, exchange -> {
+            try {
+                handle(exchange, provider, endpoint);
+            } catch (RuntimeException | IOException e) {
+                respondNow(exchange, 500, "{\"error\":\"stub_failure\",\"error_description\":\"" + e + "\"}");
+            }
+        });
+    }
+
+    private void handle(HttpExchange exchange, String provider, Endpoint endpoint) throws IOException {
+        if (endpoint == Endpoint.AUTHORIZE) {
+            authorize(exchange);
+            return;
+        }
+
+        String body;
+        int status = 200;
+        if (endpoint == Endpoint.TOKEN) {
+            String code = parseForm(readBody(exchange)).get("code");
+            Long user = parseUser(code, CODE_PREFIX);
+            body = user != null ? ProviderResponses.token(provider, TOKEN_PREFIX + user) : ProviderResponses.invalidGrant(provider);
+            status = user != null ? 200 : 400;
+        } else {
+            String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            Long user = authorization != null && authorization.startsWith("Bearer ")
+                    ? parseUser(authorization.substring(7), TOKEN_PREFIX) : null;
+            body = user != null ? ProviderResponses.userInfo(provider, user) : ProviderResponses.unauthorized(provider);
+            status = user != null ? 200 : 401;
+        }
+
+        String endpointName = endpoint.name().toLowerCase();
+        if (settings.roll(provider, endpointName, "timeout-rate")) {
+            // 무응답: 클라이언트 응답 타임아웃 유도
+            scheduler.schedule(exchange::close, HANG_CLOSE_MS, TimeUnit.MILLISECONDS);
+            return;
+        }
+        if (settings.roll(provider, endpointName, "error-rate")) {
+            status = 503;
+            body = ProviderResponses.unavailable(provider);
+        }
+        boolean slowBody = status == 200 && settings.roll(provider, endpointName, "slow-body-rate");
+
+        int finalStatus = status;
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        long latencyMs = settings.sampleLatencyMs(provider, endpointName);
+        scheduler.schedule(() -> {
+            if (slowBody) {
+                respondSlowly(exchange, bytes, settings.slowBodyMs(provider, endpointName));
+            } else {
+                respondNow(exchange, finalStatus, bytes);
+            }
+        }, latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void authorize(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseForm(exchange.getRequestURI().getRawQuery());
+        String redirectUri = query.get("redirect_uri");
+        if (redirectUri == null) {
+            respondNow(exchange, 400, "{\"error\":\"invalid_request\",\"error_description\":\"redirect_uri is required\"}");
+            return;
+        }
+        long user = 1 + ThreadLocalRandom.current().nextInt(Math.max(1, settings.users()));
+        String location = redirectUri + (redirectUri.contains("?") ? "&" : "?") + "code=" + CODE_PREFIX + user
+                + (query.containsKey("state") ? "&state=" + URLEncoder.encode(query.get("state"), StandardCharsets.UTF_8) : "");
+        exchange.getResponseHeaders().set("Location", location);
+        exchange.sendResponseHeaders(302, -1);
+        exchange.close();
+    }
+
+    private static void respondNow(HttpExchange exchange, int status, String body) {
+        respondNow(exchange, status, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void respondNow(HttpExchange exchange, int status, byte[] body) {
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+            exchange.sendResponseHeaders(status, body.length);
+            out.write(body);
+        } catch (IOException e) {
+            exchange.close(); // 클라이언트가 먼저 끊은 경우 (타임아웃, 헤지 취소)
+        }
+    }
+
+    /**
+     * 헤더를 먼저 보내고 본문을 durationMs 동안 나누어 보냅니다. (chunked)
+     */
+    private void respondSlowly(HttpExchange exchange, byte[] body, long durationMs) {
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+            exchange.sendResponseHeaders(200, 0);
+        } catch (IOException e) {
+            exchange.close();
+            return;
+        }
+        int chunkSize = Math.max(1, (body.length + SLOW_BODY_CHUNKS - 1) / SLOW_BODY_CHUNKS);
+        long interval = Math.max(1, durationMs / SLOW_BODY_CHUNKS);
+        writeChunk(exchange, body, 0, chunkSize, interval);
+    }
+
+    private void writeChunk(HttpExchange exchange, byte[] body, int offset, int chunkSize, long intervalMs) {
+        try {
+            OutputStream out = exchange.getResponseBody();
+            int length = Math.min(chunkSize, body.length - offset);
+            out.write(body, offset, length);
+            out.flush();
+            if (offset + length >= body.length) {
+                out.close();
+                return;
+            }
+            scheduler.schedule(() -> writeChunk(exchange, body, offset + length, chunkSize, intervalMs),
+                    intervalMs, TimeUnit.MILLISECONDS);
+        } catch (IOException e) {
+            exchange.close();
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Map<String, String> parseForm(String encoded) {
+        Map<String, String> values = new HashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return values;
+        }
+        for (String pair : encoded.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                values.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return values;
+    }
+
+    private static Long parseUser(String value, String prefix) {
+        if (value == null || !value.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private enum Endpoint {
+        AUTHORIZE, TOKEN, USERINFO
+    }
+}
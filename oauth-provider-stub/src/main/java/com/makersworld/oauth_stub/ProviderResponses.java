@@ -0,0 +1,92 @@
+package com.makersworld.oauth_stub;
+
+/**
+ * 제공자별 JSON 응답 본문 (실제 응답 형식과 필드 구성을 그대로 재현)
+ * 사용자 n 의 정보는 항상 같으므로, 같은 코드로 다시 로그인하면 기존 사용자 로그인이 됩니다.
+ */
+final class ProviderResponses {
+
+    private ProviderResponses() {
+    }
+
+    static String token(String provider, String accessToken) {
+        switch (provider) {
+            case "google":
+                return "{\"access_token\":\"" + accessToken + "\",\"expires_in\":3599,"
+                        + "\"scope\":\"openid https://www.googleapis.com/auth/userinfo.email https://www.googleapis.com/auth/userinfo.profile\","
+                        + "\"token_type\":\"Bearer\"}";
+            case "kakao":
+                return "{\"access_token\":\"" + accessToken + "\",\"token_type\":\"bearer\","
+                        + "\"refresh_token\":\"" + accessToken + "-refresh\",\"expires_in\":21599,"
+                        + "\"scope\":\"profile_image profile_nickname\",\"refresh_token_expires_in\":5183999}";
+            case "naver":
+                return "{\"access_token\":\"" + accessToken + "\",\"refresh_token\":\"" + accessToken + "-refresh\","
+                        + "\"token_type\":\"bearer\",\"expires_in\":\"3600\"}";
+            default:
+                throw new IllegalArgumentException(provider);
+        }
+    }
+
+    static String userInfo(String provider, long user) {
+        String email = "user" + user + "@" + provider + ".stub.test";
+        String picture = "https://stub.test/" + provider + "/avatar/" + user + ".png";
+        switch (provider) {
+            case "google":
+                return "{\"id\":\"" + (100000000000000000L + user) + "\",\"email\":\"" + email + "\",\"verified_email\":true,"
+                        + "\"name\":\"Stub User " + user + "\",\"given_name\":\"Stub\",\"family_name\":\"User " + user + "\","
+                        + "\"picture\":\"" + picture + "\",\"locale\":\"ko\"}";
+            case "kakao":
+                // 닉네임/이미지는 kakao_account.profile 과 properties 양쪽에 존재
+                return "{\"id\":" + (3000000000L + user) + ",\"connected_at\":\"2024-01-01T00:00:00Z\","
+                        + "\"properties\":{\"nickname\":\"카카오" + user + "\",\"profile_image\":\"" + picture + "\","
+                        + "\"thumbnail_image\":\"" + picture + "\"},"
+                        + "\"kakao_account\":{\"profile_nickname_needs_agreement\":false,\"profile_image_needs_agreement\":false,"
+                        + "\"profile\":{\"nickname\":\"카카오" + user + "\",\"thumbnail_image_url\":\"" + picture + "\","
+                        + "\"profile_image_url\":\"" + picture + "\",\"is_default_image\":false},"
+                        + "\"has_email\":true,\"email_needs_agreement\":false,\"is_email_valid\":true,\"is_email_verified\":true,"
+                        + "\"email\":\"" + email + "\"}}";
+            case "naver":
+                // 사용자 정보는 response 봉투 안에 있음
+                return "{\"resultcode\":\"00\",\"message\":\"success\",\"response\":{\"id\":\"stub-naver-" + user + "\","
+                        + "\"nickname\":\"네이버" + user + "\",\"profile_image\":\"" + picture + "\",\"email\":\"" + email + "\","
+                        + "\"name\":\"네이버사용자" + user + "\"}}";
+            default:
+                throw new IllegalArgumentException(provider);
+        }
+    }
+
+    static String invalidGrant(String provider) {
+        switch (provider) {
+            case "kakao":
+                return "{\"error\":\"invalid_grant\",\"error_description\":\"authorization code not found for code=unknown\","
+                        + "\"error_code\":\"KOE320\"}";
+            case "naver":
+                return "{\"error\":\"invalid_request\",\"error_description\":\"no valid data in session\"}";
+            default:
+                return "{\"error\":\"invalid_grant\",\"error_description\":\"Bad Request\"}";
+        }
+    }
+
+    static String unauthorized(String provider) {
+        switch (provider) {
+            case "kakao":
+                return "{\"msg\":\"this access token does not exist\",\"code\":-401}";
+            case "naver":
+                return "{\"resultcode\":\"024\",\"message\":\"Authentication failed (인증 실패하였습니다.)\"}";
+            default:
+                return "{\"error\":{\"code\":401,\"message\":\"Request had invalid authentication credentials.\","
+                        + "\"status\":\"UNAUTHENTICATED\"}}";
+        }
+    }
+
+    static String unavailable(String provider) {
+        switch (provider) {
+            case "kakao":
+                return "{\"msg\":\"service temporarily unavailable\",\"code\":-9798}";
+            case "naver":
+                return "{\"resultcode\":\"500\",\"message\":\"Internal Server Error\"}";
+            default:
+                return "{\"error\":{\"code\":503,\"message\":\"The service is currently unavailable.\",\"status\":\"UNAVAILABLE\"}}";
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.makersworld.oauth_stub;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 스텁 동작 설정 (key=value 인자 또는 config=<파일 경로> 의 properties 파일)
+ *
+ * 값은 "<provider>.<endpoint>.<key>" -> "<provider>.<key>" -> "<key>" 순서로 찾습니다.
+ * (provider: google / kakao / naver, endpoint: token / userinfo)
+ *
+ * - latency: fixed | uniform | lognormal (기본 lognormal)
+ *   - fixed: latency.ms
+ *   - uniform: latency.min-ms ~ latency.max-ms
+ *   - lognormal: latency.median-ms, latency.p99-ms (꼬리가 긴 실제 제공자 응답 시간 분포)
+ * - error-rate: 503 응답 비율 (제공자별 오류 본문)
+ * - timeout-rate: 응답하지 않는 비율 (클라이언트 타임아웃 유도)
+ * - slow-body-rate / slow-body-ms: 헤더를 먼저 보내고 본문을 slow-body-ms 동안 나누어 보내는 비율
+ * - users: 인증 코드를 발급할 사용자 수 (신규 가입/기존 로그인 비율 조절)
+ */
+final class StubSettings {
+
+    private static final double Z_99 = 2.3263; // 표준정규분포 99번째 백분위
+
+    private final Properties properties = new Properties();
+
+    StubSettings(String[] args) throws IOException {
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("인자는 key=value 형식이어야 합니다: " + arg);
+            }
+            String key = arg.substring(0, eq).replaceFirst("^--", "");
+            String value = arg.substring(eq + 1);
+            if (key.equals("config")) {
+                try (Reader reader = Files.newBufferedReader(Path.of(value))) {
+                    properties.load(reader);
+                }
+            } else {
+                properties.setProperty(key, value);
+            }
+        }
+    }
+
+    int port() {
+        return Integer.parseInt(properties.getProperty("port", "9090"));
+    }
+
+    int users() {
+        return Integer.parseInt(properties.getProperty("users", "1000"));
+    }
+
+    int schedulerThreads() {
+        return Integer.parseInt(properties.getProperty("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+    }
+
+    /**
+     * 이번 응답의 지연 시간을 뽑습니다.
+     */
+    long sampleLatencyMs(String provider, String endpoint) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String distribution = get(provider, endpoint, "latency", "lognormal");
+        switch (distribution) {
+            case "fixed":
+                return (long) getDouble(provider, endpoint, "latency.ms", 50);
+            case "uniform": {
+                double min = getDouble(provider, endpoint, "latency.min-ms", 20);
+                double max = getDouble(provider, endpoint, "latency.max-ms", 120);
+                return (long) (min + random.nextDouble() * Math.max(0, max - min));
+            }
+            case "lognormal": {
+                double median = getDouble(provider, endpoint, "latency.median-ms", 50);
+                double p99 = getDouble(provider, endpoint, "latency.p99-ms", 300);
+                double sigma = Math.log(Math.max(p99, median) / median) / Z_99;
+                return (long) (median * Math.exp(sigma * random.nextGaussian()));
+            }
+            default:
+                throw new IllegalArgumentException("지원하지 않는 지연 분포입니다: " + distribution);
+        }
+    }
+
+    boolean roll(String provider, String endpoint, String rateKey) {
+        return ThreadLocalRandom.current().nextDouble() < getDouble(provider, endpoint, rateKey, 0);
+    }
+
+    long slowBodyMs(String provider, String endpoint) {
+        return (long) getDouble(provider, endpoint, "slow-body-ms", 2000);
+    }
+
+    private double getDouble(String provider, String endpoint, String key, double defaultValue) {
+        return Double.parseDouble(get(provider, endpoint, key, String.valueOf(defaultValue)));
+    }
+
+    private String get(String provider, String endpoint, String key, String defaultValue) {
+        String value = properties.getProperty(provider + "." + endpoint + "." + key);
+        if (value == null) {
+            value = properties.getProperty(provider + "." + key);
+        }
+        return value != null ? value : properties.getProperty(key, defaultValue);
+    }
+
+    @Override
+    public String toString() {
+        return properties.isEmpty() ? "(기본값)" : properties.toString();
+    }
+}
@@ -0,0 +1,93 @@
+package com.makersworld.oauth_inclass.benchmark;
+
+import com.makersworld.oauth_inclass.config.JwtKeyProvider;
+import com.makersworld.oauth_inclass.config.JwtProperties;
+import com.makersworld.oauth_inclass.enums.Role;
+import com.makersworld.oauth_inclass.security.JwtAuthenticationFilter;
+import com.makersworld.oauth_inclass.security.VerifiedTokenCache;
+import com.makersworld.oauth_inclass.service.JwtFixtures;
+import com.makersworld.oauth_inclass.service.JwtService;
+import com.makersworld.oauth_inclass.service.TokenRevocationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter 전체 통과 비용 측정 (헤더 파싱 -> 검증 -> SecurityContext 설정)
+ * 검증 토큰 캐시 사용 여부에 따른 차이를 비교합니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    @Param({"2048", "4096"})
+    int keySize;
+
+    @Param({"false", "true"})
+    boolean cacheEnabled;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    // 체인 끝에서 SecurityContext를 비워 다음 호출도 전체 검증 경로를 타도록 함
+    private final FilterChain chain = (request, response) -> SecurityContextHolder.clearContext();
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = JwtFixtures.properties();
+        properties.getCache().setEnabled(cacheEnabled);
+        JwtKeyProvider keyProvider = JwtFixtures.keyProvider(properties, JwtFixtures.rsaKeyPair(keySize));
+        JwtService jwtService = JwtFixtures.jwtService(properties, keyProvider);
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, keyProvider, properties, new SimpleMeterRegistry());
+
+        // 폐기 목록은 비어 있는 상태 (조회 비용만 포함, 폴링 스레드는 시작하지 않음)
+        TokenRevocationService revocation = new TokenRevocationService(null, properties, new SimpleMeterRegistry());
+
+        filter = new JwtAuthenticationFilter(cache, revocation);
+        authorization = "Bearer " + jwtService.generateToken("bench@example.com", Role.USER);
+    }
+
+    // 요청/응답 객체는 스레드 안전하지 않으므로 스레드별로 재사용
+    @State(Scope.Thread)
+    public static class Exchange {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/profile");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        @Setup
+        public void setUp(JwtFilterBenchmark benchmark) {
+            request.addHeader("Authorization", benchmark.authorization);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void doFilter(Exchange exchange) throws Exception {
+        filter.doFilter(exchange.request, exchange.response, chain);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void doFilterConcurrent(Exchange exchange) throws Exception {
+        filter.doFilter(exchange.request, exchange.response, chain);
+    }
+}
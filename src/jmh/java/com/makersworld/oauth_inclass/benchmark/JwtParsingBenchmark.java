@@ -0,0 +1,88 @@
+package com.makersworld.oauth_inclass.benchmark;
+
+import com.makersworld.oauth_inclass.config.JwtProperties;
+import com.makersworld.oauth_inclass.config.SigningKey;
+import com.makersworld.oauth_inclass.security.VerifiedToken;
+import com.makersworld.oauth_inclass.service.JwtFixtures;
+import com.makersworld.oauth_inclass.service.JwtService;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.KeyPair;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 토큰 파싱/서명 검증 비용 측정 (JwtService.verify -> extractAllClaims)
+ * 키 크기와 클레임 구성(기본 / 확장)에 따른 차이를 비교합니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtParsingBenchmark {
+
+    @Param({"2048", "3072", "4096"})
+    int keySize;
+
+    @Param({"minimal", "extended"})
+    String claimSet;
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = JwtFixtures.properties();
+        KeyPair keyPair = JwtFixtures.rsaKeyPair(keySize);
+        jwtService = JwtFixtures.jwtService(properties, keyPair);
+        String kid = SigningKey.of(properties.getAlgorithm(), keyPair).getKid(); // thumbprint 이므로 픽스처의 kid 와 동일
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("role", "USER");
+        if ("extended".equals(claimSet)) {
+            claims.put("name", "Benchmark User");
+            claims.put("provider", "GOOGLE");
+            claims.put("provider_id", "109876543210987654321");
+            claims.put("locale", "ko-KR");
+            claims.put("scope", "openid profile email");
+            claims.put("picture", "https://lh3.googleusercontent.com/a/benchmark-avatar-image");
+        }
+        long now = System.currentTimeMillis();
+        token = Jwts.builder()
+                .header().keyId(kid).and()
+                .claims(claims)
+                .subject("bench@example.com")
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + 86_400_000L))
+                .signWith(keyPair.getPrivate(), Jwts.SIG.RS256) // 키 크기와 무관하게 RS256 고정 (기본값은 3072/4096비트에서 RS384/RS512)
+                .compact();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public VerifiedToken verify() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public VerifiedToken verifyConcurrent() {
+        return jwtService.verify(token);
+    }
+}
@@ -0,0 +1,69 @@
+package com.makersworld.oauth_inclass.benchmark;
+
+import com.makersworld.oauth_inclass.enums.Role;
+import com.makersworld.oauth_inclass.service.JwtFixtures;
+import com.makersworld.oauth_inclass.service.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 토큰 발급 비용 측정: JwtService.generateToken / generateRefreshToken
+ * 키 크기별, 단일 스레드와 4 스레드 동시 실행을 비교합니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSigningBenchmark {
+
+    @Param({"2048", "3072", "4096"})
+    int keySize;
+
+    // 리프레시 토큰 jti (저장소 등록 비용은 제외하고 발급 비용만 측정)
+    private static final String TOKEN_ID = "3f2b7c1e-9a4d-4e8b-b6f0-5c2d8e1a7b94";
+
+    private JwtService jwtService;
+
+    @Setup
+    public void setUp() {
+        jwtService = JwtFixtures.jwtService(JwtFixtures.properties(), JwtFixtures.rsaKeyPair(keySize));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String generateToken() {
+        return jwtService.generateToken("bench@example.com", Role.USER);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateTokenConcurrent() {
+        return jwtService.generateToken("bench@example.com", Role.USER);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String generateRefreshToken() {
+        return jwtService.generateRefreshToken("bench@example.com", TOKEN_ID);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateRefreshTokenConcurrent() {
+        return jwtService.generateRefreshToken("bench@example.com", TOKEN_ID);
+    }
+}
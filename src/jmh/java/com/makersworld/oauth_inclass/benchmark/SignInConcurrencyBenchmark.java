@@ -0,0 +1,131 @@
+package com.makersworld.oauth_inclass.benchmark;
+
+import com.makersworld.oauth_inclass.config.JwtProperties;
+import com.makersworld.oauth_inclass.enums.JwtAlgorithm;
+import com.makersworld.oauth_inclass.enums.Role;
+import com.makersworld.oauth_inclass.service.JwtFixtures;
+import com.makersworld.oauth_inclass.service.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 동시 로그인 처리량 비교: 플랫폼 스레드 풀(Tomcat 기본 최대 200) vs 가상 스레드
+ *
+ * 한 번의 측정(op)은 concurrency 개의 로그인을 동시에 시작해 모두 끝날 때까지의 시간입니다.
+ * 로그인 한 건은 실제 경로를 단순화한 모델입니다.
+ * - 제공자 호출 2회: 각각 providerLatencyMs 동안 블로킹 (토큰 교환, 사용자 정보)
+ * - DB 단계: Hikari 풀 크기(10)만큼의 세마포어를 잡고 dbMs 동안 블로킹
+ * - 토큰 서명: 실제 JwtService.generateToken (EdDSA)
+ *
+ * virtual 모드는 Java 21 이상에서만 실행됩니다. (./gradlew jmh -PjavaVersion=21 -PjmhInclude=SignInConcurrency)
+ * Java 21+ 에서는 -Djdk.tracePinnedThreads=short 가 함께 설정되어, 경로 안의 synchronized 블로킹이 있으면 스택이 출력됩니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class SignInConcurrencyBenchmark {
+
+    private static final int PLATFORM_THREADS = 200; // server.tomcat.threads.max 기본값
+    private static final int DB_POOL_SIZE = 10;      // spring.datasource.hikari.maximum-pool-size 기본값
+
+    @Param({"platform", "virtual"})
+    String threads;
+
+    @Param({"200", "1000", "4000"})
+    int concurrency;
+
+    @Param({"50"})
+    int providerLatencyMs;
+
+    @Param({"1"})
+    int dbMs;
+
+    private ExecutorService platformPool;
+    private SimpleAsyncTaskExecutor virtualExecutor;
+    private JwtService jwtService;
+    private Semaphore dbPool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtProperties properties = JwtFixtures.properties();
+        properties.setAlgorithm(JwtAlgorithm.EdDSA);
+        jwtService = JwtFixtures.jwtService(properties, JwtAlgorithm.EdDSA.generateKeyPair());
+        dbPool = new Semaphore(DB_POOL_SIZE);
+
+        if ("virtual".equals(threads)) {
+            virtualExecutor = new SimpleAsyncTaskExecutor("signin-vt-");
+            virtualExecutor.setVirtualThreads(true); // Java 21 미만이면 예외 (측정 불가)
+        } else {
+            platformPool = Executors.newFixedThreadPool(PLATFORM_THREADS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (platformPool != null) {
+            platformPool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public int signInWave() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(concurrency);
+        AtomicInteger issued = new AtomicInteger();
+        Runnable signIn = () -> {
+            try {
+                signIn(issued);
+            } finally {
+                done.countDown();
+            }
+        };
+        for (int i = 0; i < concurrency; i++) {
+            if (virtualExecutor != null) {
+                virtualExecutor.execute(signIn);
+            } else {
+                platformPool.execute(signIn);
+            }
+        }
+        done.await();
+        return issued.get();
+    }
+
+    private void signIn(AtomicInteger issued) {
+        try {
+            Thread.sleep(providerLatencyMs); // 토큰 교환
+            Thread.sleep(providerLatencyMs); // 사용자 정보
+            dbPool.acquire();
+            try {
+                Thread.sleep(dbMs);          // 사용자/프로필 동기화
+            } finally {
+                dbPool.release();
+            }
+            if (jwtService.generateToken("bench@example.com", Role.USER) != null) {
+                issued.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
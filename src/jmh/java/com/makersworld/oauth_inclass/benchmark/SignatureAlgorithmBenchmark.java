@@ -0,0 +1,73 @@
+package com.makersworld.oauth_inclass.benchmark;
+
+import com.makersworld.oauth_inclass.config.JwtProperties;
+import com.makersworld.oauth_inclass.enums.JwtAlgorithm;
+import com.makersworld.oauth_inclass.enums.Role;
+import com.makersworld.oauth_inclass.security.VerifiedToken;
+import com.makersworld.oauth_inclass.service.JwtFixtures;
+import com.makersworld.oauth_inclass.service.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서명 알고리즘별(RS256 / ES256 / EdDSA) 토큰 발급 및 검증 비용 비교
+ * 알고리즘 전환 전 발급 측(이 서비스)과 검증 측(다운스트림) 비용을 함께 확인합니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignatureAlgorithmBenchmark {
+
+    @Param({"RS256", "ES256", "EdDSA"})
+    JwtAlgorithm algorithm;
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = JwtFixtures.properties();
+        properties.setAlgorithm(algorithm);
+        jwtService = JwtFixtures.jwtService(properties, algorithm.generateKeyPair());
+        token = jwtService.generateToken("bench@example.com", Role.USER);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String sign() {
+        return jwtService.generateToken("bench@example.com", Role.USER);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public VerifiedToken verify() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String signConcurrent() {
+        return jwtService.generateToken("bench@example.com", Role.USER);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public VerifiedToken verifyConcurrent() {
+        return jwtService.verify(token);
+    }
+}
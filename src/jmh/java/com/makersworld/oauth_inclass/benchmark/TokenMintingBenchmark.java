@@ -0,0 +1,129 @@
+package com.makersworld.oauth_inclass.benchmark;
+
+import com.makersworld.oauth_inclass.config.JwtProperties;
+import com.makersworld.oauth_inclass.config.SigningKey;
+import com.makersworld.oauth_inclass.enums.JwtAlgorithm;
+import com.makersworld.oauth_inclass.enums.Role;
+import com.makersworld.oauth_inclass.service.JwtFixtures;
+import com.makersworld.oauth_inclass.service.JwtService;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.KeyPair;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 토큰 발급 경로 비교: 기존 jjwt 빌더 vs 템플릿 인코더 (JwtService.generateToken / generateRefreshToken)
+ * 할당량은 -prof gc 의 gc.alloc.rate.norm (B/op) 으로 비교합니다.
+ * EdDSA 에서는 서명 자체가 가벼워 인코딩 단계의 할당 차이가 가장 잘 드러납니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenMintingBenchmark {
+
+    @Param({"RS256", "EdDSA"})
+    JwtAlgorithm algorithm;
+
+    // 리프레시 토큰 jti (저장소 등록 비용은 제외하고 인코딩/서명만 측정)
+    private static final String TOKEN_ID = "3f2b7c1e-9a4d-4e8b-b6f0-5c2d8e1a7b94";
+
+    private JwtProperties properties;
+    private SigningKey signingKey;
+    private JwtService jwtService;
+
+    @Setup
+    public void setUp() {
+        properties = JwtFixtures.properties();
+        properties.setAlgorithm(algorithm);
+        KeyPair keyPair = algorithm.generateKeyPair();
+        signingKey = SigningKey.of(algorithm, keyPair);
+        jwtService = JwtFixtures.jwtService(properties, keyPair);
+    }
+
+    // --- 로그인(sign-in) 경로: 액세스 + 리프레시 토큰 ---
+
+    @Benchmark
+    @Threads(1)
+    public String signInBuilder() {
+        return builderToken("bench@example.com", Role.USER, properties.getExpirationMs())
+                + builderToken("bench@example.com", null, properties.getRefreshExpiration());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String signInTemplate() {
+        return jwtService.generateToken("bench@example.com", Role.USER)
+                + jwtService.generateRefreshToken("bench@example.com", TOKEN_ID);
+    }
+
+    // --- 개별 토큰 ---
+
+    @Benchmark
+    @Threads(1)
+    public String accessTokenBuilder() {
+        return builderToken("bench@example.com", Role.USER, properties.getExpirationMs());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String accessTokenTemplate() {
+        return jwtService.generateToken("bench@example.com", Role.USER);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String accessTokenTemplateConcurrent() {
+        return jwtService.generateToken("bench@example.com", Role.USER);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String refreshTokenBuilder() {
+        return builderToken("bench@example.com", null, properties.getRefreshExpiration());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String refreshTokenTemplate() {
+        return jwtService.generateRefreshToken("bench@example.com", TOKEN_ID);
+    }
+
+    /**
+     * 템플릿 인코더 도입 이전 JwtService.createToken 과 같은 jjwt 빌더 경로
+     */
+    private String builderToken(String subject, Role role, long expiration) {
+        Map<String, Object> claims = new HashMap<>();
+        if (role != null) {
+            claims.put("role", role.name());
+        }
+        Date now = new Date(System.currentTimeMillis());
+        Date expiryDate = new Date(now.getTime() + expiration);
+        return Jwts.builder()
+                .header().keyId(signingKey.getKid()).and()
+                .claims(claims)
+                .subject(subject)
+                .id(role == null ? TOKEN_ID : null) // 리프레시 토큰만 jti 포함
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(signingKey.getPrivateKey(), algorithm.getSignatureAlgorithm())
+                .compact();
+    }
+}
@@ -0,0 +1,107 @@
+package com.makersworld.oauth_inclass.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.makersworld.oauth_inclass.dto.GoogleUserInfoResponse;
+import com.makersworld.oauth_inclass.dto.KakaoUserInfoResponse;
+import com.makersworld.oauth_inclass.dto.NaverUserInfoResponse;
+import com.makersworld.oauth_inclass.dto.UserInfoResponse;
+import com.makersworld.oauth_inclass.service.UserInfoJsonDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * userinfo 응답 매핑 비교: 제공자 DTO 역직렬화 후 변환(기존) vs 스트리밍 디코더(UserInfoJsonDecoder)
+ * 할당량은 -prof gc 의 gc.alloc.rate.norm (B/op) 으로 비교합니다.
+ * 응답 본문은 실제 제공자 응답과 같은 필드 구성입니다. (Kakao 는 동의 플래그와 중복 프로필, Naver 는 response 봉투)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserInfoDecodingBenchmark {
+
+    @Param({"google", "kakao", "naver"})
+    String provider;
+
+    private static final String GOOGLE = "{\"id\":\"108234567890123456789\",\"email\":\"user@gmail.com\",\"verified_email\":true,"
+            + "\"name\":\"홍길동\",\"given_name\":\"길동\",\"family_name\":\"홍\","
+            + "\"picture\":\"https://lh3.googleusercontent.com/a/ACg8ocJ0c1n7Xq2b3Yk9sQ=s96-c\",\"locale\":\"ko\"}";
+    private static final String KAKAO = "{\"id\":3000000123,\"connected_at\":\"2024-01-01T00:00:00Z\","
+            + "\"properties\":{\"nickname\":\"카카오사용자\",\"profile_image\":\"http://k.kakaocdn.net/dn/profile_640x640.jpg\","
+            + "\"thumbnail_image\":\"http://k.kakaocdn.net/dn/profile_110x110.jpg\"},"
+            + "\"kakao_account\":{\"profile_nickname_needs_agreement\":false,\"profile_image_needs_agreement\":false,"
+            + "\"profile\":{\"nickname\":\"카카오사용자\",\"thumbnail_image_url\":\"http://k.kakaocdn.net/dn/profile_110x110.jpg\","
+            + "\"profile_image_url\":\"http://k.kakaocdn.net/dn/profile_640x640.jpg\",\"is_default_image\":false},"
+            + "\"has_email\":true,\"email_needs_agreement\":false,\"is_email_valid\":true,\"is_email_verified\":true,"
+            + "\"email\":\"user@kakao.com\"}}";
+    private static final String NAVER = "{\"resultcode\":\"00\",\"message\":\"success\",\"response\":{"
+            + "\"id\":\"32742776\",\"nickname\":\"네이버닉네임\",\"profile_image\":\"https://ssl.pstatic.net/static/pwe/address/img_profile.png\","
+            + "\"age\":\"30-39\",\"gender\":\"M\",\"email\":\"user@naver.com\",\"mobile\":\"010-0000-0000\","
+            + "\"mobile_e164\":\"+821000000000\",\"name\":\"홍길동\",\"birthday\":\"10-01\",\"birthyear\":\"1990\"}}";
+
+    // Spring Boot 기본 ObjectMapper 와 같이 모르는 필드를 무시
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        body = switch (provider) {
+            case "google" -> GOOGLE;
+            case "kakao" -> KAKAO;
+            default -> NAVER;
+        }.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public UserInfoResponse dto() throws IOException {
+        ByteArrayInputStream in = new ByteArrayInputStream(body);
+        switch (provider) {
+            case "google": {
+                GoogleUserInfoResponse response = objectMapper.readValue(in, GoogleUserInfoResponse.class);
+                return UserInfoResponse.builder().id(response.getId()).email(response.getEmail())
+                        .name(response.getName()).picture(response.getPicture()).build();
+            }
+            case "kakao": {
+                KakaoUserInfoResponse response = objectMapper.readValue(in, KakaoUserInfoResponse.class);
+                return UserInfoResponse.builder().id(String.valueOf(response.getId())).email(response.getValidatedEmail())
+                        .name(response.getValidatedNickname()).picture(response.getProfileImageUrl()).build();
+            }
+            default: {
+                NaverUserInfoResponse response = objectMapper.readValue(in, NaverUserInfoResponse.class);
+                return UserInfoResponse.builder().id(response.getId()).email(response.getValidatedEmail())
+                        .name(response.getValidatedName()).picture(response.getProfileImage()).build();
+            }
+        }
+    }
+
+    @Benchmark
+    public UserInfoResponse streaming() throws IOException {
+        ByteArrayInputStream in = new ByteArrayInputStream(body);
+        return switch (provider) {
+            case "google" -> UserInfoJsonDecoder.google(in);
+            case "kakao" -> UserInfoJsonDecoder.kakao(in);
+            default -> UserInfoJsonDecoder.naver(in);
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.makersworld.oauth_inclass.service;
+
+import com.makersworld.oauth_inclass.config.JwtKeyProvider;
+import com.makersworld.oauth_inclass.config.JwtProperties;
+import com.makersworld.oauth_inclass.config.SigningKey;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 벤치마크에서 스프링 컨텍스트 없이 JwtService를 구성하기 위한 픽스처
+ * (JwtService의 패키지 전용 초기화 메서드를 호출하기 위해 같은 패키지에 위치)
+ */
+public final class JwtFixtures {
+
+    private JwtFixtures() {
+    }
+
+    public static KeyPair rsaKeyPair(int keySize) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(keySize);
+            return generator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static JwtProperties properties() {
+        JwtProperties properties = new JwtProperties();
+        properties.setExpirationMs(86_400_000L);
+        properties.setRefreshExpiration(604_800_000L);
+        return properties;
+    }
+
+    public static JwtKeyProvider keyProvider(JwtProperties properties, KeyPair keyPair) {
+        SigningKey signingKey = SigningKey.of(properties.getAlgorithm(), keyPair);
+        return new JwtKeyProvider(properties) {
+            @Override
+            public SigningKey getActiveKey() {
+                return signingKey;
+            }
+
+            @Override
+            public SigningKey getVerificationKey(String kid) {
+                return kid == null || kid.equals(signingKey.getKid()) ? signingKey : null;
+            }
+        };
+    }
+
+    public static JwtService jwtService(JwtProperties properties, KeyPair keyPair) {
+        return jwtService(properties, keyProvider(properties, keyPair));
+    }
+
+    public static JwtService jwtService(JwtProperties properties, JwtKeyProvider keyProvider) {
+        JwtService jwtService = new JwtService(properties, keyProvider);
+        jwtService.initParser();
+        return jwtService;
+    }
+}
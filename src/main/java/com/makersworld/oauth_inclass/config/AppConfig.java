@@ -1,14 +1,36 @@
 package com.makersworld.oauth_inclass.config;
 
+import org.springframework.boot.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ForkJoinPool;
 
 @Configuration
 public class AppConfig {
 
+    // 토큰 일괄 서명/검증 전용 워커 풀 (크기 제한, 공용 commonPool 과 분리)
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool jwtWorkerPool(JwtProperties jwtProperties) {
+        return new ForkJoinPool(Math.max(1, jwtProperties.getBatch().getParallelism()));
+    }
+
+    /**
+     * 리액티브 체인 안의 블로킹 작업(JPA 등)을 실행할 스케줄러
+     * spring.threads.virtual.enabled=true (Java 21+) 이면 작업마다 가상 스레드를 만들고,
+     * 아니면 크기가 제한된 boundedElastic 플랫폼 스레드 풀을 사용합니다.
+     */
     @Bean
-    public WebClient webClient() {
-        return WebClient.builder().build();
+    public Scheduler blockingScheduler(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("blocking-vt-");
+            executor.setVirtualThreads(true);
+            return Schedulers.fromExecutor(executor);
+        }
+        return Schedulers.boundedElastic();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,139 @@
+package com.makersworld.oauth_inclass.config;
+
+import com.makersworld.oauth_inclass.enums.JwtAlgorithm;
+import io.jsonwebtoken.Jwts;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 로컬 디스크의 PEM 파일 또는 키스토어에서 서명 키 쌍을 읽어오는 유틸리티
+ * 읽어온 키 쌍은 시험 서명/검증을 거친 뒤에만 반환되므로,
+ * 쓰다 만 파일이나 짝이 맞지 않는 키로 교체되는 일을 막을 수 있습니다.
+ */
+final class JwtKeyLoader {
+
+    private JwtKeyLoader() {
+    }
+
+    /**
+     * 키 파일 설정이 있는지 확인합니다.
+     * @param key 키 파일 설정
+     * @return PEM 또는 키스토어 경로가 지정되어 있으면 true
+     */
+    static boolean isConfigured(JwtProperties.Key key) {
+        return hasText(key.getKeystoreLocation())
+                || (hasText(key.getPrivateKeyLocation()) && hasText(key.getPublicKeyLocation()));
+    }
+
+    /**
+     * 감시해야 할 키 파일 경로 목록을 반환합니다.
+     * @param key 키 파일 설정
+     * @return 키 파일 경로 목록
+     */
+    static List<Path> locations(JwtProperties.Key key) {
+        List<Path> paths = new ArrayList<>();
+        if (hasText(key.getKeystoreLocation())) {
+            paths.add(Path.of(key.getKeystoreLocation()).toAbsolutePath());
+        } else {
+            paths.add(Path.of(key.getPrivateKeyLocation()).toAbsolutePath());
+            paths.add(Path.of(key.getPublicKeyLocation()).toAbsolutePath());
+        }
+        return paths;
+    }
+
+    /**
+     * 설정된 위치에서 키 쌍을 읽고 검증합니다.
+     * @param key 키 파일 설정
+     * @param algorithm 서명 알고리즘
+     * @return 검증된 키 쌍
+     * @throws IllegalStateException 읽기 실패 또는 키 쌍 검증 실패 시
+     */
+    static KeyPair load(JwtProperties.Key key, JwtAlgorithm algorithm) {
+        try {
+            KeyPair keyPair = hasText(key.getKeystoreLocation())
+                    ? loadKeystore(key)
+                    : loadPem(key, algorithm);
+            verifyPair(keyPair, algorithm);
+            return keyPair;
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            throw new IllegalStateException("JWT 서명 키를 불러오지 못했습니다: " + e.getMessage(), e);
+        }
+    }
+
+    private static KeyPair loadPem(JwtProperties.Key key, JwtAlgorithm algorithm)
+            throws IOException, GeneralSecurityException {
+        KeyFactory keyFactory = KeyFactory.getInstance(algorithm.getKeyAlgorithm());
+        PrivateKey privateKey = keyFactory.generatePrivate(
+                new PKCS8EncodedKeySpec(readPem(Path.of(key.getPrivateKeyLocation()), "PRIVATE KEY")));
+        PublicKey publicKey = keyFactory.generatePublic(
+                new X509EncodedKeySpec(readPem(Path.of(key.getPublicKeyLocation()), "PUBLIC KEY")));
+        return new KeyPair(publicKey, privateKey);
+    }
+
+    private static KeyPair loadKeystore(JwtProperties.Key key) throws IOException, GeneralSecurityException {
+        char[] storePassword = key.getKeystorePassword() != null ? key.getKeystorePassword().toCharArray() : null;
+        char[] keyPassword = key.getKeyPassword() != null ? key.getKeyPassword().toCharArray() : storePassword;
+
+        KeyStore keyStore = KeyStore.getInstance(key.getKeystoreType());
+        try (InputStream in = Files.newInputStream(Path.of(key.getKeystoreLocation()))) {
+            keyStore.load(in, storePassword);
+        }
+
+        java.security.Key privateKey = keyStore.getKey(key.getKeyAlias(), keyPassword);
+        Certificate certificate = keyStore.getCertificate(key.getKeyAlias());
+        if (!(privateKey instanceof PrivateKey) || certificate == null) {
+            throw new GeneralSecurityException("키스토어에 별칭 '" + key.getKeyAlias() + "'의 개인키/인증서가 없습니다.");
+        }
+        return new KeyPair(certificate.getPublicKey(), (PrivateKey) privateKey);
+    }
+
+    /**
+     * PEM 파일에서 "-----BEGIN {type}-----" 블록의 DER 바이트를 추출합니다.
+     */
+    private static byte[] readPem(Path path, String type) throws IOException {
+        String pem = Files.readString(path, StandardCharsets.US_ASCII);
+        String begin = "-----BEGIN " + type + "-----";
+        String end = "-----END " + type + "-----";
+        int start = pem.indexOf(begin);
+        int stop = pem.indexOf(end);
+        if (start < 0 || stop < start) {
+            throw new IOException(path + " 파일에 '" + begin + "' 블록이 없습니다.");
+        }
+        String body = pem.substring(start + begin.length(), stop);
+        return Base64.getMimeDecoder().decode(body);
+    }
+
+    /**
+     * 시험 토큰을 서명하고 공개키로 검증하여 키 쌍이 서로 맞는지 확인합니다.
+     */
+    private static void verifyPair(KeyPair keyPair, JwtAlgorithm algorithm) {
+        String probe = Jwts.builder()
+                .subject("key-probe")
+                .signWith(keyPair.getPrivate(), algorithm.getSignatureAlgorithm())
+                .compact();
+        Jwts.parser()
+                .verifyWith(keyPair.getPublic())
+                .build()
+                .parseSignedClaims(probe);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
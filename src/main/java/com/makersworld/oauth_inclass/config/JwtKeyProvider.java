@@ -1,49 +1,283 @@
 package com.makersworld.oauth_inclass.config;
 
-import io.jsonwebtoken.Jwts;
+import com.makersworld.oauth_inclass.enums.JwtAlgorithm;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
 import java.security.KeyPair;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
- * JWT 토큰 서명 및 검증을 위한 RSA 키 쌍을 관리하는 컴포넌트
+ * JWT 토큰 서명 및 검증을 위한 키 쌍을 관리하는 컴포넌트
  * 비대칭 암호화 방식을 사용하여 보안성을 향상시킵니다.
+ * 알고리즘은 app.jwt.algorithm (RS256 / ES256 / EdDSA) 으로 선택합니다.
+ *
+ * app.jwt.key.* 로 키 파일을 지정하면 모든 인스턴스가 같은 키를 공유하므로
+ * 로드밸런서 뒤에서 어느 노드가 발급한 토큰이든 다른 노드에서 검증할 수 있습니다.
+ *
+ * 키 교체(rotation) 시에는 새 키를 JWKS 에 먼저 게시하고 사전 게시 기간이 지난 뒤 서명 키로 바꿉니다.
+ * 이전 키는 검증 보관 기간 동안 kid 로 계속 조회되므로 이미 발급된 토큰은 만료될 때까지 그대로 유효하고,
+ * 보관 기간이 지나면 예약된 정리 작업이 JWKS/검증 대상에서 제거합니다. (일괄 재로그인 불필요)
  */
+@Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtKeyProvider {
 
-    private KeyPair keyPair;
+    private final JwtProperties jwtProperties;
+
+    // 키 교체는 스냅샷 참조 하나를 바꾸는 것으로 끝나므로, 진행 중인 요청은 이전/새 키 묶음 중 하나를 온전히 사용함
+    private volatile JwtKeySet keySet;
+
+    private final Object rotationLock = new Object();
+    private KeyFileWatcher keyFileWatcher;
+    private ScheduledExecutorService keyScheduler; // 주기적 교체 / 다음 키 활성화 / 만료 키 정리
+
+    // 검증 키 묶음에서 빠진 kid 를 전달받는 리스너 (검증 결과 캐시 무효화 등)
+    private final List<Consumer<Set<String>>> keyRemovalListeners = new CopyOnWriteArrayList<>();
 
     /**
-     * 애플리케이션 초기화 시 RSA 키 쌍을 생성합니다.
-     * 실제 운영 환경에서는 키가 애플리케이션에서 생성되어서는 안되고
-     * 안전하게 일정한 위치(DB, Secret Manager Vault 등)에서 관리되며
-     * 앱 구동시 외부에서 주입받아야 합니다.
+     * 애플리케이션 초기화 시 키 쌍을 준비합니다.
+     * 키 파일(PEM 또는 키스토어)이 지정되어 있으면 파일에서 읽고 변경을 감시하며,
+     * 지정되어 있지 않으면 설정된 알고리즘으로 임시 키 쌍을 생성합니다. (개발용)
      */
     @PostConstruct
-    public void init() {  // ssh-keygen -t rsa -b 4096 -m PEM -f jwtRS256.key 과 같은 방식으로 외부에서 수행해야 함
-        // RSA256 알고리즘을 사용하여 키 쌍 생성 (최신 API 사용)
-        this.keyPair = Jwts.SIG.RS256.keyPair().build();
+    public void init() throws IOException {  // openssl genpkey -algorithm RSA -out jwt-private.pem 과 같은 방식으로 외부에서 수행해야 함
+        JwtProperties.Key key = jwtProperties.getKey();
+        JwtProperties.Rotation rotation = jwtProperties.getRotation();
+        keyScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "jwt-key-rotation");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (!JwtKeyLoader.isConfigured(key)) {
+            // 키 파일이 없으면 인스턴스마다 다른 키가 생성되므로 다중 인스턴스 배포에서는 사용하면 안 됨
+            log.warn("app.jwt.key.* 설정이 없어 임시 {} 키 쌍을 생성합니다. (단일 인스턴스 개발용)", getAlgorithm());
+            this.keySet = JwtKeySet.of(SigningKey.of(getAlgorithm(), getAlgorithm().generateKeyPair()));
+
+            if (rotation.isEnabled()) {
+                if (rotation.getInterval().compareTo(getPublishLead()) <= 0) {
+                    // 다음 키가 서명에 쓰이기 전에 또 다음 키로 대체되어 영원히 교체되지 않음
+                    throw new IllegalStateException("app.jwt.rotation.interval 은 다음 키 사전 게시 기간("
+                            + getPublishLead() + ")보다 길어야 합니다.");
+                }
+                long intervalMs = rotation.getInterval().toMillis();
+                keyScheduler.scheduleAtFixedRate(this::rotate, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+                log.info("JWT 서명 키 자동 교체 활성화: 주기={}, 사전 게시={}, 검증 보관 기간={}",
+                        rotation.getInterval(), getPublishLead(), getVerificationWindow());
+            }
+            return;
+        }
+
+        this.keySet = JwtKeySet.of(SigningKey.of(getAlgorithm(), JwtKeyLoader.load(key, getAlgorithm())));
+        log.info("JWT 서명 키를 파일에서 불러왔습니다: {} (kid={})", JwtKeyLoader.locations(key), keySet.getActive().getKid());
+
+        if (rotation.isEnabled()) {
+            // 노드마다 다른 키를 만들면 안 되므로, 파일 기반에서는 키 파일 교체가 곧 키 교체임
+            log.warn("키 파일 사용 시 app.jwt.rotation.enabled 는 무시됩니다. 키 파일을 교체하면 이전 키는 검증용으로 보관됩니다.");
+        }
+        if (key.isWatch()) {
+            this.keyFileWatcher = new KeyFileWatcher(JwtKeyLoader.locations(key), this::reload);
+        }
+    }
+
+    /**
+     * 새 키 쌍을 생성하여 다음 서명 키로 게시합니다. (임시 키 모드의 주기적 교체)
+     */
+    void rotate() {
+        try {
+            publish(getAlgorithm().generateKeyPair());
+        } catch (RuntimeException e) {
+            log.error("JWT 서명 키 자동 교체 실패 - 기존 키를 유지합니다.", e);
+        }
+    }
+
+    /**
+     * 키 파일을 다시 읽어 다음 서명 키로 게시합니다.
+     * 읽기/검증/게시에 실패하면 기존 키를 그대로 유지합니다. (예외를 감시 스레드로 올리지 않음)
+     */
+    void reload() {
+        try {
+            publish(JwtKeyLoader.load(jwtProperties.getKey(), getAlgorithm()));
+        } catch (IllegalStateException e) {
+            log.error("JWT 서명 키 리로드 실패 - 기존 키를 유지합니다: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("JWT 서명 키 리로드 실패 - 기존 키를 유지합니다.", e);
+        }
+    }
+
+    /**
+     * 새 키를 JWKS 에 먼저 게시하고, 사전 게시 기간(publishLead)이 지난 뒤 서명 키로 활성화합니다.
+     * JWKS 를 max-age 동안 캐시한 검증 측도 새 키로 서명된 첫 토큰을 받기 전에 새 키를 갖게 됩니다.
+     */
+    private void publish(KeyPair keyPair) {
+        SigningKey next = SigningKey.of(getAlgorithm(), keyPair);
+        synchronized (rotationLock) { // 스케줄러/파일 감시 스레드 간 교체 직렬화 (요청 경로에서는 락을 잡지 않음)
+            JwtKeySet current = this.keySet;
+            if (current.getActive().getKid().equals(next.getKid())
+                    || (current.getPending() != null && current.getPending().getKid().equals(next.getKid()))) {
+                return; // 내용이 바뀌지 않은 이벤트는 무시
+            }
+            replace(current, current.publish(next));
+            log.info("다음 JWT 서명 키를 게시했습니다: kid={} ({} 후 서명에 사용)", next.getKid(), getPublishLead());
+        }
+        keyScheduler.schedule(() -> activate(next.getKid()), getPublishLead().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 게시해 둔 다음 키를 서명 키로 활성화합니다.
+     * 그 사이 다른 키가 게시되었으면(키 파일 재교체) 아무것도 하지 않습니다. (그 키의 활성화 작업이 따로 예약되어 있음)
+     */
+    private void activate(String kid) {
+        synchronized (rotationLock) {
+            JwtKeySet current = this.keySet;
+            SigningKey pending = current.getPending();
+            if (pending == null || !pending.getKid().equals(kid)) {
+                return;
+            }
+            replace(current, current.rotate(pending, Instant.now(), getVerificationWindow()));
+            log.info("JWT 서명 키가 교체되었습니다: kid={} (보관 중인 키 {}개)", kid, keySet.getKeys().size());
+        }
+        // 방금 물러난 키는 검증 보관 기간이 지나면 JWKS/검증 대상에서 제거 (교체가 다시 없어도 정리됨)
+        keyScheduler.schedule(this::prune, getVerificationWindow().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 검증 보관 기간이 지난 이전 키를 키 묶음에서 제거합니다.
+     */
+    void prune() {
+        synchronized (rotationLock) {
+            JwtKeySet current = this.keySet;
+            JwtKeySet pruned = current.prune(Instant.now(), getVerificationWindow());
+            if (pruned != current) {
+                replace(current, pruned);
+            }
+        }
+    }
+
+    /**
+     * 키 묶음을 교체하고, 검증 대상에서 빠진 kid 가 있으면 리스너에 알립니다. (rotationLock 안에서 호출)
+     */
+    private void replace(JwtKeySet current, JwtKeySet next) {
+        this.keySet = next;
+        Set<String> removed = new HashSet<>();
+        for (SigningKey key : current.getKeys()) {
+            if (next.find(key.getKid()) == null) {
+                removed.add(key.getKid());
+            }
+        }
+        if (removed.isEmpty()) {
+            return;
+        }
+        log.info("JWT 검증 키가 제거되었습니다: kid={}", removed);
+        for (Consumer<Set<String>> listener : keyRemovalListeners) {
+            listener.accept(removed);
+        }
+    }
+
+    /**
+     * 검증 키 묶음에서 키가 빠질 때(보관 기간 만료) 호출될 리스너를 등록합니다.
+     * 제거된 키로 서명된 토큰의 이전 검증 결과를 더 이상 신뢰하지 않도록 하는 데 사용합니다.
+     * @param listener 제거된 kid 집합을 받는 리스너
+     */
+    public void addKeyRemovalListener(Consumer<Set<String>> listener) {
+        keyRemovalListeners.add(listener);
+    }
+
+    /**
+     * 다음 키를 서명에 쓰기 전에 JWKS 에 미리 게시해 둘 기간을 반환합니다.
+     * 지정하지 않으면 JWKS 응답의 Cache-Control max-age 만큼 게시합니다.
+     */
+    private Duration getPublishLead() {
+        Duration lead = jwtProperties.getRotation().getPublishLead();
+        return lead != null ? lead : jwtProperties.getJwks().getMaxAge();
+    }
+
+    /**
+     * 이전 키를 검증용으로 보관할 기간을 반환합니다.
+     * 지정하지 않으면 가장 긴 토큰 수명(리프레시 토큰)만큼 보관합니다.
+     */
+    private Duration getVerificationWindow() {
+        Duration window = jwtProperties.getRotation().getVerificationWindow();
+        if (window != null) {
+            return window;
+        }
+        return Duration.ofMillis(Math.max(jwtProperties.getExpirationMs(), jwtProperties.getRefreshExpiration()));
+    }
+
+    @PreDestroy
+    public void destroy() throws IOException {
+        if (keyScheduler != null) {
+            keyScheduler.shutdownNow();
+        }
+        if (keyFileWatcher != null) {
+            keyFileWatcher.close();
+        }
+    }
+
+    /**
+     * 토큰 서명/검증에 사용하는 알고리즘을 반환합니다.
+     * @return 서명 알고리즘
+     */
+    public JwtAlgorithm getAlgorithm() {
+        return jwtProperties.getAlgorithm();
+    }
 
-        // 향후 외부에서 주입받는 방식 예제 (도커라이징 및 코드 배포 시 외부에서 주입받는 방식)
-        // this.keyPair = KeyPair.load(new File("jwtRS256.key"));
+    /**
+     * 현재 키 묶음(서명 키 + 검증 키) 스냅샷을 반환합니다.
+     * @return 키 묶음
+     */
+    public JwtKeySet getKeySet() {
+        return keySet;
+    }
+
+    /**
+     * 새 토큰 서명에 사용할 키를 반환합니다. (kid 와 개인키를 한 번에 읽기 위해 사용)
+     * @return 현재 서명 키
+     */
+    public SigningKey getActiveKey() {
+        return keySet.getActive();
+    }
+
+    /**
+     * kid 에 해당하는 검증 키를 반환합니다.
+     * kid 가 없는 토큰(키 교체 도입 이전 발급)은 현재 서명 키로 검증합니다.
+     * @param kid 토큰 헤더의 키 식별자
+     * @return 검증 키 (알 수 없는 kid 이면 null)
+     */
+    public SigningKey getVerificationKey(String kid) {
+        JwtKeySet current = keySet;
+        return kid == null ? current.getActive() : current.find(kid);
     }
 
     /**
      * JWT 토큰 서명에 사용할 개인키를 반환합니다.
-     * @return RSA 개인키
+     * @return 개인키
      */
     public PrivateKey getPrivateKey() {
-        return keyPair.getPrivate();
+        return getActiveKey().getPrivateKey();
     }
 
     /**
      * JWT 토큰 검증에 사용할 공개키를 반환합니다.
-     * @return RSA 공개키
+     * @return 현재 서명 키의 공개키
      */
     public PublicKey getPublicKey() {
-        return keyPair.getPublic();
+        return getActiveKey().getPublicKey();
     }
-}
\ No newline at end of file
+}
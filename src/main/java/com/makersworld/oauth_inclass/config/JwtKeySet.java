@@ -0,0 +1,126 @@
+package com.makersworld.oauth_inclass.config;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 특정 시점의 서명/검증 키 묶음 (불변 스냅샷)
+ * 현재 서명 키 1개와 아직 유효한 토큰이 남아 있을 수 있는 이전 키들을 kid 로 조회합니다.
+ * 다음 서명 키(pending)는 서명에 쓰기 전에 미리 게시해 두어, JWKS 를 캐시한 검증 측이 교체 전에 받아 가도록 합니다.
+ * 키가 바뀔 때마다 새 스냅샷으로 통째로 교체되므로 조회 시 락이 필요 없습니다.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class JwtKeySet {
+
+    private final SigningKey active;
+    private final SigningKey pending;             // 게시만 하고 아직 서명에 쓰지 않는 다음 키 (없으면 null)
+    private final List<SigningKey> keys;          // 게시 순서: pending, active, 이전 키(최신순)
+    @Getter(AccessLevel.NONE)
+    private final Map<String, SigningKey> byKid;  // kid -> 키 (O(1) 조회)
+
+    /**
+     * 서명 키 하나로 구성된 키 묶음을 만듭니다.
+     */
+    static JwtKeySet of(SigningKey active) {
+        return new JwtKeySet(active, null, List.of(active), Map.of(active.getKid(), active));
+    }
+
+    /**
+     * 다음 서명 키를 게시한 키 묶음을 만듭니다. (서명 키는 그대로)
+     * 이미 게시된 다음 키가 있으면 새 키로 대체합니다.
+     * @param next 다음 서명 키
+     * @return 새 키 묶음
+     */
+    JwtKeySet publish(SigningKey next) {
+        List<SigningKey> retired = new ArrayList<>();
+        for (SigningKey key : retired()) {
+            if (!key.getKid().equals(next.getKid())) { // 이전 키가 다시 배포된 경우 중복 제외
+                retired.add(key);
+            }
+        }
+        return build(active, next, retired);
+    }
+
+    /**
+     * 새 서명 키로 교체한 키 묶음을 만듭니다.
+     * 기존 서명 키는 검증 전용으로 남기고, 검증 보관 기간이 지난 이전 키는 제외합니다.
+     * 게시 중인 다음 키가 next 가 아니면 함께 버립니다.
+     * @param next 새 서명 키
+     * @param now 교체 시각
+     * @param verificationWindow 이전 키를 검증용으로 보관할 기간
+     * @return 새 키 묶음
+     */
+    JwtKeySet rotate(SigningKey next, Instant now, Duration verificationWindow) {
+        List<SigningKey> retired = new ArrayList<>();
+        if (!active.getKid().equals(next.getKid())) {
+            retired.add(active.retire(now));
+        }
+        for (SigningKey key : retired()) {
+            if (!key.getKid().equals(next.getKid()) && !isExpired(key, now, verificationWindow)) {
+                retired.add(key);
+            }
+        }
+        return build(next, null, retired);
+    }
+
+    /**
+     * 검증 보관 기간이 지난 이전 키를 제외한 키 묶음을 만듭니다.
+     * @param now 기준 시각
+     * @param verificationWindow 이전 키를 검증용으로 보관할 기간
+     * @return 새 키 묶음 (제외할 키가 없으면 this)
+     */
+    JwtKeySet prune(Instant now, Duration verificationWindow) {
+        List<SigningKey> retired = retired();
+        List<SigningKey> kept = new ArrayList<>(retired.size());
+        for (SigningKey key : retired) {
+            if (!isExpired(key, now, verificationWindow)) {
+                kept.add(key);
+            }
+        }
+        return kept.size() == retired.size() ? this : build(active, pending, kept);
+    }
+
+    /**
+     * kid 로 검증 키를 찾습니다.
+     * @param kid 키 식별자
+     * @return 키 (없으면 null)
+     */
+    public SigningKey find(String kid) {
+        return byKid.get(kid);
+    }
+
+    // 검증 전용 이전 키 (최신순)
+    private List<SigningKey> retired() {
+        int from = pending == null ? 1 : 2;
+        return keys.subList(from, keys.size());
+    }
+
+    private static boolean isExpired(SigningKey key, Instant now, Duration verificationWindow) {
+        return !key.getRetiredAt().plus(verificationWindow).isAfter(now);
+    }
+
+    private static JwtKeySet build(SigningKey active, SigningKey pending, List<SigningKey> retired) {
+        List<SigningKey> keys = new ArrayList<>(retired.size() + 2);
+        if (pending != null) {
+            keys.add(pending);
+        }
+        keys.add(active);
+        keys.addAll(retired);
+
+        Map<String, SigningKey> index = new HashMap<>();
+        for (SigningKey key : keys) {
+            index.put(key.getKid(), key);
+        }
+        return new JwtKeySet(active, pending, Collections.unmodifiableList(keys), Map.copyOf(index));
+    }
+}
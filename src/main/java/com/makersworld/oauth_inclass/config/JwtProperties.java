@@ -1,11 +1,14 @@
 package com.makersworld.oauth_inclass.config;
 
+import com.makersworld.oauth_inclass.enums.JwtAlgorithm;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Duration;
+
 @Component
 @Getter
 @Setter
@@ -14,4 +17,110 @@ public class JwtProperties {
     // JWT 설정 파일에서 값을 가져옴 (camelCase 자동 매핑)
     private long expirationMs;
     private long refreshExpiration;
-} 
\ No newline at end of file
+    private JwtAlgorithm algorithm = JwtAlgorithm.RS256; // 서명 알고리즘 (RS256 / ES256 / EdDSA)
+
+    // 서명 키 파일 설정 (app.jwt.key.*)
+    private final Key key = new Key();
+
+    // 서명 키 교체 설정 (app.jwt.rotation.*)
+    private final Rotation rotation = new Rotation();
+
+    // 검증된 토큰 캐시 설정 (app.jwt.cache.*)
+    private final Cache cache = new Cache();
+
+    // 일괄 토큰 발급 설정 (app.jwt.batch.*)
+    private final Batch batch = new Batch();
+
+    // 토큰 검사 설정 (app.jwt.introspection.*)
+    private final Introspection introspection = new Introspection();
+
+    @Getter
+    @Setter
+    public static class Batch {
+        private int maxSize = 10_000;                                            // 요청당 최대 사용자 수
+        private int chunkSize = 256;                                             // 병렬 서명 후 스트리밍하는 단위
+        private int parallelism = Runtime.getRuntime().availableProcessors();    // 서명 워커 풀 크기
+    }
+
+    @Getter
+    @Setter
+    public static class Introspection {
+        private int maxBatchSize = 100; // 일괄 검사 요청당 최대 토큰 수
+    }
+
+    // JWKS 응답 캐시 설정 (app.jwt.jwks.*)
+    private final Jwks jwks = new Jwks();
+
+    @Getter
+    @Setter
+    public static class Jwks {
+        private Duration maxAge = Duration.ofMinutes(5); // Cache-Control max-age
+    }
+
+    // 리프레시 토큰 교체 저장소 설정 (app.jwt.refresh.*)
+    private final Refresh refresh = new Refresh();
+
+    /**
+     * 리프레시 토큰 교체 저장소 설정
+     * 사용 판정은 DB 조건부 UPDATE 로 하고, 메모리에는 사용/폐기가 확인된 토큰만 cleanupInterval 마다 정리하며 보관합니다.
+     * 같은 토큰의 동시 갱신(여러 탭)은 한 번만 계산하고, 결과를 graceWindow 동안 재사용합니다.
+     * 다른 인스턴스로 나뉜 갱신도 graceWindow 안이면 재사용이 아닌 재시도로 보고 먼저 발급한 후속 토큰을 돌려줍니다. (DB 판정)
+     */
+    @Getter
+    @Setter
+    public static class Refresh {
+        private Duration cleanupInterval = Duration.ofMinutes(10);    // 만료 항목 정리 주기 (메모리 + DB)
+        private Duration graceWindow = Duration.ofSeconds(10);        // 같은 리프레시 토큰의 갱신 결과를 재사용하는 시간 (0 = 동시 요청만 합침)
+    }
+
+    // 토큰 폐기 목록 설정 (app.jwt.revocation.*)
+    private final Revocation revocation = new Revocation();
+
+    @Getter
+    @Setter
+    public static class Revocation {
+        private Duration pollInterval = Duration.ofSeconds(1);       // revoked_tokens 증분 조회 주기
+        private Duration pollOverlap = Duration.ofSeconds(30);       // 이전 조회 시작 시각보다 앞서 다시 읽는 구간 (커밋 지연 + 시계 차이 허용)
+        private double bloomFpp = 0.01;                               // 블룸 필터 목표 오탐률
+        private Duration cleanupInterval = Duration.ofMinutes(10);    // 만료 항목 정리 주기 (메모리 + DB)
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = false; // 기본값은 비활성화 (opt-in)
+        private int maxSize = 10_000;    // 최대 캐시 항목 수
+    }
+
+    /**
+     * 여러 인스턴스가 같은 서명 키를 공유하기 위한 키 파일 설정
+     * PEM(PKCS#8 개인키 + X.509 공개키) 또는 키스토어 중 하나를 지정하며,
+     * 아무것도 지정하지 않으면 기동 시 임시 키 쌍을 생성합니다. (개발용)
+     */
+    @Getter
+    @Setter
+    public static class Key {
+        private String privateKeyLocation;        // PKCS#8 PEM 개인키 파일 경로
+        private String publicKeyLocation;         // X.509 PEM 공개키 파일 경로
+        private String keystoreLocation;          // 키스토어 파일 경로 (PEM 대신 사용)
+        private String keystoreType = "PKCS12";
+        private String keystorePassword;
+        private String keyAlias;
+        private String keyPassword;               // 지정하지 않으면 keystorePassword 사용
+        private boolean watch = true;             // 파일 변경 감지 시 키 핫 리로드
+    }
+
+    /**
+     * 서명 키 자동 교체 설정
+     * 임시 키 모드에서만 주기적으로 새 키를 생성하며, 키 파일 모드에서는 파일 교체가 곧 키 교체입니다.
+     * 어느 쪽이든 새 키는 publishLead 동안 게시만 되고, 그 뒤에 서명 키가 됩니다.
+     */
+    @Getter
+    @Setter
+    public static class Rotation {
+        private boolean enabled = false;                   // 주기적 키 교체 여부
+        private Duration interval = Duration.ofDays(1);    // 교체 주기
+        private Duration verificationWindow;               // 이전 키 검증 보관 기간 (기본: 리프레시 토큰 수명)
+        private Duration publishLead;                      // 다음 키를 서명 전에 JWKS 에 게시해 둘 기간 (기본: app.jwt.jwks.max-age)
+    }
+}
@@ -0,0 +1,91 @@
+package com.makersworld.oauth_inclass.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 키 파일이 있는 디렉터리를 WatchService로 감시하고, 변경이 생기면 콜백을 호출합니다.
+ * 파일을 직접 비교하지 않고 디렉터리 이벤트 단위로 반응하므로
+ * 쿠버네티스 Secret 처럼 심볼릭 링크를 교체하는 방식도 감지할 수 있습니다.
+ */
+@Slf4j
+class KeyFileWatcher implements AutoCloseable {
+
+    // 파일 쓰기가 끝날 때까지 이벤트를 모으는 대기 시간
+    private static final long DEBOUNCE_MS = 250;
+
+    private final WatchService watchService;
+    private final Runnable onChange;
+    private final Thread thread;
+
+    KeyFileWatcher(Collection<Path> files, Runnable onChange) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.onChange = onChange;
+
+        Set<Path> directories = new LinkedHashSet<>();
+        for (Path file : files) {
+            directories.add(file.getParent());
+        }
+        for (Path directory : directories) {
+            directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        }
+
+        this.thread = new Thread(this::run, "jwt-key-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+        log.info("JWT 키 파일 감시 시작: {}", directories);
+    }
+
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                drain(key);
+
+                // 연속된 이벤트(쓰기 도중 여러 번 발생)를 한 번의 리로드로 묶음
+                WatchKey next;
+                while ((next = watchService.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS)) != null) {
+                    drain(next);
+                }
+                notifyChange();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("JWT 키 파일 감시 중 오류가 발생하여 감시를 중단합니다.", e);
+        }
+    }
+
+    // 콜백이 실패해도 감시는 계속함 (다음 파일 교체에서 다시 시도)
+    private void notifyChange() {
+        try {
+            onChange.run();
+        } catch (RuntimeException e) {
+            log.error("JWT 키 파일 변경 처리 실패 - 감시는 계속합니다.", e);
+        }
+    }
+
+    private void drain(WatchKey key) {
+        key.pollEvents();
+        key.reset();
+    }
+
+    @Override
+    public void close() throws IOException {
+        thread.interrupt();
+        watchService.close();
+    }
+}
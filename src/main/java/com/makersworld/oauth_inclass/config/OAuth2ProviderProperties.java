@@ -0,0 +1,105 @@
+package com.makersworld.oauth_inclass.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.oauth2")
+public class OAuth2ProviderProperties {
+
+    // 제공자별 HTTP 클라이언트 설정 (app.oauth2.http.<provider>.*), 지정하지 않은 제공자는 기본값 사용
+    private Map<String, Http> http = new HashMap<>();
+
+    public Http http(String provider) {
+        return http.computeIfAbsent(provider, key -> new Http());
+    }
+
+    // OIDC id_token 로컬 검증 설정 (app.oauth2.oidc.*)
+    private final Oidc oidc = new Oidc();
+
+    /**
+     * OIDC id_token 로컬 검증 설정
+     * 토큰 응답에 id_token 이 있으면 제공자 JWKS 로 서명을 검증해 사용자 정보를 만들고 userinfo 호출을 생략합니다.
+     */
+    @Getter
+    @Setter
+    public static class Oidc {
+        private boolean enabled = true;                                  // id_token 사용 여부 (false 면 항상 userinfo 호출)
+        private Duration clockSkew = Duration.ofSeconds(60);             // exp/iat 검증 허용 오차
+        private Duration defaultMaxAge = Duration.ofHours(1);            // JWKS 응답에 Cache-Control max-age 가 없을 때 캐시 기간
+        private Duration minRefreshInterval = Duration.ofMinutes(1);     // JWKS 재조회 최소 간격 (알 수 없는 kid, 조회 실패 시)
+    }
+
+    // userinfo 헤지 요청 설정 (app.oauth2.hedge.*)
+    private final Hedge hedge = new Hedge();
+
+    /**
+     * 멱등 GET(userinfo)의 헤지 요청 설정
+     * 첫 요청이 최근 응답 시간의 percentile 안에 끝나지 않으면 같은 요청을 한 번 더 보내고 먼저 온 응답을 사용합니다.
+     * 헤지는 전역 예산(요청 budgetRatio 건당 1회, 최대 budgetBurst 회 누적) 안에서만 보내므로 장애 중에 부하를 키우지 않습니다.
+     */
+    @Getter
+    @Setter
+    public static class Hedge {
+        private boolean enabled = true;
+        private double percentile = 0.95;                              // 헤지 지연 = 최근 응답 시간의 이 백분위
+        private Duration initialDelay = Duration.ofMillis(300);        // 표본이 모이기 전 헤지 지연
+        private Duration minDelay = Duration.ofMillis(20);             // 헤지 지연 하한
+        private int window = 256;                                      // 백분위 계산에 쓰는 최근 응답 수 (제공자별)
+        private double budgetRatio = 0.1;                              // 요청 1건당 적립되는 헤지 예산 (0.1 = 10%)
+        private int budgetBurst = 10;                                  // 최대 누적 예산
+    }
+
+    // 리다이렉트 로그인의 state / PKCE 설정 (app.oauth2.state.*)
+    private final State state = new State();
+
+    /**
+     * 리다이렉트 로그인 state / PKCE verifier 저장 설정
+     * 저장소는 시간 버킷 단위로 만료되며, 버킷 하나의 길이는 ttl / (buckets - 1) 입니다.
+     * (발급된 state 는 최소 ttl, 최대 ttl + 버킷 하나 동안 유효)
+     */
+    @Getter
+    @Setter
+    public static class State {
+        private boolean required = true;                                 // 콜백에서 state 검증 (false 면 state 없는 콜백도 허용)
+        private Duration ttl = Duration.ofMinutes(10);                   // 리다이렉트부터 콜백까지 허용 시간
+        private int buckets = 10;                                        // 만료 버킷 수
+        private int maxEntries = 100_000;                                // 저장 상한 (버킷당 maxEntries / buckets 건 발급)
+        private int maxEntriesPerClient = 20;                             // 클라이언트(IP)별 버킷당 발급 상한 (ttl / (buckets - 1) 동안)
+        private List<String> pkceProviders = new ArrayList<>(List.of("google")); // PKCE(S256)를 사용하는 제공자
+        private String cookieName = "oauth_state";                       // state 를 시작한 브라우저에 묶는 쿠키 (HttpOnly, SameSite=Lax)
+        private boolean cookieSecure = true;                             // HTTPS 로만 전송 (http 로 직접 띄운 로컬 개발 시에만 false)
+    }
+
+    /**
+     * 제공자 전용 커넥션 풀/타임아웃 설정
+     * 커넥션 풀은 제공자마다 따로 두므로 한 제공자가 느려져도 다른 제공자의 커넥션을 소진하지 않습니다.
+     * (Reactor Netty 는 원격 주소(host:port)마다 풀을 나누므로 maxConnections 는 호스트당 상한입니다.)
+     */
+    @Getter
+    @Setter
+    public static class Http {
+        private int maxConnections = 50;                                 // 호스트당 최대 커넥션 수
+        private int pendingAcquireMaxCount = 200;                        // 커넥션 대기 요청 상한 (초과 시 즉시 실패)
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(2);  // 커넥션 대기 시간 상한
+        private Duration maxIdleTime = Duration.ofSeconds(30);           // 유휴 커넥션 유지 시간 (제공자 keep-alive 보다 짧게)
+        private Duration maxLifeTime = Duration.ofMinutes(5);            // 커넥션 최대 수명 (DNS 변경 반영)
+        private Duration evictInterval = Duration.ofSeconds(15);         // 백그라운드 유휴 커넥션 정리 주기
+        private Duration connectTimeout = Duration.ofSeconds(2);         // TCP 연결 타임아웃
+        private Duration responseTimeout = Duration.ofSeconds(5);        // 응답 타임아웃
+        private boolean http2 = false;                                   // HTTP/2 (ALPN) 사용 여부
+        private List<String> warmUpUris = new ArrayList<>();             // 기동 시 TLS 커넥션을 미리 열어 둘 주소
+        private int warmUpConnections = 2;                               // 주소당 미리 열어 둘 커넥션 수
+    }
+}
@@ -0,0 +1,124 @@
+package com.makersworld.oauth_inclass.config;
+
+import com.makersworld.oauth_inclass.enums.Provider;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * OAuth 제공자별 WebClient 레지스트리
+ *
+ * 제공자마다 전용 Reactor Netty ConnectionProvider(커넥션 풀)를 두고 커넥션 수/대기열/유휴 정리/타임아웃을 따로 설정합니다.
+ * - 대기열(pendingAcquireMaxCount)이 가득 차거나 pendingAcquireTimeout 이 지나면 요청은 즉시 실패합니다. (무한 대기 없음)
+ * - 커넥션은 LIFO 로 빌려 주어 최근에 쓴(TLS 세션이 살아 있는) 커넥션을 우선 재사용합니다.
+ * - 기동이 끝나면 이벤트 루프/DNS 리졸버를 초기화하고 warmUpUris 로 HEAD 요청을 보내 TLS 커넥션을 미리 열어 둡니다.
+ *   (첫 로그인 요청의 초기화/핸드셰이크 제거, 빈 생성과 기동은 막지 않음)
+ * - 풀/요청 메트릭은 Micrometer 전역 레지스트리로 노출됩니다. (reactor.netty.connection.provider.*, reactor.netty.http.client.*)
+ */
+@Slf4j
+@Component
+public class OAuth2WebClients {
+
+    private static final Duration WARM_UP_TIMEOUT = Duration.ofSeconds(10);
+
+    private final OAuth2ProviderProperties properties;
+    private final Map<Provider, ConnectionProvider> connectionProviders = new EnumMap<>(Provider.class);
+    private final Map<Provider, HttpClient> httpClients = new EnumMap<>(Provider.class);
+    private final Map<Provider, WebClient> webClients = new EnumMap<>(Provider.class);
+
+    public OAuth2WebClients(OAuth2ProviderProperties properties, WebClient.Builder webClientBuilder) {
+        this.properties = properties;
+        for (Provider provider : Provider.values()) {
+            String id = provider.name().toLowerCase();
+            OAuth2ProviderProperties.Http http = properties.http(id);
+            ConnectionProvider connectionProvider = ConnectionProvider.builder("oauth2-" + id)
+                    .maxConnections(http.getMaxConnections())
+                    .pendingAcquireMaxCount(http.getPendingAcquireMaxCount())
+                    .pendingAcquireTimeout(http.getPendingAcquireTimeout())
+                    .maxIdleTime(http.getMaxIdleTime())
+                    .maxLifeTime(http.getMaxLifeTime())
+                    .evictInBackground(http.getEvictInterval())
+                    .lifo()
+                    .metrics(true)
+                    .build();
+            connectionProviders.put(provider, connectionProvider);
+            HttpClient httpClient = httpClient(connectionProvider, http);
+            httpClients.put(provider, httpClient);
+            // Boot 가 제공하는 builder 를 복제해 코덱/관측 설정은 그대로 사용
+            webClients.put(provider, webClientBuilder.clone()
+                    .clientConnector(new ReactorClientHttpConnector(httpClient))
+                    .build());
+        }
+    }
+
+    private static HttpClient httpClient(ConnectionProvider connectionProvider, OAuth2ProviderProperties.Http http) {
+        HttpClient client = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) http.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(http.getResponseTimeout())
+                .metrics(true, Function.identity()); // 제공자 URI 는 고정값이므로 uri 태그 그대로 사용
+        if (http.isHttp2()) {
+            // ALPN 으로 HTTP/2 를 협상하고, 지원하지 않으면 HTTP/1.1 사용 (커넥션 하나에 요청 다중화)
+            client = client.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure();
+        }
+        return client;
+    }
+
+    /**
+     * 제공자 전용 WebClient
+     * @param provider 제공자 ID (google, kakao, naver)
+     * @return WebClient
+     * @throws RuntimeException 지원하지 않는 제공자인 경우
+     */
+    public WebClient get(String provider) {
+        Provider.validateProvider(provider);
+        return webClients.get(Provider.valueOf(provider.toUpperCase()));
+    }
+
+    /**
+     * 기동이 끝나면 이벤트 루프/DNS 리졸버/SSL 라이브러리를 초기화한 뒤, 제공자 호스트로 HEAD 요청을 보내 커넥션을 미리 열어 둡니다.
+     * 모두 비동기로 실행되며(블로킹 없음), 응답 코드와 무관하게 커넥션은 풀에 남고, 실패하거나 시간이 지나도 기동에는 영향이 없습니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        webClients.forEach((provider, webClient) -> {
+            OAuth2ProviderProperties.Http http = properties.http(provider.name().toLowerCase());
+            httpClients.get(provider).warmup()
+                    .timeout(WARM_UP_TIMEOUT)
+                    .onErrorResume(e -> {
+                        log.debug("OAuth 제공자 클라이언트 초기화 실패: {} ({})", provider, e.getMessage());
+                        return Mono.empty();
+                    })
+                    .thenMany(Flux.fromIterable(http.getWarmUpUris()))
+                    .flatMap(uri -> Flux.range(0, Math.max(1, http.getWarmUpConnections()))
+                            .flatMap(i -> webClient.head().uri(uri)
+                                    .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode()))
+                                    .onErrorResume(e -> {
+                                        log.debug("OAuth 제공자 커넥션 예열 실패: {} ({})", uri, e.getMessage());
+                                        return Mono.empty();
+                                    })))
+                    .count()
+                    .subscribe(count -> log.info("OAuth 제공자 커넥션 예열 완료: {} ({}건 응답)", provider, count));
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        connectionProviders.values().forEach(ConnectionProvider::dispose);
+    }
+}
@@ -4,6 +4,7 @@ import com.makersworld.oauth_inclass.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -16,6 +17,7 @@ import java.util.Arrays;
 
 @Configuration
 @EnableWebSecurity
+@EnableMethodSecurity // @PreAuthorize 등 메서드 수준 권한 검사 (토큰의 role 클레임 기반)
 @RequiredArgsConstructor
 public class SecurityConfig {
 
@@ -40,6 +42,8 @@ public class SecurityConfig {
             * 3. 나머지 모든 요청은 인증 필요
             */
            .authorizeHttpRequests(auth -> auth
+               // 토큰 검사는 게이트웨이/내부 서비스용: ADMIN 역할 토큰 필요 (아래 /api/v1/auth/** 허용보다 먼저 매칭)
+               .requestMatchers("/api/v1/auth/introspect/**").hasRole("ADMIN")
                // 인증 관련 API는 모두 허용
                .requestMatchers(
                    "/.well-known/jwks.json",
@@ -49,6 +53,8 @@ public class SecurityConfig {
                    "/swagger-ui.html",
                    "/v3/api-docs/**"
                ).permitAll()
+               // 관리자 API는 ADMIN 역할 필요 (토큰의 role 클레임 기반)
+               .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
                // 프로필 API는 인증 필요
                .requestMatchers("/api/v1/profile/**").authenticated() 
                // 나머지 모든 요청은 인증 필요
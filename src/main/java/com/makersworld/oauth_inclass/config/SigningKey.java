@@ -0,0 +1,104 @@
+package com.makersworld.oauth_inclass.config;
+
+import com.makersworld.oauth_inclass.enums.JwtAlgorithm;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.util.Base64URL;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * kid(키 식별자)가 부여된 서명 키 한 벌
+ * kid는 공개키의 RFC 7638 JWK Thumbprint 이므로 같은 키 파일을 쓰는 모든 노드에서 동일합니다.
+ * 게시용 공개 JWK도 생성 시점에 한 번만 만들어 둡니다.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SigningKey {
+
+    private final String kid;
+    private final JwtAlgorithm algorithm;
+    private final KeyPair keyPair;
+    private final JWK publicJwk;
+    private final Instant createdAt;
+    private final Instant retiredAt; // null 이면 현재 서명에 사용 중인 키
+
+    /**
+     * 키 쌍으로 새 서명 키를 만듭니다.
+     * @param algorithm 서명 알고리즘
+     * @param keyPair 키 쌍
+     * @return kid와 공개 JWK가 준비된 서명 키
+     */
+    public static SigningKey of(JwtAlgorithm algorithm, KeyPair keyPair) {
+        try {
+            String kid = toJwk(algorithm, keyPair.getPublic(), null).computeThumbprint().toString();
+            JWK jwk = toJwk(algorithm, keyPair.getPublic(), kid);
+            return new SigningKey(kid, algorithm, keyPair, jwk, Instant.now(), null);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("JWK thumbprint 계산에 실패했습니다.", e);
+        }
+    }
+
+    /**
+     * 서명에서 물러나 검증 전용이 된 키를 반환합니다.
+     * @param at 교체 시각
+     * @return 검증 전용 키
+     */
+    SigningKey retire(Instant at) {
+        return new SigningKey(kid, algorithm, keyPair, publicJwk, createdAt, at);
+    }
+
+    public PrivateKey getPrivateKey() {
+        return keyPair.getPrivate();
+    }
+
+    public PublicKey getPublicKey() {
+        return keyPair.getPublic();
+    }
+
+    /**
+     * 공개키를 알고리즘별 JWK로 변환합니다.
+     * RS256 -> RSA, ES256 -> EC(P-256), EdDSA -> OKP(Ed25519)
+     */
+    private static JWK toJwk(JwtAlgorithm algorithm, PublicKey publicKey, String kid) {
+        switch (algorithm) {
+            case ES256:
+                return new ECKey.Builder(Curve.P_256, (ECPublicKey) publicKey)
+                        .keyID(kid) // 키 식별자 설정
+                        .keyUse(KeyUse.SIGNATURE)
+                        .algorithm(JWSAlgorithm.ES256)
+                        .build();
+            case EdDSA:
+                // X.509(SubjectPublicKeyInfo) 인코딩의 마지막 32바이트가 Ed25519 원시 공개키
+                byte[] encoded = publicKey.getEncoded();
+                byte[] raw = Arrays.copyOfRange(encoded, encoded.length - 32, encoded.length);
+                return new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.encode(raw))
+                        .keyID(kid)
+                        .keyUse(KeyUse.SIGNATURE)
+                        .algorithm(JWSAlgorithm.EdDSA)
+                        .build();
+            case RS256:
+            default:
+                return new RSAKey.Builder((RSAPublicKey) publicKey)
+                        .keyID(kid)
+                        .keyUse(KeyUse.SIGNATURE)
+                        .algorithm(JWSAlgorithm.RS256)
+                        .build();
+        }
+    }
+}
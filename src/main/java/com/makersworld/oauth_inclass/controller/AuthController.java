@@ -1,20 +1,35 @@
 package com.makersworld.oauth_inclass.controller;
 
+import com.makersworld.oauth_inclass.config.OAuth2ProviderProperties;
 import com.makersworld.oauth_inclass.dto.AuthRequest;
 import com.makersworld.oauth_inclass.dto.AuthResponse;
-
+import com.makersworld.oauth_inclass.security.AuthorizationQuotaExceededException;
+import com.makersworld.oauth_inclass.security.OAuthStateStore;
+import com.makersworld.oauth_inclass.security.PendingAuthorization;
 import com.makersworld.oauth_inclass.service.AuthService;
+import com.makersworld.oauth_inclass.service.ProviderUnavailableException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import reactor.core.publisher.Mono;
+
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Map;
 
 @Tag(name = "Authentication", description = "Endpoints for user authentication and token management")
 @RestController
@@ -23,16 +38,31 @@ import java.io.IOException;
 public class AuthController {
 
     private final AuthService authService;
+    private final OAuthStateStore stateStore;
+    private final OAuth2ProviderProperties providerProperties;
 
     // 아래 메서드를 클라이언트가 호출 시, 클라이언트는 이 메서드를 호출하여 사용자를 OAuth2 인증 페이지로 보냄
     // 이후 OAuth 제공자는 사용자를 인증 후에 설정된 redirect-uri로 다시 리디렉션 
-    @Operation(summary = "OAuth2 로그인 페이지로 리디렉션", description = "사용자를 지정된 OAuth2 제공자의 인증 페이지로 보냅니다. 인증 후에는 설정된 redirect-uri로 돌아옵니다.")
+    @Operation(summary = "OAuth2 로그인 페이지로 리디렉션", description = "사용자를 지정된 OAuth2 제공자의 인증 페이지로 보냅니다. 인증 후에는 설정된 redirect-uri로 돌아옵니다.",
+            responses = {
+                    @ApiResponse(responseCode = "302", description = "Redirect to the provider authorization page"),
+                    @ApiResponse(responseCode = "429", description = "Too many sign-in redirects from this client"),
+                    @ApiResponse(responseCode = "503", description = "Too many pending sign-ins")
+            })
     // 1번 메서드 : /api/v1/auth/{provider} (사용자를 OAuth 제공자 인증 페이지로 리디렉션)
     @GetMapping("/{provider}")
-    public void redirectToOAuthProvider(@PathVariable String provider, HttpServletResponse response) throws IOException {
+    public void redirectToOAuthProvider(@PathVariable String provider, HttpServletRequest request,
+                                        HttpServletResponse response) throws IOException {
         try {
-            String url = authService.getAuthorizationUrl(provider);
+            // state 발급 상한은 클라이언트(IP)별로 적용 (server.forward-headers-strategy=native: 로드 밸런서 뒤에서는 X-Forwarded-For 의 IP)
+            PendingAuthorization authorization = authService.issueAuthorization(provider, request.getRemoteAddr());
+            String url = authService.getAuthorizationUrl(authorization);
+            // state 를 이 브라우저에 묶음: 콜백에서 같은 값의 쿠키가 없으면 거부 (다른 사람이 발급받은 state 로는 로그인 불가)
+            response.addHeader(HttpHeaders.SET_COOKIE,
+                    stateCookie(authorization.getProvider(), authorization.getState(), providerProperties.getState().getTtl()).toString());
             response.sendRedirect(url);
+        } catch (AuthorizationQuotaExceededException e) {
+            throw e; // 429 / 503 으로 응답 (아래 핸들러)
         } catch (RuntimeException e) {
             throw new RuntimeException("OAuth 제공자 '" + provider + "'로의 리디렉션에 실패했습니다: " + e.getMessage(), e);
         }
@@ -41,21 +71,34 @@ public class AuthController {
     @Operation(summary = "OAuth2 Callback", description = "Callback endpoint for OAuth2 flow. This is typically used in web-based OAuth flows.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Authentication successful", content = @Content(schema = @Schema(implementation = AuthResponse.class))),
-                    @ApiResponse(responseCode = "400", description = "Invalid authentication code")
+                    @ApiResponse(responseCode = "400", description = "Invalid authentication code or state (or state not issued to this browser)"),
+                    @ApiResponse(responseCode = "503", description = "OAuth provider temporarily unavailable (circuit open or too many concurrent sign-ins)")
             })
     // 2번 메서드 : /api/v1/auth/login/oauth2/code/{provider} (OAuth 제공자가 사용자의 인증 결과를 담아 리다이렉트 방식으로 콜백)
     // 이 엔드포인트에서는 결과적으로 JWT 토큰을 사용자에게 응답하고 종료됨
+    // Mono 반환: 제공자 응답을 기다리는 동안 Tomcat 워커 스레드를 반납 (Spring MVC 비동기 처리)
     @GetMapping("/login/oauth2/code/{provider}")
-    public ResponseEntity<AuthResponse> oauthCallback(@PathVariable String provider, @RequestParam(value = "code", required = false) String code) {
+    public Mono<ResponseEntity<AuthResponse>> oauthCallback(@PathVariable String provider,
+                                                            @RequestParam(value = "code", required = false) String code,
+                                                            @RequestParam(value = "state", required = false) String state,
+                                                            HttpServletRequest request) {
         if (code == null || code.trim().isEmpty()) {
             throw new RuntimeException("인증 코드가 누락되었습니다.");
         }
-        try {
-            AuthResponse response = authService.signInWithProvider(provider, code);
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            throw new RuntimeException("OAuth 제공자 '" + provider + "'를 통한 로그인에 실패했습니다: " + e.getMessage(), e);
+        // 1번 메서드에서 발급한 state 인지 확인 (1회용, 만료 시 실패) - 저장소에서 바로 꺼내므로 상수 시간
+        PendingAuthorization authorization = stateStore.consume(provider, state);
+        if (authorization == null && providerProperties.getState().isRequired()) {
+            throw new RuntimeException("유효하지 않거나 만료된 state 입니다. 로그인을 다시 시작해 주세요.");
         }
+        // 발급한 state 는 리다이렉트를 시작한 브라우저의 쿠키와 같아야 함 (login CSRF 방지, PKCE verifier 도 이 state 로 찾음)
+        if (authorization != null && !matchesStateCookie(request, state)) {
+            throw new RuntimeException("로그인을 시작한 브라우저의 state 가 아닙니다. 로그인을 다시 시작해 주세요.");
+        }
+        String clearCookie = stateCookie(provider.toLowerCase(), "", Duration.ZERO).toString();
+        return authService.signInWithProviderAsync(provider, code, authorization)
+                .map(body -> ResponseEntity.ok().header(HttpHeaders.SET_COOKIE, clearCookie).body(body))
+                .onErrorMap(AuthController::isLoginFailure, e ->
+                        new RuntimeException("OAuth 제공자 '" + provider + "'를 통한 로그인에 실패했습니다: " + e.getMessage(), e));
     }
 
     // FE 개발자는 OAuth 인증을 직접 호출한 뒤 아래 엔드포인트를 호출해서 우리 서비스의 토큰을 요청해도 됨
@@ -63,16 +106,15 @@ public class AuthController {
     @Operation(summary = "OAuth2 로그인", description = "Handles OAuth2 authentication by exchanging an auth code for JWT tokens.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Authentication successful", content = @Content(schema = @Schema(implementation = AuthResponse.class))),
-                    @ApiResponse(responseCode = "400", description = "Invalid authentication code")
+                    @ApiResponse(responseCode = "400", description = "Invalid authentication code"),
+                    @ApiResponse(responseCode = "503", description = "OAuth provider temporarily unavailable (circuit open or too many concurrent sign-ins)")
             })
     @PostMapping("/{provider}/token")
-    public ResponseEntity<AuthResponse> signInWithProvider(@PathVariable String provider, @RequestBody AuthRequest request) {
-        try {
-            AuthResponse response = authService.signInWithProvider(provider, request.getCode());
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            throw new RuntimeException("OAuth 제공자 '" + provider + "'를 통한 토큰 교환에 실패했습니다: " + e.getMessage(), e);
-        }
+    public Mono<ResponseEntity<AuthResponse>> signInWithProvider(@PathVariable String provider, @RequestBody AuthRequest request) {
+        return authService.signInWithProviderAsync(provider, request.getCode())
+                .map(ResponseEntity::ok)
+                .onErrorMap(AuthController::isLoginFailure, e ->
+                        new RuntimeException("OAuth 제공자 '" + provider + "'를 통한 토큰 교환에 실패했습니다: " + e.getMessage(), e));
     }
 
     @Operation(summary = "Refresh JWT Token", description = "Generates new access and refresh tokens using a valid refresh token.",
@@ -89,4 +131,62 @@ public class AuthController {
             throw new RuntimeException("토큰 새로고침에 실패했습니다: " + e.getMessage(), e);
         }
     }
-}   
\ No newline at end of file
+
+    // RFC 7009 형식: 토큰을 가진 쪽이 스스로 폐기하므로 별도 인증 없이 허용하며, 유효하지 않은 토큰에도 200 응답
+    @Operation(summary = "Revoke JWT Token", description = "Revokes an access or refresh token before it expires.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Token revoked (or already invalid)")
+            })
+    @PostMapping("/revoke")
+    public ResponseEntity<Void> revokeToken(@RequestParam("token") String token) {
+        authService.revokeToken(token);
+        return ResponseEntity.ok().build();
+    }
+
+    // 제공자 서킷이 열려 있거나 동시 호출 상한을 넘은 경우: 제공자를 호출하지 않고 바로 503 응답
+    @ExceptionHandler(ProviderUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleProviderUnavailable(ProviderUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .body(Map.of("error", e.getMessage()));
+    }
+
+    // state 발급 상한 초과: 클라이언트별 상한은 429, 저장소 전체 상한은 503 (다음 버킷까지 Retry-After)
+    @ExceptionHandler(AuthorizationQuotaExceededException.class)
+    public ResponseEntity<Map<String, String>> handleAuthorizationQuotaExceeded(AuthorizationQuotaExceededException e) {
+        return ResponseEntity.status(e.isPerClient() ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .body(Map.of("error", e.getMessage()));
+    }
+
+    // 콜백 경로에만 보내는 쿠키: 제공자에서 돌아오는 최상위 GET 리다이렉트에도 전송되도록 SameSite=Lax
+    private ResponseCookie stateCookie(String provider, String value, Duration maxAge) {
+        OAuth2ProviderProperties.State config = providerProperties.getState();
+        return ResponseCookie.from(config.getCookieName(), value)
+                .httpOnly(true)
+                .secure(config.isCookieSecure())
+                .sameSite("Lax")
+                .path("/api/v1/auth/login/oauth2/code/" + provider)
+                .maxAge(maxAge)
+                .build();
+    }
+
+    private boolean matchesStateCookie(HttpServletRequest request, String state) {
+        if (request.getCookies() == null) {
+            return false;
+        }
+        String name = providerProperties.getState().getCookieName();
+        for (Cookie cookie : request.getCookies()) {
+            if (name.equals(cookie.getName()) && cookie.getValue() != null
+                    && MessageDigest.isEqual(cookie.getValue().getBytes(StandardCharsets.US_ASCII),
+                    state.getBytes(StandardCharsets.US_ASCII))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLoginFailure(Throwable e) {
+        return e instanceof RuntimeException && !(e instanceof ProviderUnavailableException);
+    }
+}
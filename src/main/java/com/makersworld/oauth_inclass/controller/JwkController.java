@@ -1,21 +1,36 @@
 package com.makersworld.oauth_inclass.controller;
 
 import com.makersworld.oauth_inclass.config.JwtKeyProvider;
+import com.makersworld.oauth_inclass.config.JwtKeySet;
+import com.makersworld.oauth_inclass.config.JwtProperties;
+import com.makersworld.oauth_inclass.config.SigningKey;
 import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.security.interfaces.RSAPublicKey;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
 
 /**
  * JWT 공개키를 JWK(JSON Web Key) 형식으로 제공하는 컨트롤러
  * 클라이언트가 JWT 토큰을 독립적으로 검증할 수 있도록 공개키를 노출합니다.
+ *
+ * 응답 본문은 키 묶음이 바뀔 때 한 번만 직렬화해 두고 그대로 내려보내며,
+ * 강한 ETag 와 Cache-Control 을 붙여 게이트웨이/CDN 이 캐시하고 304 로 재검증할 수 있게 합니다.
  */
 @RestController
 @RequiredArgsConstructor
@@ -23,25 +38,99 @@ import java.util.Map;
 public class JwkController {
 
     private final JwtKeyProvider jwtKeyProvider;
+    private final JwtProperties jwtProperties;
+
+    // 마지막으로 직렬화한 JWKS (키 묶음 스냅샷이 바뀌면 다시 만듦)
+    private volatile JwksDocument document;
 
     /**
      * JWT 검증을 위한 공개키를 JWK 형식으로 제공합니다.
      * 이 엔드포인트는 OAuth2/OpenID Connect 표준을 따라 구현되었습니다.
+     * 현재 서명 키와 검증 보관 기간 중인 이전 키를 모두 게시하므로,
+     * 검증 측은 토큰 헤더의 kid 로 알맞은 키를 선택하면 됩니다.
      *
-     * @return JWK Set JSON 객체
+     * @param ifNoneMatch 클라이언트가 가진 ETag (일치하면 304 응답)
+     * @return JWK Set JSON 본문
      */
-    @GetMapping("/.well-known/jwks.json")
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(
         summary = "JWT 공개키 조회",
-        description = "JWT 토큰 검증을 위한 공개키를 JWK(JSON Web Key) 형식으로 반환합니다."
+        description = "JWT 토큰 검증을 위한 공개키를 JWK(JSON Web Key) 형식으로 반환합니다. ETag/If-None-Match 조건부 요청을 지원합니다."
     )
-    public Map<String, Object> getJwks() {
-        // RSA 공개키를 JWK 형식으로 변환
-        RSAPublicKey publicKey = (RSAPublicKey) jwtKeyProvider.getPublicKey();
-        JWK jwk = new RSAKey.Builder(publicKey)
-                .keyID("civic-insights-auth-key") // 키 식별자 설정
-                .build();
-
-        return new JWKSet(jwk).toJSONObject();
+    public ResponseEntity<byte[]> getJwks(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        JwksDocument current = currentDocument();
+        CacheControl cacheControl = CacheControl.maxAge(jwtProperties.getJwks().getMaxAge()).cachePublic();
+
+        if (ifNoneMatch != null && matches(ifNoneMatch, current.etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(current.etag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(current.etag)
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(current.body);
+    }
+
+    /**
+     * 현재 키 묶음에 해당하는 직렬화된 JWKS 를 반환합니다.
+     * 스냅샷 참조가 같으면 이전 결과를 그대로 사용하므로 평상시에는 할당이 없습니다.
+     */
+    private JwksDocument currentDocument() {
+        JwtKeySet keySet = jwtKeyProvider.getKeySet();
+        JwksDocument current = this.document;
+        if (current != null && current.keySet == keySet) {
+            return current;
+        }
+        // 동시에 여러 요청이 다시 만들더라도 결과가 같으므로 락 없이 마지막 값으로 덮어씀
+        JwksDocument created = JwksDocument.of(keySet);
+        this.document = created;
+        return created;
+    }
+
+    /**
+     * If-None-Match 헤더(쉼표로 구분된 ETag 목록 또는 *)가 현재 ETag 와 일치하는지 확인합니다.
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag) || trimmed.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 키 묶음 스냅샷 하나에 대한 JWKS 직렬화 결과와 ETag
+     */
+    private static final class JwksDocument {
+        private final JwtKeySet keySet;
+        private final byte[] body;
+        private final String etag;
+
+        private JwksDocument(JwtKeySet keySet, byte[] body, String etag) {
+            this.keySet = keySet;
+            this.body = body;
+            this.etag = etag;
+        }
+
+        static JwksDocument of(JwtKeySet keySet) {
+            List<JWK> jwks = new ArrayList<>();
+            for (SigningKey key : keySet.getKeys()) {
+                jwks.add(key.getPublicJwk());
+            }
+            byte[] body = new JWKSet(jwks).toString().getBytes(StandardCharsets.UTF_8); // 공개키 필드만 직렬화
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+                String etag = "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+                return new JwksDocument(keySet, body, etag);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+            }
+        }
     }
 }
@@ -0,0 +1,75 @@
+package com.makersworld.oauth_inclass.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.makersworld.oauth_inclass.dto.BatchTokenRequest;
+import com.makersworld.oauth_inclass.dto.BatchTokenResult;
+import com.makersworld.oauth_inclass.service.BatchTooLargeException;
+import com.makersworld.oauth_inclass.service.TokenBatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+@Tag(name = "Token Administration", description = "관리자 전용 토큰 관리 엔드포인트")
+@RestController
+@RequestMapping("/api/v1/admin/tokens")
+@RequiredArgsConstructor
+public class TokenAdminController {
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final TokenBatchService tokenBatchService;
+    private final ObjectMapper objectMapper;
+
+    // 요청한 사용자 전체의 토큰을 병렬로 서명하고, 서명이 끝난 청크부터 NDJSON(한 줄에 한 건)으로 스트리밍
+    @Operation(summary = "토큰 일괄 발급", description = "여러 사용자의 액세스/리프레시 토큰을 한 번에 발급합니다. (ADMIN 전용, NDJSON 스트리밍 응답)",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/batch", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> issueTokens(@RequestBody BatchTokenRequest request) {
+        // 스트리밍이 시작되면 200 이 이미 커밋되므로 크기 초과는 응답 전에 거절
+        tokenBatchService.checkBatchSize(request.getEmails());
+        StreamingResponseBody body = out -> {
+            try {
+                tokenBatchService.issueTokens(request.getEmails(), chunk -> writeChunk(out, chunk));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    // 일괄 요청 크기 초과: 처리 전에 413
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<Map<String, String>> handleBatchTooLarge(BatchTooLargeException e) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(Map.of("error", e.getMessage()));
+    }
+
+    private void writeChunk(OutputStream out, Iterable<BatchTokenResult> chunk) {
+        try {
+            for (BatchTokenResult result : chunk) {
+                out.write(objectMapper.writeValueAsBytes(result));
+                out.write('\n');
+            }
+            out.flush(); // 청크 단위로 클라이언트에 전달
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
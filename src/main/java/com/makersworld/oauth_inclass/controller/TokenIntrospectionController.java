@@ -0,0 +1,55 @@
+package com.makersworld.oauth_inclass.controller;
+
+import com.makersworld.oauth_inclass.dto.IntrospectionRequest;
+import com.makersworld.oauth_inclass.dto.IntrospectionResponse;
+import com.makersworld.oauth_inclass.service.BatchTooLargeException;
+import com.makersworld.oauth_inclass.service.TokenIntrospectionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 게이트웨이/다운스트림 서비스가 토큰 유효성을 직접 구현하지 않고 물어볼 수 있는 엔드포인트
+ * 토큰의 주체/역할과 리프레시 토큰의 사용 여부가 드러나므로 ADMIN 역할 토큰으로 인증한 호출자만 사용할 수 있습니다. (SecurityConfig)
+ */
+@Tag(name = "Token Introspection", description = "토큰 검사 엔드포인트 (RFC 7662 형식)")
+@RestController
+@RequestMapping("/api/v1/auth/introspect")
+@RequiredArgsConstructor
+public class TokenIntrospectionController {
+
+    private final TokenIntrospectionService tokenIntrospectionService;
+
+    // RFC 7662 형식: application/x-www-form-urlencoded 의 token 파라미터 하나
+    @Operation(summary = "토큰 검사", description = "토큰 하나의 유효 여부와 sub/role/exp/iat 을 반환합니다.")
+    @PostMapping(consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<IntrospectionResponse> introspect(@RequestParam("token") String token) {
+        return ResponseEntity.ok(tokenIntrospectionService.introspect(token));
+    }
+
+    // 게이트웨이용 일괄 검사: 요청 순서대로 결과 배열 반환
+    @Operation(summary = "토큰 일괄 검사", description = "여러 토큰을 한 번의 요청으로 병렬 검사합니다. 결과는 요청 순서와 같습니다.")
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<IntrospectionResponse>> introspectAll(@RequestBody IntrospectionRequest request) {
+        return ResponseEntity.ok(tokenIntrospectionService.introspectAll(request.getTokens()));
+    }
+
+    // 일괄 검사 크기 초과: 검사 전에 413
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<Map<String, String>> handleBatchTooLarge(BatchTooLargeException e) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(Map.of("error", e.getMessage()));
+    }
+}
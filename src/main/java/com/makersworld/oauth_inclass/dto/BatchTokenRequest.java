@@ -0,0 +1,10 @@
+package com.makersworld.oauth_inclass.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchTokenRequest {
+    private List<String> emails; // 토큰을 발급할 사용자 이메일 목록
+}
@@ -0,0 +1,22 @@
+package com.makersworld.oauth_inclass.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.makersworld.oauth_inclass.enums.Role;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchTokenResult {
+    private String email;
+    private String accessToken;
+    private String refreshToken;
+    private Long expiresIn;
+    private Role role;
+    private String error; // 발급 실패 사유 (예: USER_NOT_FOUND)
+}
@@ -15,4 +15,6 @@ public class GoogleTokenResponse {
     private String refreshToken;
     @JsonProperty("scope")
     private String scope;
+    @JsonProperty("id_token")
+    private String idToken; // OIDC (scope 에 openid 포함 시)
 } 
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.makersworld.oauth_inclass.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class IntrospectionRequest {
+    private List<String> tokens; // 검증할 토큰 목록
+}
@@ -0,0 +1,30 @@
+package com.makersworld.oauth_inclass.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * RFC 7662 형식의 토큰 검사 결과
+ * 유효하지 않은 토큰은 {"active": false} 만 응답합니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IntrospectionResponse {
+
+    private boolean active;
+    private String sub;   // 토큰 주체 (이메일)
+    private String role;  // 역할 (리프레시 토큰은 없음)
+    private Long exp;     // 만료 시각 (epoch 초) - 호출 측은 이 시각까지 결과를 캐시할 수 있음
+    private Long iat;     // 발급 시각 (epoch 초)
+
+    // 가변 DTO 이므로 공유 인스턴스 대신 매번 새로 생성
+    public static IntrospectionResponse inactive() {
+        return new IntrospectionResponse(false, null, null, null, null);
+    }
+}
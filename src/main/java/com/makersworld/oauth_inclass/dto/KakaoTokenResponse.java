@@ -25,4 +25,7 @@ public class KakaoTokenResponse {
     
     @JsonProperty("scope")
     private String scope;
+    
+    @JsonProperty("id_token")
+    private String idToken; // OIDC (scope 에 openid 포함 시)
 }
@@ -91,13 +91,7 @@ public class KakaoUserInfoResponse {
      * @return 유효한 이메일 또는 더미 이메일
      */
     public String getValidatedEmail() {
-        String email = getEmail();
-        if (email == null || email.trim().isEmpty()) {
-            // 카카오에서 이메일을 제공하지 않는 경우 더미 이메일 생성
-            // 사용자 ID를 포함하여 고유성 보장
-            return "kakao_user_" + getId() + "@dummy.kakao.local";
-        }
-        return email;
+        return validatedEmail(getEmail(), getId());
     }
     
     /**
@@ -109,10 +103,23 @@ public class KakaoUserInfoResponse {
      * @return 유효한 닉네임 또는 기본 닉네임
      */
     public String getValidatedNickname() {
-        String nickname = getNickname();
+        return validatedNickname(getNickname(), getId());
+    }
+
+    // 스트리밍 디코더(UserInfoJsonDecoder)와 같은 기본값 규칙을 쓰기 위한 정적 버전
+    public static String validatedEmail(String email, Long id) {
+        if (email == null || email.trim().isEmpty()) {
+            // 카카오에서 이메일을 제공하지 않는 경우 더미 이메일 생성
+            // 사용자 ID를 포함하여 고유성 보장
+            return "kakao_user_" + id + "@dummy.kakao.local";
+        }
+        return email;
+    }
+
+    public static String validatedNickname(String nickname, Long id) {
         if (nickname == null || nickname.trim().isEmpty()) {
             // 카카오에서 닉네임을 제공하지 않는 경우 기본 닉네임 생성
-            return "카카오사용자_" + getId();
+            return "카카오사용자_" + id;
         }
         return nickname;
     }
@@ -81,13 +81,7 @@ public class NaverUserInfoResponse {
      * @return 유효한 이메일 또는 더미 이메일
      */
     public String getValidatedEmail() {
-        String email = getEmail();
-        if (email == null || email.trim().isEmpty()) {
-            // 네이버에서 이메일을 제공하지 않는 경우 더미 이메일 생성
-            // 사용자 ID를 포함하여 고유성 보장
-            return "naver_user_" + getId() + "@dummy.naver.local";
-        }
-        return email;
+        return validatedEmail(getEmail(), getId());
     }
     
     /**
@@ -99,17 +93,29 @@ public class NaverUserInfoResponse {
      * @return 유효한 이름 또는 기본 이름
      */
     public String getValidatedName() {
-        String name = getName();
+        return validatedName(getName(), getNickname(), getId());
+    }
+
+    // 스트리밍 디코더(UserInfoJsonDecoder)와 같은 기본값 규칙을 쓰기 위한 정적 버전
+    public static String validatedEmail(String email, String id) {
+        if (email == null || email.trim().isEmpty()) {
+            // 네이버에서 이메일을 제공하지 않는 경우 더미 이메일 생성
+            // 사용자 ID를 포함하여 고유성 보장
+            return "naver_user_" + id + "@dummy.naver.local";
+        }
+        return email;
+    }
+
+    public static String validatedName(String name, String nickname, String id) {
         if (name != null && !name.trim().isEmpty()) {
             return name;
         }
         
-        String nickname = getNickname();
         if (nickname != null && !nickname.trim().isEmpty()) {
             return nickname;
         }
         
         // 이름과 닉네임 모두 없는 경우 기본 이름 생성
-        return "네이버사용자_" + getId();
+        return "네이버사용자_" + id;
     }
 }
@@ -0,0 +1,68 @@
+package com.makersworld.oauth_inclass.enums;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+
+/**
+ * JWT 서명 알고리즘 종류
+ * RS256 외에 서명/검증 비용이 훨씬 낮은 ES256(ECDSA P-256), EdDSA(Ed25519)를 지원합니다.
+ */
+public enum JwtAlgorithm {
+    RS256(Jwts.SIG.RS256, "RSA", "SHA256withRSA"),
+    ES256(Jwts.SIG.ES256, "EC", "SHA256withECDSAinP1363Format"), // JWS는 DER이 아닌 R||S 형식 서명을 사용
+    EdDSA(Jwts.SIG.EdDSA, "Ed25519", "Ed25519");
+
+    private final SignatureAlgorithm signatureAlgorithm;
+    private final String keyAlgorithm;  // KeyFactory 알고리즘 이름 (PEM 키 파일 로딩 시 사용)
+    private final String jcaAlgorithm;  // java.security.Signature 알고리즘 이름 (템플릿 인코더 서명 시 사용)
+
+    JwtAlgorithm(SignatureAlgorithm signatureAlgorithm, String keyAlgorithm, String jcaAlgorithm) {
+        this.signatureAlgorithm = signatureAlgorithm;
+        this.keyAlgorithm = keyAlgorithm;
+        this.jcaAlgorithm = jcaAlgorithm;
+    }
+
+    /**
+     * jjwt 서명 알고리즘을 반환합니다.
+     * @return 서명 알고리즘
+     */
+    public SignatureAlgorithm getSignatureAlgorithm() {
+        return signatureAlgorithm;
+    }
+
+    /**
+     * 키 파일을 읽을 때 사용할 KeyFactory 알고리즘 이름을 반환합니다.
+     * @return KeyFactory 알고리즘 이름 (RSA / EC / Ed25519)
+     */
+    public String getKeyAlgorithm() {
+        return keyAlgorithm;
+    }
+
+    /**
+     * JWS 서명 바이트를 바로 만들어 주는 JCA Signature 알고리즘 이름을 반환합니다.
+     * @return Signature 알고리즘 이름
+     */
+    public String getJcaAlgorithm() {
+        return jcaAlgorithm;
+    }
+
+    /**
+     * 알고리즘에 맞는 새 키 쌍을 생성합니다.
+     * @return 키 쌍 (RS256: RSA 2048, ES256: P-256, EdDSA: Ed25519)
+     */
+    public KeyPair generateKeyPair() {
+        if (this == EdDSA) {
+            // jjwt의 EdDSA 기본 키는 Ed448이므로 Ed25519는 JDK 생성기를 직접 사용
+            try {
+                return KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Ed25519 키 쌍 생성에 실패했습니다.", e);
+            }
+        }
+        return signatureAlgorithm.keyPair().build();
+    }
+}
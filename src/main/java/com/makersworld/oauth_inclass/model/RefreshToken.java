@@ -0,0 +1,78 @@
+package com.makersworld.oauth_inclass.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * 발급된 리프레시 토큰(jti)의 교체 상태
+ * 같은 로그인에서 이어진 토큰들은 familyId 를 공유하며, 이미 사용된 토큰이 다시 제출되면 family 전체를 폐기합니다.
+ * jti 는 애플리케이션이 부여하므로 Persistable 로 신규 여부를 알려 saveAll 시 select 없이 insert 만 수행합니다.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_family_id", columnList = "familyId"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expiresAt")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class RefreshToken implements Persistable<String> {
+
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(nullable = false, length = 36)
+    private String familyId;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Column(nullable = false)
+    private Instant issuedAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column
+    private Instant consumedAt;   // 교체(갱신)에 사용된 시각
+
+    @Column
+    private Instant revokedAt;    // 재사용 감지 등으로 폐기된 시각
+
+    @Column(length = 36)
+    private String replacedBy;    // 교체로 발급한 후속 토큰 jti (유예 기간 안의 재시도에 같은 후속 토큰을 돌려줌)
+
+    @Transient
+    private boolean isNew = true;
+
+    @Builder
+    public RefreshToken(String jti, String familyId, String email, Instant issuedAt, Instant expiresAt) {
+        this.jti = jti;
+        this.familyId = familyId;
+        this.email = email;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String getId() {
+        return jti;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
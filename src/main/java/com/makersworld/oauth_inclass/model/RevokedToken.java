@@ -0,0 +1,43 @@
+package com.makersworld.oauth_inclass.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 만료 전에 폐기된 토큰(jti)
+ * 각 인스턴스는 최근 폐기된(revokedAt) 행만 주기적으로 읽어 메모리 폐기 목록에 반영합니다.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expiresAt"),
+        @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revokedAt")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 36)
+    private String jti;
+
+    @Column(nullable = false)
+    private Instant expiresAt;   // 토큰 만료 시각 (이후에는 폐기 목록에서 제외)
+
+    @Column(nullable = false)
+    private Instant revokedAt;
+
+    @Builder
+    public RevokedToken(String jti, Instant expiresAt, Instant revokedAt) {
+        this.jti = jti;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+}
@@ -0,0 +1,43 @@
+package com.makersworld.oauth_inclass.repository;
+
+import com.makersworld.oauth_inclass.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    // 리프레시 토큰의 원자적 사용 처리 (모든 인스턴스 공통 판정): 영향받은 행이 1 이면 사용 성공, 후속 토큰 jti 를 함께 기록
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken t set t.consumedAt = :now, t.replacedBy = :next where t.jti = :jti and t.consumedAt is null and t.revokedAt is null")
+    int consumeIfActive(@Param("jti") String jti, @Param("next") String next, @Param("now") Instant now);
+
+    // since 이후에 교체된 토큰의 아직 유효한 후속 jti (유예 기간 안의 재시도용)
+    // 잠금 읽기(for share)이므로 트랜잭션 스냅샷이 아니라 방금 다른 인스턴스가 커밋한 교체 결과를 읽음
+    @Query(value = """
+            select t.replaced_by from refresh_tokens t join refresh_tokens n on n.jti = t.replaced_by
+            where t.jti = :jti and t.consumed_at >= :since and t.revoked_at is null
+              and n.consumed_at is null and n.revoked_at is null
+            for share""", nativeQuery = true)
+    Optional<String> findSuccessorConsumedSince(@Param("jti") String jti, @Param("since") Instant since);
+
+    // family 에 폐기된 토큰이 하나라도 있으면 family 전체가 폐기된 것으로 봄 (폐기 이후 insert 된 토큰 포함)
+    boolean existsByFamilyIdAndRevokedAtIsNotNull(String familyId);
+
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now where t.familyId in :familyIds and t.revokedAt is null")
+    int revokeFamilies(@Param("familyIds") Collection<String> familyIds, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
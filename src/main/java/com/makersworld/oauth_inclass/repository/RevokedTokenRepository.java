@@ -0,0 +1,22 @@
+package com.makersworld.oauth_inclass.repository;
+
+import com.makersworld.oauth_inclass.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    // 증분 조회: SELECT * FROM revoked_tokens WHERE revoked_at >= ? AND id > ? ORDER BY id LIMIT 1000
+    List<RevokedToken> findTop1000ByRevokedAtGreaterThanEqualAndIdGreaterThanOrderByIdAsc(Instant since, Long id);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -2,10 +2,16 @@ package com.makersworld.oauth_inclass.repository;
 
 import com.makersworld.oauth_inclass.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserUpsertRepository {
     // 메소드 이름 규칙에 따라 자동으로 쿼리 생성:
     // SELECT * FROM users WHERE email = ?
     Optional<User> findByEmail(String email);
+
+    // 일괄 토큰 발급용 한 번의 조회:
+    // SELECT * FROM users WHERE email IN (?, ?, ...)
+    List<User> findByEmailIn(Collection<String> emails);
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.makersworld.oauth_inclass.repository;
+
+import com.makersworld.oauth_inclass.enums.Provider;
+import com.makersworld.oauth_inclass.model.User;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 로그인 사용자 동기화 전용 JDBC 문장들 (UserRepository 에 포함되는 fragment, 구현: UserUpsertRepositoryImpl)
+ * 한 문장 upsert 가 아니라 조회 후 필요한 문장만 실행합니다. (기존 사용자는 대부분 조회 한 번, 신규 사용자는 upsert + 프로필)
+ */
+public interface UserUpsertRepository {
+
+    /**
+     * 이메일로 사용자를 조회해 기존 사용자는 이름을 갱신하고, 없으면 uk_email 기준 upsert 로 프로필과 함께 생성합니다. (호출 측 트랜잭션 안에서)
+     * 기존 사용자는 이름만 갱신하고, 신규 사용자는 USER 역할과 프로필(avatarUrl)로 생성합니다.
+     * 같은 이메일의 첫 로그인이 동시에 들어오면 먼저 생성된 행의 이름을 갱신합니다. (UPDATED)
+     * @param email 이메일 (uk_email)
+     * @param name 제공자에서 받은 이름
+     * @param provider 로그인한 제공자 (신규 사용자만 반영)
+     * @param providerId 제공자 사용자 ID (신규 사용자만 반영)
+     * @param avatarUrl 프로필 사진 (신규 사용자만 반영)
+     * @return 동기화 결과
+     */
+    Result upsertForSignIn(String email, String name, Provider provider, String providerId, String avatarUrl);
+
+    /**
+     * upsert 결과
+     * user 는 DB 에서 읽은 값으로 만든 비영속 객체입니다. (id 미포함)
+     */
+    @Getter
+    @RequiredArgsConstructor
+    class Result {
+        private final User user;
+        private final Outcome outcome;
+
+        public boolean isInserted() {
+            return outcome == Outcome.INSERTED;
+        }
+
+        public enum Outcome {
+            INSERTED,   // 신규 사용자 (프로필 함께 생성)
+            UPDATED,    // 이름 변경
+            UNCHANGED   // 변경 없음
+        }
+    }
+}
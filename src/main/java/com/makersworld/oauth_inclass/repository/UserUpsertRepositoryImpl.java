@@ -0,0 +1,96 @@
+package com.makersworld.oauth_inclass.repository;
+
+import com.makersworld.oauth_inclass.enums.Provider;
+import com.makersworld.oauth_inclass.enums.Role;
+import com.makersworld.oauth_inclass.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+
+/**
+ * MySQL 전용 구현: 호출하는 쪽 트랜잭션(JPA)의 커넥션을 그대로 사용하므로 사용자/프로필 생성은 함께 커밋되거나 롤백됩니다.
+ *
+ * 한 문장짜리 upsert 만으로 끝내지 않고 조회를 먼저 하는 설계입니다. (의도적인 다중 문장)
+ * - 토큰에 넣을 역할(role)은 upsert 결과로 돌려받을 수 없어, 기존 사용자는 어차피 한 번 읽어야 함
+ * - 그래서 조회를 먼저 하면 대부분의 로그인(기존 사용자, 이름 변경 없음)이 왕복 한 번으로 끝남 (upsert 후 조회는 항상 두 번)
+ *
+ * 1. 사용자 조회
+ * 2. 기존 사용자: 이름이 바뀐 경우에만 UPDATE
+ * 3. 신규 사용자: uk_email 기준 INSERT ... ON DUPLICATE KEY UPDATE 한 문장으로 생성 (id = LAST_INSERT_ID(id) 로 어느 쪽이든 id 확보)
+ *    후 같은 커넥션의 LAST_INSERT_ID() 로 프로필 INSERT (이미 있으면 무시)
+ *    같은 이메일의 첫 로그인이 동시에 들어와도 중복 키 예외/재조회 없이 이 문장이 먼저 커밋된 행을 갱신함
+ *
+ * 결과는 영향받은 행 수로 판단합니다. 이 애플리케이션은 JDBC URL 에 useAffectedRows 를 쓰지 않으므로(JPA 의 행 수 검사와 충돌)
+ * MySQL 은 찾은 행 수(CLIENT_FOUND_ROWS)를 돌려줍니다: 1 = 삽입 (또는 동시에 생성된 행과 값이 같음), 2 = 동시에 생성된 행을 갱신
+ */
+@RequiredArgsConstructor
+public class UserUpsertRepositoryImpl implements UserUpsertRepository {
+
+    static final String SELECT_SQL = "SELECT name, provider, provider_id, role FROM users WHERE email = ?";
+    static final String UPDATE_NAME_SQL =
+            "UPDATE users SET name = ?, updated_at = CURRENT_TIMESTAMP(6) WHERE email = ?";
+    static final String UPSERT_USER_SQL = """
+            INSERT INTO users (email, name, provider, provider_id, role, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP(6), CURRENT_TIMESTAMP(6))
+            ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id), name = VALUES(name)""";
+    // INSERT IGNORE 대신 no-op 갱신: uk_user_id 중복만 무시하고 다른 오류(외래키, 잘림 등)는 그대로 실패
+    static final String INSERT_PROFILE_SQL = """
+            INSERT INTO user_profiles (user_id, avatar_url, created_at, updated_at)
+            VALUES (LAST_INSERT_ID(), ?, CURRENT_TIMESTAMP(6), CURRENT_TIMESTAMP(6))
+            ON DUPLICATE KEY UPDATE user_id = user_id""";
+
+    private static final int ROW_INSERTED = 1;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Result upsertForSignIn(String email, String name, Provider provider, String providerId, String avatarUrl) {
+        // 1. 기존 사용자
+        User existing = find(email);
+        if (existing != null) {
+            return updateName(existing, name);
+        }
+
+        // 2. 신규 사용자 + 프로필 (동시에 먼저 생성되었으면 그 행의 이름만 갱신)
+        int rows = jdbcTemplate.update(UPSERT_USER_SQL, email, name, provider.name(), providerId, Role.USER.name());
+        jdbcTemplate.update(INSERT_PROFILE_SQL, avatarUrl);
+
+        User user = User.builder()
+                .email(email)
+                .name(name)
+                .provider(provider)
+                .providerId(providerId)
+                .role(Role.USER) // 동시에 생성된 행도 첫 로그인이 만든 USER
+                .build();
+        return new Result(user, rows == ROW_INSERTED ? Result.Outcome.INSERTED : Result.Outcome.UPDATED);
+    }
+
+    private Result updateName(User user, String name) {
+        if (name == null ? user.getName() == null : name.equals(user.getName())) {
+            return new Result(user, Result.Outcome.UNCHANGED);
+        }
+        jdbcTemplate.update(UPDATE_NAME_SQL, name, user.getEmail());
+        User updated = User.builder()
+                .email(user.getEmail())
+                .name(name)
+                .provider(user.getProvider())
+                .providerId(user.getProviderId())
+                .role(user.getRole())
+                .build();
+        return new Result(updated, Result.Outcome.UPDATED);
+    }
+
+    private User find(String email) {
+        RowMapper<User> mapper = (row, rowNum) -> User.builder()
+                .email(email)
+                .name(row.getString("name"))
+                .provider(Provider.valueOf(row.getString("provider")))
+                .providerId(row.getString("provider_id"))
+                .role(Role.valueOf(row.getString("role")))
+                .build();
+        List<User> users = jdbcTemplate.query(SELECT_SQL, mapper, email);
+        return users.isEmpty() ? null : users.get(0);
+    }
+}
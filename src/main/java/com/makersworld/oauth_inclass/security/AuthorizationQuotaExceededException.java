@@ -0,0 +1,27 @@
+package com.makersworld.oauth_inclass.security;
+
+import java.time.Duration;
+
+/**
+ * 리다이렉트 로그인 state 발급 상한을 넘었을 때의 예외 (OAuthStateStore)
+ * 컨트롤러는 클라이언트별 상한 초과는 429, 저장소 전체 상한 초과는 503 으로 응답하며 둘 다 Retry-After 를 붙입니다.
+ */
+public class AuthorizationQuotaExceededException extends RuntimeException {
+
+    private final boolean perClient;     // true: 클라이언트(IP)별 상한, false: 저장소 전체 상한
+    private final Duration retryAfter;   // 다음 버킷이 시작될 때까지 남은 시간
+
+    public AuthorizationQuotaExceededException(String message, boolean perClient, Duration retryAfter) {
+        super(message);
+        this.perClient = perClient;
+        this.retryAfter = retryAfter;
+    }
+
+    public boolean isPerClient() {
+        return perClient;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
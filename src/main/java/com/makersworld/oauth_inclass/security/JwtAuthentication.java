@@ -0,0 +1,109 @@
+package com.makersworld.oauth_inclass.security;
+
+import com.makersworld.oauth_inclass.enums.Role;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 검증된 JWT 클레임을 그대로 담는 불변 인증 객체
+ * 권한 목록은 Role 값마다 하나씩 미리 만들어 공유하고, details 는 실제로 조회될 때만 생성합니다.
+ * role 클레임만으로 권한이 결정되므로 메서드 수준 권한 검사에 DB 조회가 필요하지 않습니다.
+ */
+public final class JwtAuthentication implements Authentication {
+
+    // Role 별 공유 권한 목록 (ROLE_ 접두사 포함, 불변)
+    private static final Map<Role, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(Role.class);
+
+    static {
+        for (Role role : Role.values()) {
+            AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+
+    private final VerifiedToken token;
+    private final List<GrantedAuthority> authorities;
+    private final String remoteAddress;          // details 지연 생성을 위해 요청에서 주소만 보관
+    private transient volatile WebAuthenticationDetails details;
+
+    public JwtAuthentication(VerifiedToken token, String remoteAddress) {
+        this.token = token;
+        this.authorities = authoritiesOf(token.getRole());
+        this.remoteAddress = remoteAddress;
+    }
+
+    /**
+     * role 클레임에 해당하는 공유 권한 목록을 반환합니다.
+     * @param role role 클레임 값 (리프레시 토큰 등은 null)
+     * @return 권한 목록 (알 수 없는 역할이면 빈 목록)
+     */
+    static List<GrantedAuthority> authoritiesOf(String role) {
+        if (role != null) {
+            // Role.valueOf 는 알 수 없는 값에 예외를 던지므로 직접 비교
+            for (Role value : Role.values()) {
+                if (value.name().equals(role)) {
+                    return AUTHORITIES.get(value);
+                }
+            }
+        }
+        return List.of();
+    }
+
+    public VerifiedToken getToken() {
+        return token;
+    }
+
+    @Override
+    public String getName() {
+        return token.getSubject();
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null; // 토큰 원문은 보관하지 않음
+    }
+
+    @Override
+    public Object getDetails() {
+        WebAuthenticationDetails current = details;
+        if (current == null) {
+            // Stateless 정책이므로 세션 ID 는 항상 없음
+            current = new WebAuthenticationDetails(remoteAddress, null);
+            details = current;
+        }
+        return current;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return token.getSubject();
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return true;
+    }
+
+    @Override
+    public void setAuthenticated(boolean isAuthenticated) {
+        if (!isAuthenticated) {
+            throw new IllegalArgumentException("JwtAuthentication 은 불변 객체이므로 인증 상태를 변경할 수 없습니다.");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JwtAuthentication[principal=" + token.getSubject() + ", authorities=" + authorities + "]";
+    }
+}
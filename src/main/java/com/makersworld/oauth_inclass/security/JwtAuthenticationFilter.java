@@ -1,21 +1,18 @@
 package com.makersworld.oauth_inclass.security;
 
-import com.makersworld.oauth_inclass.service.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.makersworld.oauth_inclass.service.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
 
 /**
  * JWT 토큰 기반 인증을 처리하는 필터
@@ -27,8 +24,11 @@ import java.util.ArrayList;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    // 이미 주입된 JwtService 인스턴스를 사용하여 비대칭키 기반 토큰 검증은 완전히 적용됨
-    private final JwtService jwtService;
+    // JwtService 검증 결과를 exp까지 재사용하는 캐시 (비활성화 시 매번 JwtService로 검증)
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    // 만료 전 폐기된 토큰 확인 (블룸 필터 + 메모리 집합, DB 조회 없음)
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
@@ -36,7 +36,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         // Authorization 헤더가 없거나 Bearer로 시작하지 않으면 다음 필터로 진행
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -48,23 +47,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // "Bearer " 이후의 토큰 추출
             jwt = authHeader.substring(7);
 
-            // 토큰에서 사용자 이메일 추출 (RSA 공개키로 검증)
-            userEmail = jwtService.extractEmail(jwt);
+            // 현재 인증 컨텍스트가 없는 경우에만 검증 수행
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                // 토큰 파싱 + RSA 서명/만료 검증을 한 번에 수행 (캐시 적중 시 서명 검증 생략)
+                VerifiedToken verified = verifiedTokenCache.verify(jwt);
+                String userEmail = verified.getSubject();
 
-            // 이메일이 존재하고 현재 인증 컨텍스트가 없는 경우
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // 토큰 유효성 검증
-                if (jwtService.validateToken(jwt, userEmail)) {
-                    // 인증 토큰 생성 및 설정
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userEmail, null, new ArrayList<>()
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                if (tokenRevocationService.isRevoked(verified)) {
+                    log.debug("JWT 토큰 검증 실패: 폐기된 토큰");
+                } else if (userEmail != null) {
+                    // 검증된 클레임으로 인증 객체 설정 (role 클레임 -> Role 별 공유 ROLE_ 권한, details 는 지연 생성)
+                    SecurityContextHolder.getContext().setAuthentication(
+                            new JwtAuthentication(verified, request.getRemoteAddr()));
 
                     log.debug("JWT 토큰 인증 성공: {}", userEmail);
                 } else {
-                    log.debug("JWT 토큰 검증 실패: 유효하지 않은 토큰");
+                    log.debug("JWT 토큰 검증 실패: 주체(subject)가 없는 토큰");
                 }
             }
         } catch (Exception e) {
@@ -0,0 +1,160 @@
+package com.makersworld.oauth_inclass.security;
+
+import com.makersworld.oauth_inclass.config.OAuth2ProviderProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * 리다이렉트 로그인의 state / PKCE verifier 를 콜백까지 보관하는 메모리 저장소
+ *
+ * 시간을 버킷(ttl / (buckets - 1))으로 나누고, 버킷마다 ConcurrentHashMap 하나를 원형 배열에 둡니다.
+ * - 발급: 현재 버킷에 추가 (버킷이 바뀌면 해당 칸을 CAS 로 새 버킷으로 교체 = 가장 오래된 버킷이 통째로 만료)
+ * - 콜백: 살아 있는 버킷(최대 buckets 개)에서 remove 로 꺼냄 (1회용, 상수 시간)
+ * 만료 항목을 찾아 지우는 정리 스레드나 전체 순회가 없고, 락도 사용하지 않습니다.
+ *
+ * 발급은 인증 없는 GET 으로 일어나므로 버킷마다 두 가지 상한을 둡니다. (넘으면 AuthorizationQuotaExceededException)
+ * - 클라이언트(IP)별 상한(maxEntriesPerClient): 한 클라이언트가 저장소를 채워 다른 사용자의 로그인을 막지 못하게 함 (429)
+ * - 저장소 전체 상한(maxEntries / buckets): 메모리 상한, 여러 클라이언트가 동시에 몰린 경우 (503)
+ * 두 상한 모두 다음 버킷이 시작되면 초기화되므로 Retry-After 는 현재 버킷의 남은 시간입니다.
+ *
+ * 인스턴스 메모리에만 보관하므로 여러 인스턴스로 운영할 때는 콜백이 같은 인스턴스로 오도록(sticky) 구성해야 합니다.
+ */
+@Component
+public class OAuthStateStore {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+    private static final int STATE_BYTES = 16;     // 128비트
+    private static final int VERIFIER_BYTES = 32;  // Base64URL 43자 (RFC 7636 최소 길이)
+
+    private final AtomicReferenceArray<Bucket> buckets;
+    private final long bucketMillis;
+    private final int maxEntriesPerBucket;
+    private final int maxEntriesPerClient;
+    private final Set<String> pkceProviders;
+    private final LongSupplier clock;
+
+    @Autowired
+    public OAuthStateStore(OAuth2ProviderProperties properties) {
+        this(properties, System::currentTimeMillis);
+    }
+
+    // 테스트에서 버킷 교체 시점을 제어하기 위한 생성자
+    OAuthStateStore(OAuth2ProviderProperties properties, LongSupplier clock) {
+        OAuth2ProviderProperties.State config = properties.getState();
+        int count = Math.max(2, config.getBuckets());
+        this.buckets = new AtomicReferenceArray<>(count);
+        this.bucketMillis = Math.max(1, config.getTtl().toMillis() / (count - 1));
+        this.maxEntriesPerBucket = Math.max(1, config.getMaxEntries() / count);
+        this.maxEntriesPerClient = Math.max(1, config.getMaxEntriesPerClient());
+        this.pkceProviders = config.getPkceProviders().stream().map(String::toLowerCase).collect(Collectors.toUnmodifiableSet());
+        this.clock = clock;
+    }
+
+    /**
+     * 새 state 를 발급해 보관합니다. (클라이언트별 상한 없이, 저장소 전체 상한만 적용)
+     * @param provider 제공자 ID
+     * @return 인가 URL 에 넣을 state / PKCE 정보
+     * @throws AuthorizationQuotaExceededException 저장소 전체 상한을 넘은 경우
+     */
+    public PendingAuthorization issue(String provider) {
+        return issue(provider, null);
+    }
+
+    /**
+     * 새 state 를 발급해 보관합니다. (PKCE 사용 제공자는 verifier 도 함께 생성)
+     * @param provider 제공자 ID
+     * @param client 요청한 클라이언트 식별자 (IP, null 이면 클라이언트별 상한 미적용)
+     * @return 인가 URL 에 넣을 state / PKCE 정보
+     * @throws AuthorizationQuotaExceededException 클라이언트별 또는 저장소 전체 상한을 넘은 경우
+     */
+    public PendingAuthorization issue(String provider, String client) {
+        long now = clock.getAsLong();
+        Bucket bucket = current(now / bucketMillis);
+        // 전체 상한을 먼저 확인하므로 클라이언트 카운터 수도 버킷당 maxEntriesPerBucket 을 넘지 않음
+        if (bucket.issued.get() >= maxEntriesPerBucket) {
+            throw quotaExceeded("진행 중인 로그인 요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.", false, now);
+        }
+        if (client != null
+                && bucket.perClient.computeIfAbsent(client, key -> new AtomicInteger()).incrementAndGet() > maxEntriesPerClient) {
+            throw quotaExceeded("로그인 요청이 너무 잦습니다. 잠시 후 다시 시도해 주세요.", true, now);
+        }
+        if (bucket.issued.incrementAndGet() > maxEntriesPerBucket) {
+            throw quotaExceeded("진행 중인 로그인 요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.", false, now);
+        }
+
+        String verifier = pkceProviders.contains(provider) ? randomToken(VERIFIER_BYTES) : null;
+        PendingAuthorization authorization = new PendingAuthorization(provider, randomToken(STATE_BYTES), verifier);
+        bucket.entries.put(authorization.getState(), authorization);
+        return authorization;
+    }
+
+    /**
+     * state 를 꺼내고 삭제합니다. (같은 state 로는 한 번만 성공)
+     * @param provider 콜백을 받은 제공자 ID
+     * @param state 콜백의 state 파라미터
+     * @return 발급 정보 (없거나 만료되었거나 다른 제공자의 state 면 null)
+     */
+    public PendingAuthorization consume(String provider, String state) {
+        if (state == null) {
+            return null;
+        }
+        long epoch = clock.getAsLong() / bucketMillis;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get((int) Math.floorMod(epoch - i, (long) buckets.length()));
+            if (bucket == null || bucket.epoch != epoch - i) {
+                continue; // 비어 있거나 이미 만료된(교체 전) 버킷
+            }
+            PendingAuthorization authorization = bucket.entries.remove(state);
+            if (authorization != null) {
+                return authorization.getProvider().equalsIgnoreCase(provider) ? authorization : null;
+            }
+        }
+        return null;
+    }
+
+    private Bucket current(long epoch) {
+        int slot = (int) Math.floorMod(epoch, (long) buckets.length());
+        Bucket bucket = buckets.get(slot);
+        while (bucket == null || bucket.epoch < epoch) {
+            Bucket fresh = new Bucket(epoch);
+            if (buckets.compareAndSet(slot, bucket, fresh)) {
+                return fresh; // 이전 버킷(buckets 주기 전)은 통째로 버려짐
+            }
+            bucket = buckets.get(slot);
+        }
+        return bucket;
+    }
+
+    private AuthorizationQuotaExceededException quotaExceeded(String message, boolean perClient, long now) {
+        Duration retryAfter = Duration.ofMillis(bucketMillis - now % bucketMillis); // 다음 버킷까지
+        return new AuthorizationQuotaExceededException(message, perClient, retryAfter);
+    }
+
+    private static String randomToken(int bytes) {
+        byte[] random = new byte[bytes];
+        RANDOM.nextBytes(random);
+        return BASE64URL.encodeToString(random);
+    }
+
+    private static final class Bucket {
+        private final long epoch;
+        private final ConcurrentHashMap<String, PendingAuthorization> entries = new ConcurrentHashMap<>();
+        private final AtomicInteger issued = new AtomicInteger();
+        private final ConcurrentHashMap<String, AtomicInteger> perClient = new ConcurrentHashMap<>(); // 클라이언트별 발급 수
+
+        Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.makersworld.oauth_inclass.security;
+
+import com.makersworld.oauth_inclass.config.OAuth2ProviderProperties;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.Set;
+
+/**
+ * 토큰 응답으로 받은 OIDC id_token 을 제공자 JWKS 로 로컬 검증합니다.
+ * 서명(RS256 계열), 발급자(iss), 대상(aud = client_id), 만료(exp), 발급 시각(iat)을 확인합니다.
+ * 공개키가 캐시되어 있으면 네트워크 호출 없이 검증이 끝납니다.
+ */
+@Component
+public class OidcIdTokenVerifier {
+
+    private final OidcJwksCache jwksCache;
+    private final OAuth2ProviderProperties.Oidc properties;
+
+    public OidcIdTokenVerifier(OidcJwksCache jwksCache, OAuth2ProviderProperties properties) {
+        this.jwksCache = jwksCache;
+        this.properties = properties.getOidc();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * id_token 을 검증하고 클레임을 반환합니다.
+     * @param provider 제공자 ID
+     * @param jwksUri 제공자 JWKS 주소
+     * @param issuers 허용하는 iss 값
+     * @param clientId 우리 서비스의 client_id (aud)
+     * @param idToken 토큰 응답의 id_token
+     * @return 검증된 클레임 (검증 실패 시 RuntimeException 오류 신호)
+     */
+    public Mono<JWTClaimsSet> verify(String provider, String jwksUri, Set<String> issuers, String clientId, String idToken) {
+        SignedJWT jwt;
+        try {
+            jwt = SignedJWT.parse(idToken);
+        } catch (ParseException e) {
+            return Mono.error(new RuntimeException("id_token 형식이 올바르지 않습니다.", e));
+        }
+        if (!JWSAlgorithm.Family.RSA.contains(jwt.getHeader().getAlgorithm()) || jwt.getHeader().getKeyID() == null) {
+            return Mono.error(new RuntimeException("지원하지 않는 id_token 서명 방식입니다: " + jwt.getHeader().getAlgorithm()));
+        }
+        return jwksCache.findKey(provider, jwksUri, jwt.getHeader().getKeyID())
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("id_token 서명 키를 찾을 수 없습니다: kid=" + jwt.getHeader().getKeyID())))
+                .map(key -> verify(jwt, key, issuers, clientId));
+    }
+
+    private JWTClaimsSet verify(SignedJWT jwt, JWK key, Set<String> issuers, String clientId) {
+        JWTClaimsSet claims;
+        try {
+            if (!(key instanceof RSAKey rsaKey) || !jwt.verify(new RSASSAVerifier(rsaKey))) {
+                throw new RuntimeException("id_token 서명이 올바르지 않습니다.");
+            }
+            claims = jwt.getJWTClaimsSet();
+        } catch (JOSEException | ParseException e) {
+            throw new RuntimeException("id_token 을 검증할 수 없습니다.", e);
+        }
+
+        long skewMs = properties.getClockSkew().toMillis();
+        long now = System.currentTimeMillis();
+        Date expiration = claims.getExpirationTime();
+        Date issuedAt = claims.getIssueTime();
+        if (claims.getIssuer() == null || !issuers.contains(claims.getIssuer())) {
+            throw new RuntimeException("id_token 발급자가 올바르지 않습니다: " + claims.getIssuer());
+        }
+        if (claims.getAudience() == null || !claims.getAudience().contains(clientId)) {
+            throw new RuntimeException("id_token 대상(aud)이 올바르지 않습니다.");
+        }
+        if (expiration == null || expiration.getTime() + skewMs < now) {
+            throw new RuntimeException("만료된 id_token 입니다.");
+        }
+        if (issuedAt != null && issuedAt.getTime() - skewMs > now) {
+            throw new RuntimeException("id_token 발급 시각이 올바르지 않습니다.");
+        }
+        if (claims.getSubject() == null) {
+            throw new RuntimeException("id_token 에 사용자 식별자(sub)가 없습니다.");
+        }
+        return claims;
+    }
+}
@@ -0,0 +1,148 @@
+package com.makersworld.oauth_inclass.security;
+
+import com.makersworld.oauth_inclass.config.OAuth2ProviderProperties;
+import com.makersworld.oauth_inclass.config.OAuth2WebClients;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.text.ParseException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * OIDC 제공자 공개키(JWKS) 캐시
+ *
+ * JWKS 는 응답의 Cache-Control max-age(- Age) 동안 캐시하고, 만료 전에 백그라운드에서 다시 받아 둡니다.
+ * 요청 경로에서는 캐시된 키로 바로 검증하며, 처음 보는 kid 가 오면(제공자 키 교체) minRefreshInterval 에 한 번만 다시 조회합니다.
+ * 동시에 여러 요청이 조회를 일으켜도 진행 중인 조회 하나를 공유합니다.
+ * 재조회에 실패하면 기존 키를 그대로 사용하고 minRefreshInterval 후 다시 시도합니다.
+ */
+@Slf4j
+@Component
+public class OidcJwksCache {
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final OAuth2WebClients webClients;
+    private final OAuth2ProviderProperties.Oidc properties;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "oidc-jwks-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OidcJwksCache(OAuth2WebClients webClients, OAuth2ProviderProperties properties) {
+        this.webClients = webClients;
+        this.properties = properties.getOidc();
+    }
+
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * kid 에 해당하는 공개키를 찾습니다.
+     * @param provider 제공자 ID (JWKS 조회에 제공자 전용 커넥션 풀 사용)
+     * @param jwksUri 제공자 JWKS 주소
+     * @param keyId id_token 헤더의 kid
+     * @return 공개키 (없으면 빈 Mono)
+     */
+    public Mono<JWK> findKey(String provider, String jwksUri, String keyId) {
+        Entry entry = entries.computeIfAbsent(jwksUri, uri -> new Entry(provider, uri));
+        JWKSet keys = entry.keys;
+        JWK key = keys != null ? keys.getKeyByKeyId(keyId) : null;
+        if (key != null) {
+            return Mono.just(key);
+        }
+        if (entry.inFlight.get() == null
+                && System.currentTimeMillis() - entry.attemptedAtMs < properties.getMinRefreshInterval().toMillis()) {
+            return Mono.empty(); // 방금 받은(또는 받지 못한) 키 목록에도 없는 kid - 제공자로 재조회를 몰아 보내지 않음
+        }
+        return refresh(entry).flatMap(refreshed -> Mono.justOrEmpty(refreshed.getKeyByKeyId(keyId)));
+    }
+
+    private Mono<JWKSet> refresh(Entry entry) {
+        Mono<JWKSet> inFlight = entry.inFlight.get();
+        if (inFlight != null) {
+            return inFlight;
+        }
+        entry.attemptedAtMs = System.currentTimeMillis();
+        Mono<JWKSet> fetch = webClients.get(entry.provider).get()
+                .uri(entry.uri)
+                .retrieve()
+                .toEntity(String.class)
+                .map(response -> update(entry, response))
+                .doFinally(signal -> entry.inFlight.set(null))
+                .cache();
+        return entry.inFlight.compareAndSet(null, fetch) ? fetch : refresh(entry);
+    }
+
+    private JWKSet update(Entry entry, ResponseEntity<String> response) {
+        JWKSet keys;
+        try {
+            keys = JWKSet.parse(Objects.requireNonNullElse(response.getBody(), ""));
+        } catch (ParseException e) {
+            throw new RuntimeException("OIDC 공개키(JWKS) 응답을 해석할 수 없습니다: " + entry.uri, e);
+        }
+        long maxAgeMs = maxAgeMs(response.getHeaders());
+        entry.keys = keys;
+        // 만료 전에 미리 다시 받음 (max-age 의 90% 시점, 최소 minRefreshInterval)
+        schedule(entry, Math.max(properties.getMinRefreshInterval().toMillis(), maxAgeMs * 9 / 10));
+        log.debug("OIDC 공개키 갱신: {} (키 {}개, max-age {}ms)", entry.uri, keys.getKeys().size(), maxAgeMs);
+        return keys;
+    }
+
+    private long maxAgeMs(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        Matcher matcher = cacheControl != null ? MAX_AGE.matcher(cacheControl) : null;
+        if (matcher == null || !matcher.find()) {
+            return properties.getDefaultMaxAge().toMillis();
+        }
+        long maxAgeSeconds = Long.parseLong(matcher.group(1));
+        String age = headers.getFirst(HttpHeaders.AGE); // 중간 캐시에 머문 시간만큼 차감
+        if (age != null && !age.isEmpty() && age.chars().allMatch(Character::isDigit)) {
+            maxAgeSeconds -= Long.parseLong(age);
+        }
+        return TimeUnit.SECONDS.toMillis(Math.max(0, maxAgeSeconds));
+    }
+
+    private void schedule(Entry entry, long delayMs) {
+        ScheduledFuture<?> previous = entry.nextRefresh;
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        entry.nextRefresh = refresher.schedule(() -> refresh(entry).subscribe(keys -> { }, e -> {
+            log.warn("OIDC 공개키 갱신 실패 - 기존 키를 유지하고 다시 시도합니다: {} ({})", entry.uri, e.getMessage());
+            schedule(entry, properties.getMinRefreshInterval().toMillis());
+        }), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static final class Entry {
+        private final String provider;
+        private final String uri;
+        private final AtomicReference<Mono<JWKSet>> inFlight = new AtomicReference<>();
+        private volatile JWKSet keys;
+        private volatile long attemptedAtMs;
+        private volatile ScheduledFuture<?> nextRefresh;
+
+        Entry(String provider, String uri) {
+            this.provider = provider;
+            this.uri = uri;
+        }
+    }
+}
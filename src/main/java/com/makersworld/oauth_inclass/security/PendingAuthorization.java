@@ -0,0 +1,34 @@
+package com.makersworld.oauth_inclass.security;
+
+import lombok.Getter;
+
+import java.util.Base64;
+
+/**
+ * 리다이렉트 로그인 한 건의 state 와 PKCE verifier
+ * 인가 URL 을 만들 때 발급해 OAuthStateStore 에 보관하고, 콜백에서 state 로 꺼내 토큰 교환에 사용합니다.
+ */
+@Getter
+public final class PendingAuthorization {
+
+    private final String provider;       // 제공자 ID
+    private final String state;          // 콜백 상관관계/CSRF 방지용 임의 값 (Base64URL)
+    private final String codeVerifier;   // PKCE verifier (PKCE 를 쓰지 않는 제공자는 null)
+
+    public PendingAuthorization(String provider, String state, String codeVerifier) {
+        this.provider = provider;
+        this.state = state;
+        this.codeVerifier = codeVerifier;
+    }
+
+    /**
+     * PKCE code_challenge (S256 = Base64URL(SHA-256(verifier)))
+     * @return challenge (PKCE 를 쓰지 않으면 null)
+     */
+    public String getCodeChallenge() {
+        if (codeVerifier == null) {
+            return null;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(TokenDigests.sha256(codeVerifier).array());
+    }
+}
@@ -0,0 +1,247 @@
+package com.makersworld.oauth_inclass.security;
+
+import java.util.Arrays;
+
+/**
+ * 폐기된 토큰 식별자(jti) 집합의 불변 스냅샷
+ *
+ * - 정확한 집합: jti 의 64비트 해시를 정렬된 long[] 로 보관하고 이진 탐색으로 조회합니다. (객체/박싱 없음)
+ * - 블룸 필터: 정확한 집합 앞에 두어, 대부분을 차지하는 "폐기되지 않음" 판정을 비트 몇 개 확인으로 끝냅니다.
+ * - 각 해시의 만료 시각(토큰 exp)을 함께 보관하여, prune 시 만료된 항목을 제외합니다.
+ *
+ * 정확한 집합은 변경되지 않으므로 요청 스레드는 잠금 없이 읽고, 변경 시에는 새 스냅샷을 만들어 참조를 교체합니다.
+ * 블룸 필터는 capacity 건까지 목표 오탐률을 지키도록 여유 있게 만들고, 그 안에서는 새 스냅샷과 같은 비트 배열을 공유하며
+ * 추가된 항목의 비트만 켭니다. 이전 스냅샷에서 켜진 비트가 보여도 오탐이 조금 늘 뿐 판정은 정확한 집합이 하므로 안전합니다.
+ */
+public final class RevocationSet {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final int MAX_HASH_FUNCTIONS = 16;
+    private static final int MIN_CAPACITY = 64;
+
+    private final long[] hashes;      // 정렬/중복 제거된 jti 해시
+    private final long[] expiresAt;   // hashes 와 같은 순서의 만료 시각 (epoch 밀리초)
+    private final double targetFpp;
+
+    private final long[] bloom;       // 블룸 필터 비트 배열 (크기는 2의 거듭제곱, 같은 capacity 의 스냅샷끼리 공유)
+    private final int bloomMask;      // 비트 수 - 1
+    private final int hashFunctions;
+    private final int capacity;       // 블룸 필터를 다시 만들지 않고 담을 수 있는 항목 수
+
+    private RevocationSet(long[] hashes, long[] expiresAt, double targetFpp,
+                          long[] bloom, int bloomMask, int hashFunctions, int capacity) {
+        this.hashes = hashes;
+        this.expiresAt = expiresAt;
+        this.targetFpp = targetFpp;
+        this.bloom = bloom;
+        this.bloomMask = bloomMask;
+        this.hashFunctions = hashFunctions;
+        this.capacity = capacity;
+    }
+
+    /**
+     * 항목 수의 2배를 담을 수 있는 블룸 필터와 함께 스냅샷을 만듭니다.
+     */
+    private static RevocationSet build(long[] hashes, long[] expiresAt, double targetFpp) {
+        // 최적 비트 수 m = -n ln p / (ln 2)^2, 해시 함수 수 k = m/n ln 2 (n = capacity)
+        int capacity = (int) Math.min(1 << 28, Math.max(MIN_CAPACITY, 2L * hashes.length));
+        long optimalBits = (long) Math.ceil(-capacity * Math.log(targetFpp) / (Math.log(2) * Math.log(2)));
+        int bits = Integer.highestOneBit((int) Math.min(1L << 30, Math.max(64, optimalBits)) - 1) << 1;
+        int hashFunctions = Math.max(1, Math.min(MAX_HASH_FUNCTIONS, (int) Math.round((double) bits / capacity * Math.log(2))));
+
+        RevocationSet set = new RevocationSet(hashes, expiresAt, targetFpp,
+                new long[bits >>> 6], bits - 1, hashFunctions, capacity);
+        for (long hash : hashes) {
+            set.addToBloom(hash);
+        }
+        return set;
+    }
+
+    /**
+     * 빈 집합을 만듭니다.
+     * @param targetFpp 블룸 필터 목표 오탐률 (예: 0.01)
+     * @return 빈 스냅샷
+     */
+    public static RevocationSet empty(double targetFpp) {
+        return build(new long[0], new long[0], targetFpp);
+    }
+
+    /**
+     * 토큰 식별자(jti)를 64비트 해시로 변환합니다. (FNV-1a + 비트 섞기)
+     * @param tokenId jti 클레임
+     * @return 64비트 해시 (tokenId 가 null 이면 0)
+     */
+    public static long hash(String tokenId) {
+        if (tokenId == null) {
+            return 0L;
+        }
+        long h = FNV_OFFSET;
+        for (int i = 0; i < tokenId.length(); i++) {
+            h ^= tokenId.charAt(i);
+            h *= FNV_PRIME;
+        }
+        // 블룸 필터 인덱스에 상위/하위 32비트를 나눠 쓰므로 비트를 고르게 섞음 (MurmurHash3 fmix64)
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * 블룸 필터만으로 포함 가능성을 확인합니다. false 이면 확실히 폐기되지 않은 토큰입니다.
+     * @param hash jti 해시
+     * @return 포함 가능성
+     */
+    public boolean mightContain(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashFunctions; i++) {
+            int bit = (h1 + i * h2) & bloomMask;
+            if ((bloom[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 정확한 집합에서 포함 여부를 확인합니다. (이진 탐색)
+     * @param hash jti 해시
+     * @return 포함 여부
+     */
+    public boolean contains(long hash) {
+        return Arrays.binarySearch(hashes, hash) >= 0;
+    }
+
+    /**
+     * 항목을 추가한 새 스냅샷을 만듭니다. (이미 만료된 추가 항목은 무시, 기존 항목 정리는 prune)
+     * 추가 항목만 정렬한 뒤 기존 정렬 배열과 병합하므로 O(n + k log k) 이며, 블룸 필터는 capacity 를 넘을 때만 다시 만듭니다.
+     * @param addHashes 추가할 jti 해시
+     * @param addExpiresAt 추가할 항목의 만료 시각 (epoch 밀리초)
+     * @param nowMs 현재 시각
+     * @return 새 스냅샷 (추가할 항목이 없으면 자기 자신)
+     */
+    public RevocationSet with(long[] addHashes, long[] addExpiresAt, long nowMs) {
+        // 1. 추가 항목 정렬/중복 제거 (같은 해시는 늦은 만료 시각 유지)
+        long[] added = new long[addHashes.length];
+        int k = 0;
+        for (int i = 0; i < addHashes.length; i++) {
+            if (addExpiresAt[i] > nowMs) {
+                added[k++] = addHashes[i];
+            }
+        }
+        if (k == 0) {
+            return this;
+        }
+        Arrays.sort(added, 0, k);
+        int unique = 0;
+        for (int i = 0; i < k; i++) {
+            if (unique == 0 || added[unique - 1] != added[i]) {
+                added[unique++] = added[i];
+            }
+        }
+        long[] addedExpiresAt = new long[unique];
+        for (int i = 0; i < addHashes.length; i++) {
+            if (addExpiresAt[i] > nowMs) {
+                int index = Arrays.binarySearch(added, 0, unique, addHashes[i]);
+                addedExpiresAt[index] = Math.max(addedExpiresAt[index], addExpiresAt[i]);
+            }
+        }
+
+        // 2. 기존 정렬 배열과 병합
+        long[] h = new long[hashes.length + unique];
+        long[] e = new long[h.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < hashes.length || j < unique) {
+            if (j == unique || (i < hashes.length && hashes[i] < added[j])) {
+                h[n] = hashes[i];
+                e[n++] = expiresAt[i++];
+            } else if (i == hashes.length || added[j] < hashes[i]) {
+                h[n] = added[j];
+                e[n++] = addedExpiresAt[j++];
+            } else {
+                h[n] = hashes[i];
+                e[n++] = Math.max(expiresAt[i++], addedExpiresAt[j++]);
+            }
+        }
+        if (n < h.length) {
+            h = Arrays.copyOf(h, n);
+            e = Arrays.copyOf(e, n);
+        }
+
+        // 3. 블룸 필터: 여유가 있으면 공유 비트 배열에 추가 항목만 반영, 넘치면 다시 만듦
+        if (n > capacity) {
+            return build(h, e, targetFpp);
+        }
+        RevocationSet next = new RevocationSet(h, e, targetFpp, bloom, bloomMask, hashFunctions, capacity);
+        for (int a = 0; a < unique; a++) {
+            next.addToBloom(added[a]);
+        }
+        return next;
+    }
+
+    /**
+     * 만료된 항목을 제외한 새 스냅샷을 만듭니다. (제외된 항목의 비트를 지우기 위해 블룸 필터도 다시 만듦)
+     * @param nowMs 현재 시각
+     * @return 새 스냅샷 (제외할 항목이 없으면 자기 자신)
+     */
+    public RevocationSet prune(long nowMs) {
+        int kept = 0;
+        for (long expiry : expiresAt) {
+            if (expiry > nowMs) {
+                kept++;
+            }
+        }
+        if (kept == hashes.length) {
+            return this;
+        }
+        long[] h = new long[kept];
+        long[] e = new long[kept];
+        int n = 0;
+        for (int i = 0; i < hashes.length; i++) {
+            if (expiresAt[i] > nowMs) {
+                h[n] = hashes[i];
+                e[n++] = expiresAt[i];
+            }
+        }
+        return build(h, e, targetFpp);
+    }
+
+    // 쓰기는 스냅샷을 교체하는 한 스레드(갱신 잠금 보유)만 수행
+    private void addToBloom(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashFunctions; i++) {
+            int bit = (h1 + i * h2) & bloomMask;
+            bloom[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    public int size() {
+        return hashes.length;
+    }
+
+    public int getBloomBits() {
+        return bloomMask + 1;
+    }
+
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * 현재 항목 수와 비트 수 기준의 이론상 블룸 필터 오탐률 (1 - e^(-kn/m))^k
+     * @return 예상 오탐률
+     */
+    public double expectedFalsePositiveRate() {
+        if (hashes.length == 0) {
+            return 0.0;
+        }
+        return Math.pow(1 - Math.exp(-(double) hashFunctions * hashes.length / getBloomBits()), hashFunctions);
+    }
+}
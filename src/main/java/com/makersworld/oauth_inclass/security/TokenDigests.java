@@ -0,0 +1,51 @@
+package com.makersworld.oauth_inclass.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * 토큰 문자열을 캐시/맵 키로 사용하기 위한 SHA-256 다이제스트 유틸리티
+ * 원본 토큰을 메모리에 보관하지 않고, 고정 길이(32바이트) 키로 비교합니다.
+ */
+public final class TokenDigests {
+
+    // 동시에 다이제스트를 계산하는 스레드 수 이상은 보관할 필요가 없음
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+    // MessageDigest는 스레드 안전하지 않으므로 빌려 쓰고 반납
+    // ThreadLocal 은 가상 스레드(요청마다 새 스레드)에서는 재사용되지 않고 스레드마다 인스턴스만 늘어나므로 크기 제한 풀을 사용
+    // ArrayBlockingQueue 는 ReentrantLock 기반이라 가상 스레드를 캐리어 스레드에 고정(pinning)하지 않음
+    private static final ArrayBlockingQueue<MessageDigest> SHA256 = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private TokenDigests() {
+    }
+
+    /**
+     * 토큰의 SHA-256 다이제스트를 반환합니다.
+     * ByteBuffer는 내용 기반 equals/hashCode를 제공하므로 그대로 맵 키로 사용할 수 있습니다.
+     * @param token JWT 토큰 (Base64URL 문자만 포함)
+     * @return 다이제스트 키
+     */
+    public static ByteBuffer sha256(String token) {
+        MessageDigest digest = SHA256.poll();
+        if (digest == null) {
+            digest = newSha256();
+        }
+        try {
+            return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } finally {
+            SHA256.offer(digest); // digest() 가 상태를 초기화하므로 그대로 반납 (가득 차 있으면 버림)
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+}
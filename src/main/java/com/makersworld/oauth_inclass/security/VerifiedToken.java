@@ -0,0 +1,37 @@
+package com.makersworld.oauth_inclass.security;
+
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * 서명 검증이 끝난 JWT 토큰의 클레임을 담는 불변 객체
+ * 한 번의 파싱/검증 결과를 필터와 서비스에서 함께 재사용하기 위해 사용합니다.
+ */
+@Getter
+public final class VerifiedToken {
+
+    private final String subject;     // 토큰 주체 (이메일)
+    private final String role;        // 역할 클레임 (리프레시 토큰은 null)
+    private final String tokenId;     // jti 클레임 (교체/폐기 추적용, 없으면 null)
+    private final Date issuedAt;      // 발급 시각
+    private final Date expiration;    // 만료 시각
+    private final long tokenIdHash;   // 폐기 목록 조회용 jti 해시 (검증 시 한 번만 계산)
+
+    public VerifiedToken(String subject, String role, String tokenId, Date issuedAt, Date expiration) {
+        this.subject = subject;
+        this.role = role;
+        this.tokenId = tokenId;
+        this.issuedAt = issuedAt;
+        this.expiration = expiration;
+        this.tokenIdHash = RevocationSet.hash(tokenId);
+    }
+
+    /**
+     * 토큰이 현재 시각 기준으로 만료되었는지 확인합니다.
+     * @return 만료 여부
+     */
+    public boolean isExpired() {
+        return expiration == null || expiration.getTime() <= System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,181 @@
+package com.makersworld.oauth_inclass.security;
+
+import com.makersworld.oauth_inclass.config.JwtKeyProvider;
+import com.makersworld.oauth_inclass.config.JwtProperties;
+import com.makersworld.oauth_inclass.service.JwtService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 서명 검증이 끝난 토큰을 만료 시각(exp)까지 보관하는 크기 제한 캐시 (opt-in)
+ * 같은 액세스 토큰이 반복해서 들어오면 RSA 서명 검증을 생략합니다.
+ *
+ * - 키: 토큰 문자열의 SHA-256 다이제스트 (원본 토큰은 보관하지 않음)
+ * - 만료: 각 항목은 토큰의 exp 시각에 만료되어 조회 시 제거됨
+ * - 크기: app.jwt.cache.max-size 에 도달하면 만료 항목부터 정리 후 임의 항목을 축출
+ * - 키 제거: 검증 키가 키 묶음에서 빠지면(보관 기간 만료) 키 묶음 세대를 올리고 캐시를 비워 해당 키로 검증된 결과를 버림
+ *   각 항목에는 검증을 시작할 때의 세대를 기록하므로, 제거 전에 시작된 검증이 비운 뒤에 저장한 결과도 적중하지 않음
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtService jwtService;
+    private final boolean enabled;
+    private final int maxSize;
+
+    private final Map<ByteBuffer, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong keyGeneration = new AtomicLong();
+    private final AtomicBoolean evicting = new AtomicBoolean(false);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public VerifiedTokenCache(JwtService jwtService, JwtKeyProvider jwtKeyProvider, JwtProperties jwtProperties,
+                              MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.enabled = jwtProperties.getCache().isEnabled();
+        this.maxSize = Math.max(1, jwtProperties.getCache().getMaxSize());
+
+        // 항목에 kid 를 두지 않으므로 키가 빠지면 통째로 비움 (보관 기간마다 한 번 정도로 드묾)
+        // 세대를 먼저 올려야 비우는 도중/이후에 저장되는 이전 세대 항목이 사용되지 않음
+        jwtKeyProvider.addKeyRemovalListener(removedKids -> {
+            if (enabled) {
+                keyGeneration.incrementAndGet();
+                log.info("검증 키 제거로 검증 토큰 캐시를 비웁니다: kid={}, size={}", removedKids, entries.size());
+                clear();
+            }
+        });
+
+        FunctionCounter.builder("jwt.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("jwt.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("jwt.cache.evictions", evictions, LongAdder::sum)
+                .register(meterRegistry);
+        Gauge.builder("jwt.cache.size", entries, Map::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 검증 결과를 반환하거나, 없으면 서명을 검증한 뒤 캐시에 저장합니다.
+     * 캐시가 비활성화되어 있으면 항상 JwtService.verify를 호출합니다.
+     * @param token JWT 토큰
+     * @return 검증된 토큰 정보
+     * @throws RuntimeException 토큰 파싱 또는 검증 실패 시 (실패 결과는 캐시하지 않음)
+     */
+    public VerifiedToken verify(String token) {
+        if (!enabled) {
+            return jwtService.verify(token);
+        }
+
+        ByteBuffer key = TokenDigests.sha256(token);
+        long generation = keyGeneration.get();
+        Entry cached = entries.get(key);
+        if (cached != null) {
+            if (cached.generation == generation && !cached.token.isExpired()) {
+                hits.increment();
+                return cached.token;
+            }
+            // exp가 지났거나 키 제거 이전 세대의 항목은 조회 시점에 제거
+            if (entries.remove(key, cached)) {
+                evictions.increment();
+            }
+        }
+
+        misses.increment();
+        VerifiedToken verified = jwtService.verify(token);
+        // 검증 도중 키가 제거되었으면 저장하지 않음 (저장 직후 제거된 경우는 세대 불일치로 다음 조회에서 버려짐)
+        if (keyGeneration.get() == generation) {
+            if (entries.size() >= maxSize) {
+                evict();
+            }
+            entries.put(key, new Entry(verified, generation));
+        }
+        return verified;
+    }
+
+    /**
+     * 캐시를 모두 비웁니다. (키 교체 등으로 기존 검증 결과를 신뢰할 수 없을 때 사용)
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 최대 크기에 도달했을 때 만료 항목을 먼저 정리하고, 그래도 부족하면 임의 항목을 축출합니다.
+     * 동시에 하나의 스레드만 정리를 수행하며, 나머지 스레드는 기다리지 않고 진행합니다.
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int target = maxSize - Math.max(1, maxSize / 10); // 여유 공간 10% 확보
+            long now = System.currentTimeMillis();
+
+            long generation = keyGeneration.get();
+            Iterator<Map.Entry<ByteBuffer, Entry>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next().getValue();
+                VerifiedToken token = entry.token;
+                if (entry.generation != generation
+                        || token.getExpiration() == null || token.getExpiration().getTime() <= now) {
+                    it.remove();
+                    evictions.increment();
+                }
+            }
+
+            it = entries.entrySet().iterator();
+            while (entries.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.increment();
+            }
+            log.debug("검증 토큰 캐시 정리 완료: size={}, evictions={}", entries.size(), evictions.sum());
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * 검증 결과와 검증을 시작할 때의 키 묶음 세대
+     */
+    private static final class Entry {
+        private final VerifiedToken token;
+        private final long generation;
+
+        Entry(VerifiedToken token, long generation) {
+            this.token = token;
+            this.generation = generation;
+        }
+    }
+}
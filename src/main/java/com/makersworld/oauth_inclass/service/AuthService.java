@@ -3,16 +3,20 @@ package com.makersworld.oauth_inclass.service;
 import com.makersworld.oauth_inclass.dto.AuthResponse;
 import com.makersworld.oauth_inclass.dto.UserInfoResponse;
 import com.makersworld.oauth_inclass.enums.Provider;
-import com.makersworld.oauth_inclass.enums.Role;
 import com.makersworld.oauth_inclass.model.User;
-import com.makersworld.oauth_inclass.model.UserProfile;
 import com.makersworld.oauth_inclass.repository.UserRepository;
-import com.makersworld.oauth_inclass.repository.UserProfileRepository;
+import com.makersworld.oauth_inclass.security.OAuthStateStore;
+import com.makersworld.oauth_inclass.security.PendingAuthorization;
+import com.makersworld.oauth_inclass.security.VerifiedToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 
 @Service
@@ -20,8 +24,15 @@ import java.util.Map;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final UserProfileRepository userProfileRepository;
     private final JwtService jwtService;
+    private final RefreshTokenStore refreshTokenStore;
+    private final RefreshCoalescer refreshCoalescer; // 같은 리프레시 토큰의 동시 갱신을 한 번으로 합침
+    private final TokenRevocationService tokenRevocationService;
+    private final UserSyncService userSyncService;
+    private final OAuth2ProviderGuard providerGuard; // 제공자별 서킷 브레이커 + 벌크헤드
+    private final OAuthStateStore stateStore;       // 리다이렉트 로그인 state / PKCE verifier
+    private final MeterRegistry meterRegistry;
+    private final Scheduler blockingScheduler; // 블로킹 DB 작업용 (가상 스레드 모드에서는 가상 스레드)
     
     // OAuth2ProviderService 구현체들을 Map으로 관리 (전략 패턴)
     private final Map<String, OAuth2ProviderService> oAuth2ProviderServices;
@@ -41,9 +52,19 @@ public class AuthService {
      */
 
     // AuthController에서 호출하는 새로운 메서드들
+    // 리다이렉트마다 state (PKCE 사용 제공자는 verifier 도)를 발급해 두고 콜백에서 확인
+    // 콜백은 state 쿠키가 있어야 성공하므로, 리다이렉트 응답에 쿠키를 붙이는 쪽은 아래 두 메서드를 사용
     public String getAuthorizationUrl(String provider) {
-        OAuth2ProviderService providerService = getProviderService(provider);
-        return providerService.getAuthorizationUrl();
+        return getAuthorizationUrl(issueAuthorization(provider, null));
+    }
+
+    // client: 요청 IP (state 발급 상한을 클라이언트별로 적용, null 이면 전체 상한만)
+    public PendingAuthorization issueAuthorization(String provider, String client) {
+        return stateStore.issue(getProviderService(provider).getId(), client);
+    }
+
+    public String getAuthorizationUrl(PendingAuthorization authorization) {
+        return getProviderService(authorization.getProvider()).getAuthorizationUrl(authorization);
     }
 
     // 기존 호환성을 위한 메서드 (deprecated)
@@ -62,57 +83,69 @@ public class AuthService {
         return providerService;
     }
 
-    @Transactional
-    public AuthResponse signInWithProvider(String provider, String code) {
-        OAuth2ProviderService providerService = getProviderService(provider);
-        
-        // 1. OAuth 제공자에서 사용자 정보 가져오기
-        String accessToken = providerService.getAccessToken(code);
-        UserInfoResponse userInfo = providerService.getUserInfo(accessToken);
-
-        // 2. 사용자 정보 DB와 동기화
-        boolean isNewUser = userRepository.findByEmail(userInfo.getEmail()).isEmpty();
-        Provider providerEnum = getProviderEnum(provider);
+    /**
+     * 로그인 전체를 하나의 리액티브 체인으로 구성합니다.
+     * 제공자 호출(토큰 교환 -> id_token 검증 또는 사용자 정보 조회)은 논블로킹으로 대기하므로 요청 스레드를 점유하지 않고,
+     * 블로킹 JPA 작업만 blockingScheduler(boundedElastic 또는 가상 스레드)에서 짧은 트랜잭션으로 실행합니다.
+     * 1. 제공자에서 사용자 정보 조회 (트랜잭션 없음 - 원격 왕복 동안 DB 커넥션을 잡지 않음)
+     * 2. 사용자/프로필 동기화 (짧은 쓰기 트랜잭션, UserSyncService)
+     * 3. 토큰 서명 (트랜잭션 없음)
+     * 단계별 소요 시간은 auth.signin.phase{phase=identity|sync|token} 로 기록합니다.
+     * @param provider OAuth 제공자 ID
+     * @param code 인증 코드
+     * @return 로그인 결과
+     */
+    public Mono<AuthResponse> signInWithProviderAsync(String provider, String code) {
+        return signInWithProviderAsync(provider, code, null);
+    }
 
-        User user = userRepository.findByEmail(userInfo.getEmail())
-               .map(existingUser -> {
-                    // 기존 유저: 이름 업데이트
-                    existingUser.updateName(userInfo.getName());
-                    return userRepository.save(existingUser);
+    /**
+     * 리다이렉트 콜백 로그인: 콜백에서 확인한 state / PKCE verifier 를 토큰 교환에 함께 사용합니다.
+     * @param provider OAuth 제공자 ID
+     * @param code 인증 코드
+     * @param authorization OAuthStateStore 에서 꺼낸 발급 정보 (없으면 null)
+     * @return 로그인 결과
+     */
+    public Mono<AuthResponse> signInWithProviderAsync(String provider, String code, PendingAuthorization authorization) {
+        return Mono.defer(() -> {
+                    OAuth2ProviderService providerService = getProviderService(provider);
+                    long start = System.nanoTime();
+                    return providerGuard.protect(provider, providerService.fetchIdentityAsync(code, authorization))
+                            .doOnSuccess(userInfo -> phaseTimer("identity")
+                                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
                 })
-               .orElseGet(() -> {
-                    // 신규 유저: DB에 저장
-                    return userRepository.save(User.builder()
-                           .email(userInfo.getEmail())
-                           .name(userInfo.getName())
-                           .provider(providerEnum)
-                           .providerId(userInfo.getId())
-                           .role(Role.USER)
-                           .build());
-                });
-
-        // 3. 신규 유저일 경우, 프로필 사진으로 프로필 자동 생성
-        if (isNewUser) {
-            createUserProfile(user, userInfo);
-        }
+                .publishOn(blockingScheduler) // 이후 DB 작업은 Netty 이벤트 루프가 아닌 별도 스레드에서
+                .map(userInfo -> completeSignIn(provider, userInfo));
+    }
 
-        // 4. JWT 토큰 생성 및 응답
-        String accessTokenJwt = jwtService.generateToken(user.getEmail(), user.getRole());
-        String refreshToken = jwtService.generateRefreshToken(user.getEmail());
+    private AuthResponse completeSignIn(String provider, UserInfoResponse userInfo) {
+        // 2. 사용자 정보 DB와 동기화 (신규 유저는 프로필 자동 생성) - 커넥션은 이 트랜잭션 동안만 사용
+        Provider providerEnum = getProviderEnum(provider);
+        User user = phaseTimer("sync").record(() -> userSyncService.sync(providerEnum, userInfo));
+
+        // 3. JWT 토큰 생성 및 응답
+        return phaseTimer("token").record(() -> {
+            String accessTokenJwt = jwtService.generateToken(user.getEmail(), user.getRole());
+            String refreshToken = refreshTokenStore.issue(user.getEmail()); // 새 로그인 = 새 토큰 family
+
+            return new AuthResponse(
+                    accessTokenJwt, refreshToken, "Bearer", 86400L,
+                    user.getEmail(), user.getName(), user.getRole()
+            );
+        });
+    }
 
-        return new AuthResponse(
-                accessTokenJwt, refreshToken, "Bearer", 86400L,
-                user.getEmail(), user.getName(), user.getRole()
-        );
-        // 이후 토큰 검사하는 부분은 JWT 필터 & 사이트 보안 전용 모듈(Spring Security)에서 처리함
-        // middleware, interceptor 등의 표현으로 Controller 이전 단계에서 우리 서비스를 위한 처리 준비를 수행
+    private Timer phaseTimer(String phase) {
+        return Timer.builder("auth.signin.phase")
+                .description("로그인 단계별 소요 시간")
+                .tag("phase", phase)
+                .register(meterRegistry); // 이미 등록된 타이머는 그대로 반환
     }
 
-    // 기존 호환성을 위한 메서드 (deprecated)
+    // 기존 호환성을 위한 메서드 (deprecated) - 비동기 체인을 호출 스레드에서 기다림
     @Deprecated
-    @Transactional
     public AuthResponse signInWithGoogle(String code) {
-        return signInWithProvider("google", code);
+        return signInWithProviderAsync("google", code).block();
     }
 
     private Provider getProviderEnum(String provider) {
@@ -121,47 +154,57 @@ public class AuthService {
         return Provider.valueOf(provider.toUpperCase());
     }
 
-    private void createUserProfile(User user, UserInfoResponse userInfo) {
-        UserProfile userProfile = UserProfile.builder()
-                .user(user)
-                .avatarUrl(userInfo.getPicture())
-                .build();
-        
-        userProfileRepository.save(userProfile);
-    }
+    public AuthResponse refreshToken(String refreshToken) {
+        // 1. 리프레시 토큰 서명/만료 검증 (DB 조회 이전에 한 번만 수행)
+        VerifiedToken verified;
+        try {
+            verified = jwtService.verify(refreshToken);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("유효하지 않은 리프레시 토큰입니다.", e);
+        }
+        if (tokenRevocationService.isRevoked(verified)) {
+            throw new RuntimeException("폐기된 리프레시 토큰입니다. 다시 로그인해 주세요.");
+        }
+        if (verified.getTokenId() == null) {
+            return rotate(verified); // jti 없는 토큰은 교체 단계에서 거부됨
+        }
 
-    // 기존 호환성을 위한 메서드 (deprecated)
-    @Deprecated
-    private void createUserProfileFromGoogle(User user, com.makersworld.oauth_inclass.dto.GoogleUserInfoResponse userInfo) {
-        UserInfoResponse genericUserInfo = UserInfoResponse.builder()
-                .id(userInfo.getId())
-                .email(userInfo.getEmail())
-                .name(userInfo.getName())
-                .picture(userInfo.getPicture())
-                .build();
-        createUserProfile(user, genericUserInfo);
+        // 여러 탭의 동시 갱신: 한 번만 교체/서명하고 같은 결과를 유예 기간 동안 재사용
+        return refreshCoalescer.coalesce(verified.getTokenId(), () -> rotate(verified));
     }
 
-    public AuthResponse refreshToken(String refreshToken) {
-        // 1. 리프레시 토큰에서 이메일 추출
-        String email = jwtService.extractEmail(refreshToken);
-        
-        // 2. 사용자 조회
-        User user = userRepository.findByEmail(email)
+    private AuthResponse rotate(VerifiedToken verified) {
+        // 2. 이전 jti 사용 처리 + 같은 family 의 새 리프레시 토큰 발급
+        //    (알 수 없는/폐기된/재사용된 토큰은 사용자 조회 전에 거부)
+        String newRefreshToken = refreshTokenStore.rotate(verified);
+
+        // 3. 검증된 주체(이메일)로 사용자 조회
+        User user = userRepository.findByEmail(verified.getSubject())
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
-        
-        // 3. 리프레시 토큰 유효성 검증
-        if (!jwtService.validateToken(refreshToken, email)) {
-            throw new RuntimeException("유효하지 않은 리프레시 토큰입니다.");
-        }
-        
-        // 4. 새로운 액세스 토큰과 리프레시 토큰 생성
+
+        // 4. 현재 역할로 새로운 액세스 토큰 생성
         String newAccessToken = jwtService.generateToken(user.getEmail(), user.getRole());
-        String newRefreshToken = jwtService.generateRefreshToken(user.getEmail());
         
         return new AuthResponse(
                 newAccessToken, newRefreshToken, "Bearer", 86400L,
                 user.getEmail(), user.getName(), user.getRole()
         );
     }
+
+    /**
+     * 토큰을 만료 전에 폐기합니다. (RFC 7009 형식)
+     * 유효하지 않거나 이미 만료된 토큰은 폐기할 필요가 없으므로 오류 없이 무시합니다.
+     * @param token 폐기할 액세스 토큰 또는 리프레시 토큰
+     */
+    public void revokeToken(String token) {
+        VerifiedToken verified;
+        try {
+            verified = jwtService.verify(token);
+        } catch (RuntimeException e) {
+            return;
+        }
+        if (verified.getTokenId() != null) {
+            tokenRevocationService.revoke(verified);
+        }
+    }
 }
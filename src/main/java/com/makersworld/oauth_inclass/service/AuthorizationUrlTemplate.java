@@ -0,0 +1,44 @@
+package com.makersworld.oauth_inclass.service;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * 제공자 인가 URL 템플릿
+ * 요청마다 바뀌지 않는 파라미터(client_id, redirect_uri, scope 등)는 시작 시 한 번만 URL 인코딩해 접두사로 만들어 두고,
+ * 리다이렉트마다 state 와 PKCE challenge 만 붙입니다. (둘 다 Base64URL 이라 인코딩 불필요)
+ */
+final class AuthorizationUrlTemplate {
+
+    private final String prefix;
+
+    /**
+     * @param authorizationUri 제공자 인가 엔드포인트
+     * @param parameters 고정 쿼리 파라미터 (순서 유지가 필요하면 LinkedHashMap)
+     */
+    AuthorizationUrlTemplate(String authorizationUri, Map<String, String> parameters) {
+        StringBuilder builder = new StringBuilder(authorizationUri);
+        char separator = authorizationUri.contains("?") ? '&' : '?';
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            builder.append(separator)
+                    .append(URLEncoder.encode(parameter.getKey(), StandardCharsets.UTF_8))
+                    .append('=')
+                    .append(URLEncoder.encode(parameter.getValue(), StandardCharsets.UTF_8));
+            separator = '&';
+        }
+        this.prefix = builder.toString();
+    }
+
+    // state 없이 고정 파라미터만 포함한 URL
+    String prefix() {
+        return prefix;
+    }
+
+    String build(String state, String codeChallenge) {
+        if (codeChallenge == null) {
+            return prefix + "&state=" + state;
+        }
+        return prefix + "&state=" + state + "&code_challenge=" + codeChallenge + "&code_challenge_method=S256";
+    }
+}
@@ -0,0 +1,19 @@
+package com.makersworld.oauth_inclass.service;
+
+/**
+ * 일괄 요청(토큰 발급/검사)의 건수가 설정된 최대 건수를 넘었을 때의 예외
+ * 컨트롤러는 처리(스트리밍 응답 포함)를 시작하기 전에 크기를 확인하고, 이 예외를 413 으로 응답합니다.
+ */
+public class BatchTooLargeException extends RuntimeException {
+
+    private final int maxSize;
+
+    public BatchTooLargeException(String message, int maxSize) {
+        super(message);
+        this.maxSize = maxSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+}
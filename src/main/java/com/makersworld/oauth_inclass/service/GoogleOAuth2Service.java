@@ -1,16 +1,28 @@
 package com.makersworld.oauth_inclass.service;
 
+import com.makersworld.oauth_inclass.config.OAuth2WebClients;
 import com.makersworld.oauth_inclass.dto.GoogleTokenResponse;
-import com.makersworld.oauth_inclass.dto.GoogleUserInfoResponse;
 import com.makersworld.oauth_inclass.dto.UserInfoResponse;
+import com.makersworld.oauth_inclass.security.OidcIdTokenVerifier;
+import com.makersworld.oauth_inclass.security.PendingAuthorization;
+import com.nimbusds.jwt.JWTClaimsSet;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
 @Service("google")
 @RequiredArgsConstructor
 public class GoogleOAuth2Service implements OAuth2ProviderService {
@@ -25,7 +37,39 @@ public class GoogleOAuth2Service implements OAuth2ProviderService {
     @Value("${spring.security.oauth2.client.registration.google.scope}")
     private String scope;
 
-    private final WebClient webClient; // 비동기 HTTP 통신을 위한 클라이언트
+    // 제공자 엔드포인트 (부하 테스트 시 로컬 스텁으로 교체 가능)
+    @Value("${spring.security.oauth2.client.provider.google.authorization-uri}")
+    private String authorizationUri;
+    @Value("${spring.security.oauth2.client.provider.google.token-uri}")
+    private String tokenUri;
+    @Value("${spring.security.oauth2.client.provider.google.user-info-uri}")
+    private String userInfoUri;
+    @Value("${spring.security.oauth2.client.provider.google.jwk-set-uri}")
+    private String jwkSetUri;              // OIDC: id_token 서명 공개키 주소
+    @Value("${spring.security.oauth2.client.provider.google.issuer-uri}")
+    private String issuerUri;              // OIDC: id_token 발급자
+
+    private Set<String> issuers;
+    private AuthorizationUrlTemplate authorizationUrl;
+
+    private final OAuth2WebClients webClients; // 제공자별 커넥션 풀을 가진 비동기 HTTP 클라이언트
+    private final OAuth2RequestHedger requestHedger;
+    private final OidcIdTokenVerifier idTokenVerifier;
+
+    @PostConstruct
+    void init() {
+        // Google 은 iss 에 스킴 없는 형태(accounts.google.com)도 사용
+        issuers = Set.copyOf(List.of(issuerUri, issuerUri.replaceFirst("^https?://", "")));
+
+        // 고정 파라미터는 한 번만 인코딩 (리다이렉트마다 state / PKCE 만 추가)
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put("client_id", clientId);
+        parameters.put("redirect_uri", redirectUri);
+        parameters.put("response_type", "code");
+        parameters.put("scope", scope.replace(",", " "));
+        parameters.put("access_type", "offline");
+        authorizationUrl = new AuthorizationUrlTemplate(authorizationUri, parameters);
+    }
 
     @Override
     public String getId() {
@@ -34,65 +78,101 @@ public class GoogleOAuth2Service implements OAuth2ProviderService {
 
     @Override
     public String getAuthorizationUrl() {
-        return "https://accounts.google.com/o/oauth2/v2/auth" +
-                "?client_id=" + clientId +
-                "&redirect_uri=" + redirectUri +
-                "&response_type=code" +
-                "&scope=" + scope.replace(",", " ") +
-                "&access_type=offline";
+        return authorizationUrl.prefix();
+    }
+
+    @Override
+    public String getAuthorizationUrl(PendingAuthorization authorization) {
+        return authorizationUrl.build(authorization.getState(), authorization.getCodeChallenge());
     }
 
     // 1. 인증 코드로 Google에 액세스 토큰 요청
     @Override
-    public String getAccessToken(String code) {
-        String tokenUri = "https://oauth2.googleapis.com/token";
+    public Mono<String> getAccessTokenAsync(String code) {
+        return exchangeCode(code, null)
+                // block 하지 않고 Mono 를 그대로 반환 (promise/future 와 유사, 구독 시점에 요청 수행)
+                .flatMap(response -> Mono.justOrEmpty(response.getAccessToken()))
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Failed to get access token from Google")));
+    }
 
+    /**
+     * 토큰 응답의 id_token 을 로컬 검증해 사용자 정보를 만듭니다. (userinfo 왕복 생략)
+     * id_token 이 없거나, 이메일 클레임이 없거나 확인되지 않았거나(email_verified != true), 검증에 실패하면
+     * 액세스 토큰으로 userinfo 를 호출합니다. userinfo 도 verified_email 이 true 가 아니면 로그인을 거부합니다.
+     */
+    @Override
+    public Mono<UserInfoResponse> fetchIdentityAsync(String code) {
+        return fetchIdentityAsync(code, null);
+    }
+
+    @Override
+    public Mono<UserInfoResponse> fetchIdentityAsync(String code, PendingAuthorization authorization) {
+        String codeVerifier = authorization != null ? authorization.getCodeVerifier() : null;
+        return exchangeCode(code, codeVerifier).flatMap(response -> {
+            if (response.getAccessToken() == null) {
+                return Mono.error(new RuntimeException("Failed to get access token from Google"));
+            }
+            Mono<UserInfoResponse> fromUserInfo = Mono.defer(() -> getUserInfoAsync(response.getAccessToken()));
+            if (response.getIdToken() == null || !idTokenVerifier.isEnabled()) {
+                return fromUserInfo;
+            }
+            return idTokenVerifier.verify(getId(), jwkSetUri, issuers, clientId, response.getIdToken())
+                    .filter(claims -> claims.getClaim("email") != null && isEmailVerified(claims))
+                    .map(this::toUserInfo)
+                    .onErrorResume(e -> {
+                        log.warn("Google id_token 검증 실패 - userinfo 로 대체합니다: {}", e.getMessage());
+                        return Mono.empty();
+                    })
+                    .switchIfEmpty(fromUserInfo);
+        });
+    }
+
+    private Mono<GoogleTokenResponse> exchangeCode(String code, String codeVerifier) {
         MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
         params.add("code", code);                        // 인증 코드 (사용자 브라우저에서 수신)
         params.add("client_id", clientId);               // 클라이언트 ID (Google 클라이언트 설정에서 발급받은 값 -> 백엔드에서 관리)
         params.add("client_secret", clientSecret);       // 클라이언트 시크릿 (Google 클라이언트 설정에서 발급받은 값 -> 백엔드에서 관리)
         params.add("redirect_uri", redirectUri);         // 리다이렉트 URI (Google 클라이언트 설정에서 발급받은 값 -> 백엔드에서 구현)
         params.add("grant_type", "authorization_code");  // 권한 유형 (인증 코드 교환)
+        if (codeVerifier != null) {
+            params.add("code_verifier", codeVerifier);   // PKCE verifier (리다이렉트 시 보낸 challenge 의 원본)
+        }
 
-        GoogleTokenResponse response = webClient.post()
+        return webClients.get(getId()).post()
                 .uri(tokenUri)
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                 .bodyValue(params)
                 .retrieve() // 응답을 받아옴
-                .bodyToMono(GoogleTokenResponse.class) // 응답 본문을 GoogleTokenResponse 객체로 변환
-                .block(); // 비동기 작업이 끝날 때까지 대기
-                // 향후 block 대신 비동기 처리를 위해 Mono를 사용할 수 있음
-                // Mono 객체는 promise, future 객체와 유사한 비동기 처리 기능을 제공함
-                // 나중에, 미래에 blocking 방식으로 데이터를 요청할 수 있는 요청 포인트 객체로 사용됨
-
-        if (response == null) {
-            throw new RuntimeException("Failed to get access token from Google");
-        }
-        return response.getAccessToken();
+                .bodyToMono(GoogleTokenResponse.class); // 응답 본문을 GoogleTokenResponse 객체로 변환
     }
 
     // 2. 액세스 토큰으로 Google에 사용자 정보 요청
     @Override
-    public UserInfoResponse getUserInfo(String accessToken) {
-        String userInfoUri = "https://www.googleapis.com/oauth2/v2/userinfo";
-
-        GoogleUserInfoResponse googleResponse = webClient.get()
-                .uri(userInfoUri)
-                .headers(headers -> headers.setBearerAuth(accessToken)) // 헤더에 Bearer 토큰 추가
-                .retrieve()
-                .bodyToMono(GoogleUserInfoResponse.class)
-                .block();
-
-        if (googleResponse == null) {
-            throw new RuntimeException("Failed to get user info from Google");
-        }
-        
-        // GoogleUserInfoResponse를 범용 UserInfoResponse로 변환
+    public Mono<UserInfoResponse> getUserInfoAsync(String accessToken) {
+        // 멱등 GET 이므로 느리면 한 번 더 보내고 먼저 온 응답 사용 (전역 예산 안에서)
+        return requestHedger.hedge(getId(), () -> webClients.get(getId()).get()
+                        .uri(userInfoUri)
+                        .headers(headers -> headers.setBearerAuth(accessToken)) // 헤더에 Bearer 토큰 추가
+                        .retrieve()
+                        .bodyToFlux(DataBuffer.class)
+                        .as(body -> UserInfoJsonDecoder.decode(body, UserInfoJsonDecoder::google))) // 필요한 필드만 스트리밍으로 읽음
+                // 이메일이 없거나 확인되지 않은 계정은 빈 응답 -> 로그인 거부 (이메일로 기존 계정에 연결되지 않도록)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Failed to get verified user info from Google")));
+    }
+
+    // 확인되지 않은 이메일로는 계정을 만들거나 기존 계정에 연결하지 않음 (boolean 또는 "true" 문자열)
+    private static boolean isEmailVerified(JWTClaimsSet claims) {
+        Object verified = claims.getClaim("email_verified");
+        return Boolean.TRUE.equals(verified) || "true".equals(verified);
+    }
+
+    private UserInfoResponse toUserInfo(JWTClaimsSet claims) {
+        // id_token 클레임 (scope: openid, profile, email) -> 범용 UserInfoResponse
         return UserInfoResponse.builder()
-                .id(googleResponse.getId())
-                .email(googleResponse.getEmail())
-                .name(googleResponse.getName())
-                .picture(googleResponse.getPicture())
+                .id(claims.getSubject())
+                .email((String) claims.getClaim("email"))
+                .name((String) claims.getClaim("name"))
+                .picture((String) claims.getClaim("picture"))
                 .build();
     }
 
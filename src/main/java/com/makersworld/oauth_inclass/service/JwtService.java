@@ -2,23 +2,27 @@ package com.makersworld.oauth_inclass.service;
 
 import com.makersworld.oauth_inclass.config.JwtKeyProvider;
 import com.makersworld.oauth_inclass.config.JwtProperties;
+import com.makersworld.oauth_inclass.config.SigningKey;
 import com.makersworld.oauth_inclass.enums.Role;
+import com.makersworld.oauth_inclass.security.VerifiedToken;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.ProtectedHeader;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
  * JWT 토큰 생성, 검증 및 파싱을 담당하는 서비스
- * RSA 비대칭 암호화를 사용하여 보안성을 향상시킵니다.
+ * 비대칭 암호화(RS256 / ES256 / EdDSA)를 사용하여 보안성을 향상시킵니다.
  */
 @Slf4j
 @Service
@@ -28,20 +32,36 @@ public class JwtService {
     private final JwtProperties jwtProperties;
     private final JwtKeyProvider jwtKeyProvider;
 
+    // 파서는 불변/스레드 안전하므로 한 번만 생성해서 재사용 (요청마다 Jwts.parser() 빌드 비용 제거)
+    private JwtParser jwtParser;
+
+    // 헤더를 미리 인코딩해 두고 버퍼를 재사용하는 발급용 인코더
+    private final JwtTokenEncoder tokenEncoder = new JwtTokenEncoder();
+
     /**
-     * JWT 토큰 서명에 사용할 개인키를 반환합니다.
-     * @return RSA 개인키
+     * 검증용 파서를 한 번만 생성합니다.
+     * 키는 파싱 시점마다 헤더의 kid 로 조회하므로 키가 교체되어도 파서를 다시 만들 필요가 없습니다.
      */
-    private PrivateKey getSigningKey() {
-        return jwtKeyProvider.getPrivateKey();
+    @PostConstruct
+    void initParser() {
+        this.jwtParser = Jwts.parser()
+                .keyLocator(header -> getVerifyingKey( // kid 에 맞는 공개키로 검증 (헤더 alg와 키 종류가 일치해야 함)
+                        header instanceof ProtectedHeader ? ((ProtectedHeader) header).getKeyId() : null))
+                .build();
     }
 
     /**
-     * JWT 토큰 검증에 사용할 공개키를 반환합니다.
-     * @return RSA 공개키
+     * 토큰 헤더의 kid 로 검증에 사용할 공개키를 찾습니다. (키 묶음 스냅샷의 O(1) 조회)
+     * @param kid 키 식별자 (없으면 현재 서명 키)
+     * @return 공개키
+     * @throws JwtException 알 수 없는 kid 인 경우 (보관 기간이 지난 키 등)
      */
-    private PublicKey getVerifyingKey() {
-        return jwtKeyProvider.getPublicKey();
+    private PublicKey getVerifyingKey(String kid) {
+        SigningKey key = jwtKeyProvider.getVerificationKey(kid);
+        if (key == null) {
+            throw new JwtException("알 수 없는 서명 키입니다: kid=" + kid);
+        }
+        return key.getPublicKey();
     }
 
     /**
@@ -51,48 +71,34 @@ public class JwtService {
      * @return JWT 액세스 토큰
      */
     public String generateToken(String email, Role role) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("role", role.name());
-        return createToken(claims, email);
+        // jti 는 만료 전 폐기(TokenRevocationService)에 사용
+        return createToken(email, role.name(), UUID.randomUUID().toString(), jwtProperties.getExpirationMs());
     }
 
     /**
-     * 이메일로 리프레시 토큰을 생성합니다.
+     * 이메일과 토큰 식별자로 리프레시 토큰을 생성합니다.
+     * 식별자는 RefreshTokenStore 가 발급/교체 시 부여하며, 저장소에 등록되지 않은 jti 는 갱신에 사용할 수 없습니다.
      * @param email 사용자 이메일
+     * @param tokenId 리프레시 토큰 식별자 (jti)
      * @return JWT 리프레시 토큰
      */
-    public String generateRefreshToken(String email) {
-        return createToken(new HashMap<>(), email, jwtProperties.getRefreshExpiration());
-    }
-
-    /**
-     * 기본 만료시간으로 토큰을 생성합니다.
-     * @param claims 토큰에 포함할 클레임
-     * @param subject 토큰 주체 (이메일)
-     * @return JWT 토큰
-     */
-    private String createToken(Map<String, Object> claims, String subject) {
-        return createToken(claims, subject, jwtProperties.getExpirationMs());
+    public String generateRefreshToken(String email, String tokenId) {
+        return createToken(email, null, tokenId, jwtProperties.getRefreshExpiration());
     }
 
     /**
      * 지정된 만료시간으로 토큰을 생성합니다.
-     * @param claims 토큰에 포함할 클레임
+     * 클레임 Map/Date/헤더 직렬화 없이 템플릿 인코더로 sub/role/iat/exp 만 채워 서명합니다.
      * @param subject 토큰 주체 (이메일)
+     * @param role 역할 클레임 (없으면 null)
+     * @param tokenId jti 클레임 (없으면 null)
      * @param expiration 만료시간 (밀리초)
      * @return JWT 토큰
      */
-    private String createToken(Map<String, Object> claims, String subject, long expiration) {
-        Date now = new Date(System.currentTimeMillis());
-        Date expiryDate = new Date(now.getTime() + expiration);
-
-        return Jwts.builder()
-                .claims(claims)
-                .subject(subject)
-                .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(getSigningKey()) // RSA 개인키로 서명
-                .compact();
+    private String createToken(String subject, String role, String tokenId, long expiration) {
+        long now = System.currentTimeMillis();
+        SigningKey signingKey = jwtKeyProvider.getActiveKey(); // kid 와 개인키를 같은 스냅샷에서 읽음
+        return tokenEncoder.encode(signingKey, subject, role, tokenId, now / 1000, (now + expiration) / 1000);
     }
 
     /**
@@ -103,14 +109,32 @@ public class JwtService {
      */
     public Boolean validateToken(String token, String email) {
         try {
-            final String username = extractEmail(token);
-            return (username.equals(email) && !isTokenExpired(token));
+            final VerifiedToken verified = verify(token);
+            return (verified.getSubject().equals(email) && !verified.isExpired());
         } catch (Exception e) {
             log.debug("토큰 검증 실패: {}", e.getMessage());
             return false;
         }
     }
-    // validateToken -> extractEmail -> extractClaim -> extractAllClaims -> getVerifyingKey(RSA 공개키) -> isTokenExpired -> extractExpiration
+    // validateToken -> verify -> extractAllClaims (서명 검증 1회) -> 주체/만료시간 비교
+
+    /**
+     * 토큰을 한 번만 파싱/서명 검증하고 주체, 역할, jti, 발급/만료 시각을 함께 반환합니다.
+     * 만료된 토큰이나 서명이 올바르지 않은 토큰은 파싱 단계에서 거부됩니다.
+     * @param token JWT 토큰
+     * @return 검증된 토큰 정보
+     * @throws RuntimeException 토큰 파싱 또는 검증 실패 시
+     */
+    public VerifiedToken verify(String token) {
+        final Claims claims = extractAllClaims(token);
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.getId(),
+                claims.getIssuedAt(),
+                claims.getExpiration()
+        );
+    }
 
     /**
      * 토큰에서 이메일을 추출합니다.
@@ -172,35 +196,19 @@ public class JwtService {
 
     /**
      * 토큰에서 모든 클레임을 추출합니다.
-     * RSA 공개키를 사용하여 토큰을 검증합니다.
+     * 공개키를 사용하여 토큰 서명을 검증합니다.
      * @param token JWT 토큰
      * @return 클레임 객체
      * @throws RuntimeException 토큰 파싱 또는 검증 실패 시
      */
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getVerifyingKey()) // RSA 공개키로 검증
-                    .build()
-                    .parseSignedClaims(token)
+            return jwtParser
+                    .parseSignedClaims(token) // 미리 생성한 파서로 서명 검증
                     .getPayload();
         } catch (Exception e) {
             log.debug("JWT 토큰 파싱 실패: {}", e.getMessage());
             throw new RuntimeException("Invalid JWT token", e);
         }
     }
-
-    /**
-     * 토큰이 만료되었는지 확인합니다.
-     * @param token JWT 토큰
-     * @return 만료 여부
-     */
-    private Boolean isTokenExpired(String token) {
-        try {
-            return extractExpiration(token).before(new Date());
-        } catch (Exception e) {
-            log.debug("토큰 만료 확인 실패: {}", e.getMessage());
-            return true; // 오류 시 만료된 것으로 처리
-        }
-    }
 }
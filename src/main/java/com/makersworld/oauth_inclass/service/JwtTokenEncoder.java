@@ -0,0 +1,318 @@
+package com.makersworld.oauth_inclass.service;
+
+import com.makersworld.oauth_inclass.config.SigningKey;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Signature;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * 템플릿 기반 JWT 인코더 (토큰 발급 핫패스 전용)
+ *
+ * jjwt 빌더는 토큰마다 클레임 Map, Date, 헤더 직렬화, Base64 인코딩 결과 문자열을 새로 만듭니다.
+ * 이 인코더는 서명 키별로 Base64URL 헤더를 한 번만 만들어 두고,
+ * 재사용하는 버퍼에 sub/role/jti/iat/exp 만 채워 넣은 뒤 서명합니다.
+ *
+ * 버퍼와 Signature 는 ThreadLocal 대신 크기가 제한된 풀에서 빌려 씁니다.
+ * 가상 스레드는 요청마다 새로 만들어지므로 ThreadLocal 캐시가 재사용되지 않고 요청마다 initSign 이 다시 실행되기 때문입니다.
+ *
+ * 출력 형식은 JwtService 가 jjwt 빌더로 만들던 토큰과 같습니다.
+ * - 헤더: {"kid":"...","alg":"..."}
+ * - 액세스 토큰 페이로드: {"role":"...","sub":"...","jti":"...","iat":...,"exp":...}
+ * - 리프레시 토큰 페이로드: {"sub":"...","jti":"...","iat":...,"exp":...}
+ */
+public final class JwtTokenEncoder {
+
+    private static final byte[] BASE64_URL =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII); // Jackson 과 같은 대문자 (\u001F)
+
+    // 동시에 서명하는 스레드 수 이상은 보관할 필요가 없음 (서명은 CPU 작업)
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+    // 재사용 작업 버퍼 (페이로드 JSON / 최종 토큰)
+    private static final Pool<Buffers> BUFFERS = new Pool<>(Buffers::new);
+
+    // 마지막으로 사용한 서명 키의 템플릿 (키가 교체되면 다시 만듦)
+    private volatile Template template;
+
+    /**
+     * 토큰을 인코딩하고 서명합니다.
+     * @param key 서명 키
+     * @param subject 토큰 주체 (이메일)
+     * @param role 역할 클레임 (리프레시 토큰은 null)
+     * @param issuedAtSeconds 발급 시각 (epoch 초)
+     * @param expirationSeconds 만료 시각 (epoch 초)
+     * @return 서명된 JWT 문자열
+     */
+    public String encode(SigningKey key, String subject, String role, long issuedAtSeconds, long expirationSeconds) {
+        return encode(key, subject, role, null, issuedAtSeconds, expirationSeconds);
+    }
+
+    /**
+     * 토큰 식별자(jti)를 포함하여 토큰을 인코딩하고 서명합니다.
+     * @param key 서명 키
+     * @param subject 토큰 주체 (이메일)
+     * @param role 역할 클레임 (리프레시 토큰은 null)
+     * @param tokenId jti 클레임 (없으면 null)
+     * @param issuedAtSeconds 발급 시각 (epoch 초)
+     * @param expirationSeconds 만료 시각 (epoch 초)
+     * @return 서명된 JWT 문자열
+     */
+    public String encode(SigningKey key, String subject, String role, String tokenId,
+                         long issuedAtSeconds, long expirationSeconds) {
+        Template current = templateFor(key);
+        Buffers buffers = BUFFERS.borrow();
+        try {
+            return encode(current, buffers, subject, role, tokenId, issuedAtSeconds, expirationSeconds);
+        } finally {
+            BUFFERS.release(buffers);
+        }
+    }
+
+    private String encode(Template current, Buffers buffers, String subject, String role, String tokenId,
+                          long issuedAtSeconds, long expirationSeconds) {
+        // 1. 페이로드 JSON 작성 (jjwt 빌더와 같은 클레임 순서)
+        Sink json = buffers.json.reset();
+        json.ascii('{');
+        if (role != null) {
+            json.ascii("\"role\":").string(role).ascii(',');
+        }
+        json.ascii("\"sub\":").string(subject);
+        if (tokenId != null) {
+            json.ascii(",\"jti\":").string(tokenId);
+        }
+        json.ascii(",\"iat\":").number(issuedAtSeconds)
+                .ascii(",\"exp\":").number(expirationSeconds)
+                .ascii('}');
+
+        // 2. 서명 입력 = Base64URL(헤더) + '.' + Base64URL(페이로드)
+        Sink out = buffers.out.reset();
+        out.bytes(current.encodedHeader).ascii('.').base64Url(json.buf, 0, json.len);
+        int signingInputLength = out.len;
+
+        // 3. 서명 후 '.' + Base64URL(서명) 추가
+        byte[] signature;
+        Signature signer = current.signers.borrow();
+        try {
+            signer.update(out.buf, 0, signingInputLength);
+            signature = signer.sign(); // sign() 이후 Signature 는 initSign 직후 상태로 재사용 가능
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("JWT 서명에 실패했습니다.", e); // 상태를 알 수 없는 Signature 는 반납하지 않음
+        }
+        current.signers.release(signer);
+        out.ascii('.').base64Url(signature, 0, signature.length);
+
+        return new String(out.buf, 0, out.len, StandardCharsets.ISO_8859_1); // 모두 ASCII 문자
+    }
+
+    private Template templateFor(SigningKey key) {
+        Template current = this.template;
+        if (current == null || current.key != key) {
+            current = new Template(key);
+            this.template = current;
+        }
+        return current;
+    }
+
+    /**
+     * 서명 키 하나에 대한 미리 계산된 헤더와 재사용 Signature 인스턴스
+     */
+    private static final class Template {
+        private final SigningKey key;
+        private final byte[] encodedHeader;
+        private final Pool<Signature> signers;
+
+        Template(SigningKey key) {
+            this.key = key;
+
+            Sink header = new Sink();
+            header.ascii("{\"kid\":").string(key.getKid())
+                    .ascii(",\"alg\":").string(key.getAlgorithm().name())
+                    .ascii('}');
+            Sink encoded = new Sink();
+            encoded.base64Url(header.buf, 0, header.len);
+            this.encodedHeader = Arrays.copyOf(encoded.buf, encoded.len);
+
+            this.signers = new Pool<>(() -> {
+                try {
+                    Signature signature = Signature.getInstance(key.getAlgorithm().getJcaAlgorithm());
+                    signature.initSign(key.getPrivateKey());
+                    return signature;
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("JWT 서명기를 초기화하지 못했습니다.", e);
+                }
+            });
+        }
+    }
+
+    private static final class Buffers {
+        private final Sink json = new Sink();
+        private final Sink out = new Sink();
+    }
+
+    /**
+     * 크기가 제한된 객체 풀 (비어 있으면 새로 만들고, 가득 차 있으면 반납된 객체를 버림)
+     * ArrayBlockingQueue 는 ReentrantLock 기반이므로 가상 스레드를 캐리어 스레드에 고정(pinning)하지 않습니다.
+     */
+    private static final class Pool<T> {
+        private final ArrayBlockingQueue<T> idle = new ArrayBlockingQueue<>(POOL_SIZE);
+        private final Supplier<T> factory;
+
+        Pool(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        T borrow() {
+            T value = idle.poll();
+            return value != null ? value : factory.get();
+        }
+
+        void release(T value) {
+            idle.offer(value);
+        }
+    }
+
+    /**
+     * 필요할 때만 늘어나는 재사용 바이트 버퍼
+     */
+    private static final class Sink {
+        private byte[] buf = new byte[512];
+        private int len;
+
+        Sink reset() {
+            len = 0;
+            return this;
+        }
+
+        private void ensure(int extra) {
+            if (len + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + extra));
+            }
+        }
+
+        Sink ascii(char c) {
+            ensure(1);
+            buf[len++] = (byte) c;
+            return this;
+        }
+
+        Sink ascii(String s) {
+            int n = s.length();
+            ensure(n);
+            for (int i = 0; i < n; i++) {
+                buf[len++] = (byte) s.charAt(i);
+            }
+            return this;
+        }
+
+        Sink bytes(byte[] src) {
+            ensure(src.length);
+            System.arraycopy(src, 0, buf, len, src.length);
+            len += src.length;
+            return this;
+        }
+
+        /**
+         * 0 이상의 정수(epoch 초)를 문자열 할당 없이 씁니다.
+         */
+        Sink number(long value) {
+            ensure(20);
+            int start = len;
+            do {
+                buf[len++] = (byte) ('0' + (value % 10));
+                value /= 10;
+            } while (value > 0);
+            for (int i = start, j = len - 1; i < j; i++, j--) {
+                byte tmp = buf[i];
+                buf[i] = buf[j];
+                buf[j] = tmp;
+            }
+            return this;
+        }
+
+        /**
+         * JSON 문자열 리터럴을 UTF-8 로 씁니다. (Jackson 기본 이스케이프 규칙과 동일)
+         */
+        Sink string(String s) {
+            int n = s.length();
+            ensure(n * 6 + 2);
+            buf[len++] = '"';
+            for (int i = 0; i < n; i++) {
+                char c = s.charAt(i);
+                if (c == '"' || c == '\\') {
+                    buf[len++] = '\\';
+                    buf[len++] = (byte) c;
+                } else if (c < 0x20) {
+                    escapeControl(c);
+                } else if (c < 0x80) {
+                    buf[len++] = (byte) c;
+                } else if (c < 0x800) {
+                    buf[len++] = (byte) (0xC0 | (c >> 6));
+                    buf[len++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    buf[len++] = (byte) (0xF0 | (cp >> 18));
+                    buf[len++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    buf[len++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    buf[len++] = (byte) (0x80 | (cp & 0x3F));
+                } else {
+                    buf[len++] = (byte) (0xE0 | (c >> 12));
+                    buf[len++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buf[len++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            buf[len++] = '"';
+            return this;
+        }
+
+        private void escapeControl(char c) {
+            buf[len++] = '\\';
+            switch (c) {
+                case '\b': buf[len++] = 'b'; break;
+                case '\t': buf[len++] = 't'; break;
+                case '\n': buf[len++] = 'n'; break;
+                case '\f': buf[len++] = 'f'; break;
+                case '\r': buf[len++] = 'r'; break;
+                default:
+                    buf[len++] = 'u';
+                    buf[len++] = '0';
+                    buf[len++] = '0';
+                    buf[len++] = HEX[c >> 4];
+                    buf[len++] = HEX[c & 0xF];
+            }
+        }
+
+        /**
+         * Base64URL(패딩 없음)로 인코딩하여 씁니다.
+         */
+        Sink base64Url(byte[] src, int off, int length) {
+            ensure((length + 2) / 3 * 4);
+            int end = off + length;
+            int i = off;
+            while (i + 3 <= end) {
+                int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+                buf[len++] = BASE64_URL[(bits >>> 18) & 0x3F];
+                buf[len++] = BASE64_URL[(bits >>> 12) & 0x3F];
+                buf[len++] = BASE64_URL[(bits >>> 6) & 0x3F];
+                buf[len++] = BASE64_URL[bits & 0x3F];
+                i += 3;
+            }
+            int remaining = end - i;
+            if (remaining == 1) {
+                int bits = (src[i] & 0xFF) << 16;
+                buf[len++] = BASE64_URL[(bits >>> 18) & 0x3F];
+                buf[len++] = BASE64_URL[(bits >>> 12) & 0x3F];
+            } else if (remaining == 2) {
+                int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8;
+                buf[len++] = BASE64_URL[(bits >>> 18) & 0x3F];
+                buf[len++] = BASE64_URL[(bits >>> 12) & 0x3F];
+                buf[len++] = BASE64_URL[(bits >>> 6) & 0x3F];
+            }
+            return this;
+        }
+    }
+}
@@ -1,16 +1,28 @@
 package com.makersworld.oauth_inclass.service;
 
+import com.makersworld.oauth_inclass.config.OAuth2WebClients;
 import com.makersworld.oauth_inclass.dto.KakaoTokenResponse;
 import com.makersworld.oauth_inclass.dto.KakaoUserInfoResponse;
 import com.makersworld.oauth_inclass.dto.UserInfoResponse;
+import com.makersworld.oauth_inclass.security.OidcIdTokenVerifier;
+import com.makersworld.oauth_inclass.security.PendingAuthorization;
+import com.nimbusds.jwt.JWTClaimsSet;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
 @Service("kakao")
 @RequiredArgsConstructor
 public class KakaoOAuth2Service implements OAuth2ProviderService {
@@ -23,7 +35,33 @@ public class KakaoOAuth2Service implements OAuth2ProviderService {
     @Value("${spring.security.oauth2.client.registration.kakao.redirect-uri}")
     private String redirectUri;
 
-    private final WebClient webClient; // 비동기 HTTP 통신을 위한 클라이언트
+    // 제공자 엔드포인트 (부하 테스트 시 로컬 스텁으로 교체 가능)
+    @Value("${spring.security.oauth2.client.provider.kakao.authorization-uri}")
+    private String authorizationUri;
+    @Value("${spring.security.oauth2.client.provider.kakao.token-uri}")
+    private String tokenUri;
+    @Value("${spring.security.oauth2.client.provider.kakao.user-info-uri}")
+    private String userInfoUri;
+    @Value("${spring.security.oauth2.client.provider.kakao.jwk-set-uri}")
+    private String jwkSetUri;              // OIDC: id_token 서명 공개키 주소
+    @Value("${spring.security.oauth2.client.provider.kakao.issuer-uri}")
+    private String issuerUri;              // OIDC: id_token 발급자
+
+    private final OAuth2WebClients webClients; // 제공자별 커넥션 풀을 가진 비동기 HTTP 클라이언트
+    private final OAuth2RequestHedger requestHedger;
+    private final OidcIdTokenVerifier idTokenVerifier;
+
+    private AuthorizationUrlTemplate authorizationUrl;
+
+    @PostConstruct
+    void init() {
+        // 고정 파라미터는 한 번만 인코딩 (리다이렉트마다 state / PKCE 만 추가)
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put("client_id", clientId);
+        parameters.put("redirect_uri", redirectUri);
+        parameters.put("response_type", "code");
+        authorizationUrl = new AuthorizationUrlTemplate(authorizationUri, parameters);
+    }
 
     @Override
     public String getId() {
@@ -32,74 +70,104 @@ public class KakaoOAuth2Service implements OAuth2ProviderService {
 
     @Override
     public String getAuthorizationUrl() {
-        return "https://kauth.kakao.com/oauth/authorize" +
-                "?client_id=" + clientId +
-                "&redirect_uri=" + redirectUri +
-                "&response_type=code";
+        return authorizationUrl.prefix();
+    }
+
+    @Override
+    public String getAuthorizationUrl(PendingAuthorization authorization) {
+        return authorizationUrl.build(authorization.getState(), authorization.getCodeChallenge());
     }
 
     // 1. 인증 코드로 Kakao에 액세스 토큰 요청
     @Override
-    public String getAccessToken(String code) {
-        String tokenUri = "https://kauth.kakao.com/oauth/token";
+    public Mono<String> getAccessTokenAsync(String code) {
+        return exchangeCode(code, null)
+                .flatMap(response -> Mono.justOrEmpty(response.getAccessToken()))
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Failed to get access token from Kakao")));
+    }
 
+    /**
+     * OIDC 를 활성화한 앱(scope 에 openid 포함)은 토큰 응답의 id_token 을 로컬 검증해 사용자 정보를 만듭니다. (userinfo 왕복 생략)
+     * id_token 이 없거나, 이메일 클레임이 없거나(동의하지 않은 경우), 검증에 실패하면 액세스 토큰으로 userinfo 를 호출합니다.
+     * (이메일 없이 만들면 임시 이메일 계정이 생기므로 id_token 만으로는 로그인하지 않음)
+     */
+    @Override
+    public Mono<UserInfoResponse> fetchIdentityAsync(String code) {
+        return fetchIdentityAsync(code, null);
+    }
+
+    @Override
+    public Mono<UserInfoResponse> fetchIdentityAsync(String code, PendingAuthorization authorization) {
+        String codeVerifier = authorization != null ? authorization.getCodeVerifier() : null;
+        return exchangeCode(code, codeVerifier).flatMap(response -> {
+            if (response.getAccessToken() == null) {
+                return Mono.error(new RuntimeException("Failed to get access token from Kakao"));
+            }
+            Mono<UserInfoResponse> fromUserInfo = Mono.defer(() -> getUserInfoAsync(response.getAccessToken()));
+            if (response.getIdToken() == null || !idTokenVerifier.isEnabled()) {
+                return fromUserInfo;
+            }
+            return idTokenVerifier.verify(getId(), jwkSetUri, Set.of(issuerUri), clientId, response.getIdToken())
+                    .filter(claims -> claims.getClaim("email") != null)
+                    .map(this::toUserInfo)
+                    .onErrorResume(e -> {
+                        log.warn("Kakao id_token 검증 실패 - userinfo 로 대체합니다: {}", e.getMessage());
+                        return Mono.empty();
+                    })
+                    .switchIfEmpty(fromUserInfo);
+        });
+    }
+
+    private Mono<KakaoTokenResponse> exchangeCode(String code, String codeVerifier) {
         MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
         params.add("grant_type", "authorization_code");  // 권한 유형 (인증 코드 교환)
         params.add("client_id", clientId);               // 클라이언트 ID (Kakao 앱 설정에서 발급받은 값 -> 백엔드에서 관리)
         params.add("client_secret", clientSecret);       // 클라이언트 시크릿 (Kakao 앱 설정에서 발급받은 값 -> 백엔드에서 관리)
         params.add("redirect_uri", redirectUri);         // 리다이렉트 URI (Kakao 앱 설정에서 발급받은 값 -> 백엔드에서 구현)
         params.add("code", code);                        // 인증 코드 (사용자 브라우저에서 수신)
+        if (codeVerifier != null) {
+            params.add("code_verifier", codeVerifier);   // PKCE verifier (app.oauth2.state.pkce-providers 에 kakao 를 추가한 경우)
+        }
 
-        KakaoTokenResponse response = webClient.post()
+        return webClients.get(getId()).post()
                 .uri(tokenUri)
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                 .bodyValue(params)
                 .retrieve() // 응답을 받아옴
-                .bodyToMono(KakaoTokenResponse.class) // 응답 본문을 KakaoTokenResponse 객체로 변환
-                .block(); // 비동기 작업이 끝날 때까지 대기
-
-        if (response == null) {
-            throw new RuntimeException("Failed to get access token from Kakao");
-        }
-        return response.getAccessToken();
+                .bodyToMono(KakaoTokenResponse.class); // 응답 본문을 KakaoTokenResponse 객체로 변환
     }
 
     // 2. 액세스 토큰으로 Kakao에 사용자 정보 요청
     @Override
-    public UserInfoResponse getUserInfo(String accessToken) {
-        String userInfoUri = "https://kapi.kakao.com/v2/user/me";
-
-        KakaoUserInfoResponse kakaoResponse = webClient.get()
-                .uri(userInfoUri)
-                .headers(headers -> headers.setBearerAuth(accessToken)) // 헤더에 Bearer 토큰 추가
-                .retrieve()
-                .bodyToMono(KakaoUserInfoResponse.class)
-                .block();
-
-        if (kakaoResponse == null) {
-            throw new RuntimeException("Failed to get user info from Kakao");
-        }
+    public Mono<UserInfoResponse> getUserInfoAsync(String accessToken) {
+        // 멱등 GET 이므로 느리면 한 번 더 보내고 먼저 온 응답 사용 (전역 예산 안에서)
+        return requestHedger.hedge(getId(), () -> webClients.get(getId()).get()
+                        .uri(userInfoUri)
+                        .headers(headers -> headers.setBearerAuth(accessToken)) // 헤더에 Bearer 토큰 추가
+                        .retrieve()
+                        .bodyToFlux(DataBuffer.class)
+                        .as(body -> UserInfoJsonDecoder.decode(body, UserInfoJsonDecoder::kakao))) // 필요한 필드만 스트리밍으로 읽음
+                .doOnNext(userInfo -> log.debug("Kakao 사용자 정보: id={}, name={}", userInfo.getId(), userInfo.getName()))
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Failed to get user info from Kakao")));
+    }
 
-        // 디버깅용 로그 추가
-        System.out.println("=== Kakao API Response Debug ===");
-        System.out.println("ID: " + kakaoResponse.getId());
-        System.out.println("Raw Nickname: " + kakaoResponse.getNickname());
-        System.out.println("Validated Nickname: " + kakaoResponse.getValidatedNickname());
-        System.out.println("Raw Email: " + kakaoResponse.getEmail());
-        System.out.println("Validated Email: " + kakaoResponse.getValidatedEmail());
-        System.out.println("Profile Image URL: " + kakaoResponse.getProfileImageUrl());
-        System.out.println("KakaoAccount: " + (kakaoResponse.getKakaoAccount() != null ? "있음" : "없음"));
-        if (kakaoResponse.getKakaoAccount() != null) {
-            System.out.println("Profile: " + (kakaoResponse.getKakaoAccount().getProfile() != null ? "있음" : "없음"));
-            if (kakaoResponse.getKakaoAccount().getProfile() != null) {
-                System.out.println("Profile Nickname: " + kakaoResponse.getKakaoAccount().getProfile().getNickname());
-            }
-        }
-        System.out.println("Properties: " + (kakaoResponse.getProperties() != null ? "있음" : "없음"));
-        if (kakaoResponse.getProperties() != null) {
-            System.out.println("Properties Nickname: " + kakaoResponse.getProperties().getNickname());
-        }
-        System.out.println("================================");
+    private UserInfoResponse toUserInfo(JWTClaimsSet claims) {
+        // id_token 클레임(sub = 회원번호, nickname, picture, email)을 userinfo 응답 형태로 옮겨 같은 검증/기본값 규칙 적용
+        KakaoUserInfoResponse kakaoResponse = new KakaoUserInfoResponse();
+        kakaoResponse.setId(Long.valueOf(claims.getSubject()));
+        KakaoUserInfoResponse.Properties properties = new KakaoUserInfoResponse.Properties();
+        properties.setNickname((String) claims.getClaim("nickname"));
+        properties.setProfileImage((String) claims.getClaim("picture"));
+        kakaoResponse.setProperties(properties);
+        KakaoUserInfoResponse.KakaoAccount account = new KakaoUserInfoResponse.KakaoAccount();
+        account.setEmail((String) claims.getClaim("email"));
+        kakaoResponse.setKakaoAccount(account);
+        return toUserInfo(kakaoResponse);
+    }
+
+    private UserInfoResponse toUserInfo(KakaoUserInfoResponse kakaoResponse) {
+        log.debug("Kakao 응답 변환: id={}, kakaoAccount={}, properties={}", kakaoResponse.getId(),
+                kakaoResponse.getKakaoAccount() != null, kakaoResponse.getProperties() != null); // 이메일/닉네임은 기록하지 않음
 
         // KakaoUserInfoResponse를 범용 UserInfoResponse로 변환
         // getValidatedEmail()과 getValidatedNickname() 사용하여 null 값 방지
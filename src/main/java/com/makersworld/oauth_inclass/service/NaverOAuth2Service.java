@@ -1,18 +1,25 @@
 package com.makersworld.oauth_inclass.service;
 
+import com.makersworld.oauth_inclass.config.OAuth2WebClients;
 import com.makersworld.oauth_inclass.dto.NaverTokenResponse;
-import com.makersworld.oauth_inclass.dto.NaverUserInfoResponse;
 import com.makersworld.oauth_inclass.dto.UserInfoResponse;
+import com.makersworld.oauth_inclass.security.PendingAuthorization;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
 
+@Slf4j
 @Service("naver")
 @RequiredArgsConstructor
 public class NaverOAuth2Service implements OAuth2ProviderService {
@@ -25,7 +32,28 @@ public class NaverOAuth2Service implements OAuth2ProviderService {
     @Value("${spring.security.oauth2.client.registration.naver.redirect-uri}")
     private String redirectUri;
 
-    private final WebClient webClient; // 비동기 HTTP 통신을 위한 클라이언트
+    // 제공자 엔드포인트 (부하 테스트 시 로컬 스텁으로 교체 가능)
+    @Value("${spring.security.oauth2.client.provider.naver.authorization-uri}")
+    private String authorizationUri;
+    @Value("${spring.security.oauth2.client.provider.naver.token-uri}")
+    private String tokenUri;
+    @Value("${spring.security.oauth2.client.provider.naver.user-info-uri}")
+    private String userInfoUri;
+
+    private final OAuth2WebClients webClients; // 제공자별 커넥션 풀을 가진 비동기 HTTP 클라이언트
+    private final OAuth2RequestHedger requestHedger;
+
+    private AuthorizationUrlTemplate authorizationUrl;
+
+    @PostConstruct
+    void init() {
+        // 고정 파라미터는 한 번만 인코딩 (리다이렉트마다 state 만 추가)
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put("response_type", "code");
+        parameters.put("client_id", clientId);
+        parameters.put("redirect_uri", redirectUri);
+        authorizationUrl = new AuthorizationUrlTemplate(authorizationUri, parameters);
+    }
 
     @Override
     public String getId() {
@@ -34,77 +62,59 @@ public class NaverOAuth2Service implements OAuth2ProviderService {
 
     @Override
     public String getAuthorizationUrl() {
-        // 네이버는 state 파라미터가 필수
-        String state = UUID.randomUUID().toString();
-        return "https://nid.naver.com/oauth2.0/authorize" +
-                "?response_type=code" +
-                "&client_id=" + clientId +
-                "&redirect_uri=" + redirectUri +
-                "&state=" + state;
+        // 네이버는 state 파라미터가 필수 (저장소를 거치지 않는 호출부는 임의 값)
+        return authorizationUrl.build(UUID.randomUUID().toString(), null);
+    }
+
+    @Override
+    public String getAuthorizationUrl(PendingAuthorization authorization) {
+        return authorizationUrl.build(authorization.getState(), authorization.getCodeChallenge());
     }
 
     // 1. 인증 코드로 Naver에 액세스 토큰 요청
     @Override
-    public String getAccessToken(String code) {
-        String tokenUri = "https://nid.naver.com/oauth2.0/token";
+    public Mono<String> getAccessTokenAsync(String code) {
+        return getAccessTokenAsync(code, null);
+    }
 
+    // 리다이렉트 콜백: 인가 요청에 보낸 state 를 토큰 요청에도 그대로 사용
+    @Override
+    public Mono<UserInfoResponse> fetchIdentityAsync(String code, PendingAuthorization authorization) {
+        return getAccessTokenAsync(code, authorization).flatMap(this::getUserInfoAsync);
+    }
+
+    private Mono<String> getAccessTokenAsync(String code, PendingAuthorization authorization) {
         MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
         params.add("grant_type", "authorization_code");  // 권한 유형 (인증 코드 교환)
         params.add("client_id", clientId);               // 클라이언트 ID (Naver 앱 설정에서 발급받은 값 -> 백엔드에서 관리)
         params.add("client_secret", clientSecret);       // 클라이언트 시크릿 (Naver 앱 설정에서 발급받은 값 -> 백엔드에서 관리)
         params.add("code", code);                        // 인증 코드 (사용자 브라우저에서 수신)
-        params.add("state", UUID.randomUUID().toString()); // state 파라미터 (CSRF 방지)
+        params.add("state", authorization != null ? authorization.getState() : UUID.randomUUID().toString()); // state 파라미터 (CSRF 방지)
+        if (authorization != null && authorization.getCodeVerifier() != null) {
+            params.add("code_verifier", authorization.getCodeVerifier()); // PKCE verifier (pkce-providers 에 naver 를 추가한 경우)
+        }
 
-        NaverTokenResponse response = webClient.post()
+        return webClients.get(getId()).post()
                 .uri(tokenUri)
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                 .bodyValue(params)
                 .retrieve() // 응답을 받아옴
                 .bodyToMono(NaverTokenResponse.class) // 응답 본문을 NaverTokenResponse 객체로 변환
-                .block(); // 비동기 작업이 끝날 때까지 대기
-
-        if (response == null || response.getAccessToken() == null) {
-            throw new RuntimeException("Failed to get access token from Naver");
-        }
-        return response.getAccessToken();
+                .flatMap(response -> Mono.justOrEmpty(response.getAccessToken()))
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Failed to get access token from Naver")));
     }
 
     // 2. 액세스 토큰으로 Naver에 사용자 정보 요청
     @Override
-    public UserInfoResponse getUserInfo(String accessToken) {
-        String userInfoUri = "https://openapi.naver.com/v1/nid/me";
-
-        NaverUserInfoResponse naverResponse = webClient.get()
-                .uri(userInfoUri)
-                .headers(headers -> headers.setBearerAuth(accessToken)) // 헤더에 Bearer 토큰 추가
-                .retrieve()
-                .bodyToMono(NaverUserInfoResponse.class)
-                .block();
-
-        if (naverResponse == null || !"00".equals(naverResponse.getResultcode())) {
-            throw new RuntimeException("Failed to get user info from Naver");
-        }
-
-        // 디버깅용 로그 추가
-        System.out.println("=== Naver API Response Debug ===");
-        System.out.println("Resultcode: " + naverResponse.getResultcode());
-        System.out.println("Message: " + naverResponse.getMessage());
-        System.out.println("ID: " + naverResponse.getId());
-        System.out.println("Raw Name: " + naverResponse.getName());
-        System.out.println("Raw Nickname: " + naverResponse.getNickname());
-        System.out.println("Validated Name: " + naverResponse.getValidatedName());
-        System.out.println("Raw Email: " + naverResponse.getEmail());
-        System.out.println("Validated Email: " + naverResponse.getValidatedEmail());
-        System.out.println("Profile Image: " + naverResponse.getProfileImage());
-        System.out.println("================================");
-
-        // NaverUserInfoResponse를 범용 UserInfoResponse로 변환
-        // getValidatedEmail()과 getValidatedName() 사용하여 null 값 방지
-        return UserInfoResponse.builder()
-                .id(naverResponse.getId())
-                .email(naverResponse.getValidatedEmail()) // 검증된 이메일 사용
-                .name(naverResponse.getValidatedName())   // 검증된 이름 사용 (name → nickname → 기본값 순서)
-                .picture(naverResponse.getProfileImage())
-                .build();
+    public Mono<UserInfoResponse> getUserInfoAsync(String accessToken) {
+        // 멱등 GET 이므로 느리면 한 번 더 보내고 먼저 온 응답 사용 (전역 예산 안에서)
+        return requestHedger.hedge(getId(), () -> webClients.get(getId()).get()
+                        .uri(userInfoUri)
+                        .headers(headers -> headers.setBearerAuth(accessToken)) // 헤더에 Bearer 토큰 추가
+                        .retrieve()
+                        .bodyToFlux(DataBuffer.class)
+                        .as(body -> UserInfoJsonDecoder.decode(body, UserInfoJsonDecoder::naver))) // resultcode "00" 이 아니면 빈 Mono
+                .doOnNext(userInfo -> log.debug("Naver 사용자 정보: id={}, name={}", userInfo.getId(), userInfo.getName()))
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Failed to get user info from Naver")));
     }
 }
@@ -0,0 +1,84 @@
+package com.makersworld.oauth_inclass.service;
+
+import com.makersworld.oauth_inclass.enums.Provider;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * OAuth 제공자 호출 보호 (제공자별 서킷 브레이커 + 벌크헤드)
+ *
+ * - 벌크헤드: 제공자별 동시 호출 수 상한. 상한을 넘으면 기다리지 않고 바로 거절합니다. (리액티브 체인이므로 max-wait-duration=0)
+ * - 서킷 브레이커: 실패율 또는 느린 호출(slow-call-duration-threshold 초과) 비율이 임계치를 넘으면 열리고,
+ *   열려 있는 동안에는 제공자를 호출하지 않고 바로 실패합니다. 일정 시간 후 일부 호출로 회복 여부를 확인합니다.
+ * 한 제공자의 장애가 다른 제공자의 로그인 처리량에 영향을 주지 않도록 인스턴스는 제공자마다 따로 둡니다.
+ * 설정은 resilience4j.circuitbreaker.* / resilience4j.bulkhead.* (instances.<provider> 가 없으면 configs.default)
+ *
+ * 메트릭: resilience4j.circuitbreaker.*(state, calls, not.permitted.calls), resilience4j.bulkhead.*,
+ *         oauth2.provider.circuit.transitions{provider, from, to}
+ */
+@Slf4j
+@Component
+public class OAuth2ProviderGuard {
+
+    private static final Duration BULKHEAD_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final Map<Provider, CircuitBreaker> circuitBreakers = new EnumMap<>(Provider.class);
+    private final Map<Provider, Bulkhead> bulkheads = new EnumMap<>(Provider.class);
+
+    public OAuth2ProviderGuard(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+                               MeterRegistry meterRegistry) {
+        for (Provider provider : Provider.values()) {
+            String id = provider.name().toLowerCase();
+            CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(id);
+            circuitBreaker.getEventPublisher().onStateTransition(event -> {
+                CircuitBreaker.StateTransition transition = event.getStateTransition();
+                log.warn("OAuth 제공자 '{}' 서킷 브레이커 상태 변경: {} -> {}",
+                        id, transition.getFromState(), transition.getToState());
+                Counter.builder("oauth2.provider.circuit.transitions")
+                        .tag("provider", id)
+                        .tag("from", transition.getFromState().name())
+                        .tag("to", transition.getToState().name())
+                        .register(meterRegistry)
+                        .increment();
+            });
+            circuitBreakers.put(provider, circuitBreaker);
+            bulkheads.put(provider, bulkheadRegistry.bulkhead(id));
+        }
+    }
+
+    /**
+     * 제공자 호출을 벌크헤드와 서킷 브레이커로 감쌉니다. (구독 시점에 허용 여부 판단)
+     * @param provider 제공자 ID
+     * @param call 제공자 호출
+     * @return 보호된 호출 (거절 시 ProviderUnavailableException 오류 신호)
+     */
+    public <T> Mono<T> protect(String provider, Mono<T> call) {
+        Provider key = Provider.valueOf(provider.toUpperCase());
+        CircuitBreaker circuitBreaker = circuitBreakers.get(key);
+        return call
+                .transformDeferred(BulkheadOperator.of(bulkheads.get(key)))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .onErrorMap(CallNotPermittedException.class, e -> new ProviderUnavailableException(
+                        "OAuth 제공자 '" + provider + "'가 일시적으로 응답하지 않아 요청을 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.",
+                        Duration.ofMillis(circuitBreaker.getCircuitBreakerConfig().getWaitIntervalFunctionInOpenState().apply(1)),
+                        e))
+                .onErrorMap(BulkheadFullException.class, e -> new ProviderUnavailableException(
+                        "OAuth 제공자 '" + provider + "'로의 로그인 요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.",
+                        BULKHEAD_RETRY_AFTER, e));
+    }
+}
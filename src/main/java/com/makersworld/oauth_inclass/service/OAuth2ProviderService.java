@@ -1,10 +1,29 @@
 package com.makersworld.oauth_inclass.service;
 
 import com.makersworld.oauth_inclass.dto.UserInfoResponse;
+import com.makersworld.oauth_inclass.security.PendingAuthorization;
+import reactor.core.publisher.Mono;
 
 public interface OAuth2ProviderService {
     String getId();
     String getAuthorizationUrl();
-    String getAccessToken(String code);
-    UserInfoResponse getUserInfo(String accessToken);
+
+    // 리다이렉트 로그인: 발급한 state (와 PKCE challenge)를 포함한 인가 URL (기본: state 미사용)
+    default String getAuthorizationUrl(PendingAuthorization authorization) {
+        return getAuthorizationUrl();
+    }
+
+    // 비동기 계약: 원격 호출 동안 요청 스레드를 점유하지 않음 (구현체는 이 두 메서드만 구현)
+    Mono<String> getAccessTokenAsync(String code);
+    Mono<UserInfoResponse> getUserInfoAsync(String accessToken);
+
+    // 인증 코드로 사용자 정보 조회 (기본: 토큰 교환 -> userinfo 호출, OIDC 제공자는 id_token 검증으로 userinfo 호출 생략)
+    default Mono<UserInfoResponse> fetchIdentityAsync(String code) {
+        return getAccessTokenAsync(code).flatMap(this::getUserInfoAsync);
+    }
+
+    // 리다이렉트 콜백: 저장소에서 꺼낸 state / PKCE verifier 를 토큰 교환에 함께 보냄 (기본: 무시)
+    default Mono<UserInfoResponse> fetchIdentityAsync(String code, PendingAuthorization authorization) {
+        return fetchIdentityAsync(code);
+    }
 }
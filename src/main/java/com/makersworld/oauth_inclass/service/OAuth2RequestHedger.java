@@ -0,0 +1,156 @@
+package com.makersworld.oauth_inclass.service;
+
+import com.makersworld.oauth_inclass.config.OAuth2ProviderProperties;
+import com.makersworld.oauth_inclass.enums.Provider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * 멱등 제공자 요청(userinfo GET)의 헤지(hedged request) 처리
+ *
+ * 첫 요청이 제공자별 최근 응답 시간의 percentile 안에 끝나지 않으면 같은 요청을 한 번 더 보내고,
+ * 먼저 도착한 응답을 사용합니다. (나머지 요청은 취소) 느린 커넥션 하나가 로그인 꼬리 지연을 결정하지 않게 합니다.
+ *
+ * 헤지는 모든 제공자가 공유하는 예산 안에서만 보냅니다. 요청마다 budgetRatio 만큼 예산이 쌓이고 헤지 1회에 1 을 씁니다.
+ * 장애로 모든 요청이 느려지면 예산이 바로 바닥나므로 헤지가 부하를 budgetRatio 이상 늘리지 않습니다.
+ *
+ * 메트릭: oauth2.hedge.requests / sent / wins / denied {provider}, oauth2.hedge.delay{provider}, oauth2.hedge.budget
+ */
+@Component
+public class OAuth2RequestHedger {
+
+    private static final long TOKEN = 1_000; // 예산 단위 (1회 = 1000)
+
+    private final OAuth2ProviderProperties.Hedge properties;
+    private final Map<Provider, Stats> stats = new EnumMap<>(Provider.class);
+    private final AtomicLong budget;
+    private final long budgetMax;
+    private final long budgetDeposit;
+
+    public OAuth2RequestHedger(OAuth2ProviderProperties providerProperties, MeterRegistry meterRegistry) {
+        this.properties = providerProperties.getHedge();
+        this.budgetMax = Math.max(1, properties.getBudgetBurst()) * TOKEN;
+        this.budgetDeposit = Math.round(properties.getBudgetRatio() * TOKEN);
+        this.budget = new AtomicLong(budgetMax);
+
+        for (Provider provider : Provider.values()) {
+            String id = provider.name().toLowerCase();
+            Stats providerStats = new Stats(properties, meterRegistry, id);
+            stats.put(provider, providerStats);
+            Gauge.builder("oauth2.hedge.delay", providerStats, s -> s.delayNanos / 1_000_000.0)
+                    .tag("provider", id).baseUnit("milliseconds").register(meterRegistry);
+        }
+        Gauge.builder("oauth2.hedge.budget", budget, b -> (double) b.get() / TOKEN).register(meterRegistry);
+    }
+
+    /**
+     * 요청을 헤지해서 실행합니다.
+     * 먼저 온 값이 이기며, 첫 요청의 오류는 그대로 전달합니다. (헤지 요청의 오류/빈 응답은 무시하고 첫 요청을 기다림)
+     * @param provider 제공자 ID
+     * @param request 같은 요청을 새로 만드는 함수 (구독할 때마다 새 HTTP 요청, 멱등이어야 함)
+     * @return 먼저 도착한 응답
+     */
+    public <T> Mono<T> hedge(String provider, Supplier<Mono<T>> request) {
+        if (!properties.isEnabled()) {
+            return Mono.defer(request);
+        }
+        Stats providerStats = stats.get(Provider.valueOf(provider.toUpperCase()));
+        return Mono.defer(() -> {
+            providerStats.requests.increment();
+            deposit();
+            Mono<T> primary = timed(providerStats, request);
+            Mono<T> hedged = Mono.delay(Duration.ofNanos(providerStats.delayNanos))
+                    .flatMap(tick -> {
+                        if (!tryWithdraw()) {
+                            providerStats.denied.increment();
+                            return Mono.<T>never(); // 예산 없음: 첫 요청만 기다림
+                        }
+                        providerStats.sent.increment();
+                        return timed(providerStats, request)
+                                .doOnNext(value -> providerStats.wins.increment())
+                                .onErrorResume(e -> Mono.never())
+                                .switchIfEmpty(Mono.never());
+                    });
+            return Mono.firstWithSignal(primary, hedged);
+        });
+    }
+
+    private static <T> Mono<T> timed(Stats providerStats, Supplier<Mono<T>> request) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return request.get().doOnNext(value -> providerStats.record(System.nanoTime() - start));
+        });
+    }
+
+    private void deposit() {
+        budget.getAndUpdate(current -> Math.min(budgetMax, current + budgetDeposit));
+    }
+
+    private boolean tryWithdraw() {
+        long current;
+        do {
+            current = budget.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    /**
+     * 제공자별 최근 응답 시간(원형 버퍼)과 헤지 카운터
+     * 헤지 지연은 표본 32개마다 기록한 스레드가 다시 계산합니다. (요청 경로에서는 volatile 읽기만)
+     */
+    private static final class Stats {
+        private static final int RECOMPUTE_EVERY = 32;
+
+        private final AtomicLongArray samples;
+        private final AtomicInteger recorded = new AtomicInteger();
+        private final double percentile;
+        private final long minDelayNanos;
+        private volatile long delayNanos;
+
+        private final Counter requests;
+        private final Counter sent;
+        private final Counter wins;
+        private final Counter denied;
+
+        Stats(OAuth2ProviderProperties.Hedge properties, MeterRegistry meterRegistry, String provider) {
+            this.samples = new AtomicLongArray(Math.max(RECOMPUTE_EVERY, properties.getWindow()));
+            this.percentile = properties.getPercentile();
+            this.minDelayNanos = properties.getMinDelay().toNanos();
+            this.delayNanos = Math.max(minDelayNanos, properties.getInitialDelay().toNanos());
+            this.requests = Counter.builder("oauth2.hedge.requests").tag("provider", provider).register(meterRegistry);
+            this.sent = Counter.builder("oauth2.hedge.sent").tag("provider", provider).register(meterRegistry);
+            this.wins = Counter.builder("oauth2.hedge.wins").tag("provider", provider).register(meterRegistry);
+            this.denied = Counter.builder("oauth2.hedge.denied").tag("provider", provider).register(meterRegistry);
+        }
+
+        void record(long latencyNanos) {
+            int n = recorded.getAndIncrement();
+            samples.set(Math.floorMod(n, samples.length()), latencyNanos);
+            if ((n + 1) % RECOMPUTE_EVERY == 0) {
+                int size = n + 1 > 0 && n + 1 < samples.length() ? n + 1 : samples.length(); // 버퍼가 찬 뒤(또는 카운터 overflow)에는 전체
+                long[] copy = new long[size];
+                for (int i = 0; i < size; i++) {
+                    copy[i] = samples.get(i);
+                }
+                Arrays.sort(copy);
+                int index = Math.min(size - 1, (int) Math.ceil(percentile * size) - 1);
+                delayNanos = Math.max(minDelayNanos, copy[Math.max(0, index)]);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.makersworld.oauth_inclass.service;
+
+import java.time.Duration;
+
+/**
+ * OAuth 제공자 호출을 시도하지 않고 바로 거절했을 때의 예외 (서킷 브레이커 열림, 동시 호출 상한 초과)
+ * 컨트롤러는 이 예외를 503 + Retry-After 로 응답합니다.
+ */
+public class ProviderUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ProviderUnavailableException(String message, Duration retryAfter, Throwable cause) {
+        super(message, cause);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,103 @@
+package com.makersworld.oauth_inclass.service;
+
+import com.makersworld.oauth_inclass.config.JwtProperties;
+import com.makersworld.oauth_inclass.dto.AuthResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 같은 리프레시 토큰의 동시 갱신을 한 번의 계산으로 합칩니다. (single-flight)
+ *
+ * 여러 탭이 거의 동시에 같은 토큰으로 갱신하면 먼저 도착한 요청만 교체(DB 조회 + 서명)를 수행하고,
+ * 나머지는 그 결과(같은 새 토큰 쌍)를 받습니다. 완료된 결과는 graceWindow 동안 재사용하므로 조금 늦게 도착한 탭도
+ * 재사용 탐지(family 폐기)에 걸리지 않습니다. graceWindow 가 지난 뒤의 재제출은 기존처럼 재사용으로 판정됩니다.
+ * 이 합치기는 인스턴스 안에서만 일어납니다. 탭들의 요청이 다른 인스턴스로 나뉘면 RefreshTokenStore 가 DB 에 기록된
+ * 교체 시각과 후속 토큰(replacedBy)으로 같은 graceWindow 를 적용해, 늦은 요청에도 먼저 발급한 후속 리프레시 토큰을 돌려줍니다.
+ *
+ * 실패한 계산은 바로 제거하므로 기다리던 요청은 같은 오류를 받고, 이후 요청은 다시 계산합니다.
+ * 메트릭: auth.refresh.coalesced (다른 요청의 결과를 받은 갱신 수)
+ */
+@Component
+public class RefreshCoalescer {
+
+    private final ConcurrentHashMap<String, Flight> flights = new ConcurrentHashMap<>();
+    private final long graceMillis;
+    private final Executor expiry;
+    private final Counter coalesced;
+
+    public RefreshCoalescer(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        this.graceMillis = Math.max(0, jwtProperties.getRefresh().getGraceWindow().toMillis());
+        // 만료된 결과 제거는 JDK 공용 지연 실행기로 예약 (전용 스레드/전체 순회 없음)
+        this.expiry = CompletableFuture.delayedExecutor(graceMillis, TimeUnit.MILLISECONDS);
+        this.coalesced = Counter.builder("auth.refresh.coalesced")
+                .description("진행 중이거나 유예 기간 안의 갱신 결과를 재사용한 요청 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param tokenId 리프레시 토큰 jti (서명 검증이 끝난 값)
+     * @param refresh 실제 갱신 (토큰 교체 + 사용자 조회 + 액세스 토큰 서명)
+     * @return 갱신 결과 (합쳐진 요청은 모두 같은 토큰 쌍)
+     */
+    public AuthResponse coalesce(String tokenId, Supplier<AuthResponse> refresh) {
+        while (true) {
+            Flight current = flights.get(tokenId);
+            if (current != null && !current.isExpired(System.currentTimeMillis())) {
+                coalesced.increment();
+                return current.await();
+            }
+            Flight mine = new Flight();
+            boolean leader = current == null
+                    ? flights.putIfAbsent(tokenId, mine) == null
+                    : flights.replace(tokenId, current, mine); // 만료됐지만 아직 제거되지 않은 결과 교체
+            if (leader) {
+                return lead(tokenId, mine, refresh);
+            }
+        }
+    }
+
+    private AuthResponse lead(String tokenId, Flight flight, Supplier<AuthResponse> refresh) {
+        AuthResponse response;
+        try {
+            response = refresh.get();
+        } catch (RuntimeException | Error e) {
+            flights.remove(tokenId, flight);
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+        flight.expiresAtMs = System.currentTimeMillis() + graceMillis;
+        flight.result.complete(response);
+        if (graceMillis == 0) {
+            flights.remove(tokenId, flight);
+        } else {
+            expiry.execute(() -> flights.remove(tokenId, flight));
+        }
+        return response;
+    }
+
+    private static final class Flight {
+        private final CompletableFuture<AuthResponse> result = new CompletableFuture<>();
+        private volatile long expiresAtMs = Long.MAX_VALUE; // 계산 중에는 만료되지 않음
+
+        boolean isExpired(long nowMs) {
+            return nowMs >= expiresAtMs;
+        }
+
+        AuthResponse await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                // 먼저 계산한 요청의 오류를 그대로 전달 (RuntimeException 만 발생)
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.makersworld.oauth_inclass.service;
+
+import com.makersworld.oauth_inclass.config.JwtProperties;
+import com.makersworld.oauth_inclass.model.RefreshToken;
+import com.makersworld.oauth_inclass.repository.RefreshTokenRepository;
+import com.makersworld.oauth_inclass.security.VerifiedToken;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리프레시 토큰 교체(rotation) 저장소
+ *
+ * 리프레시 토큰은 jti 로 식별하며 한 번만 갱신에 사용할 수 있습니다.
+ * - 사용 판정은 DB(refresh_tokens)의 조건부 UPDATE(consumeIfActive)가 결정합니다. 영향받은 행이 1 인 요청만 교체에 성공하므로
+ *   어느 인스턴스로 들어오든 같은 토큰은 클러스터 전체에서 한 번만 사용됩니다.
+ * - 이전 토큰 사용 처리와 새 토큰 insert 는 한 트랜잭션에서 커밋됩니다.
+ * - 이미 사용된 토큰이 다시 제출되면 탈취로 보고 같은 로그인에서 이어진 토큰(family) 전체를 DB 에서 바로 폐기합니다.
+ *   family 폐기 여부는 "같은 family 에 폐기된 행이 있는가"로 판정하므로, 폐기 UPDATE 와 동시에 교체되어 UPDATE 에서 빠진
+ *   새 토큰도 사용 시점에 거부됩니다.
+ * - 교체된 지 graceWindow 가 지나지 않은 토큰이 다시 제출되면(여러 탭의 동시 갱신이 다른 인스턴스로 나뉜 경우) 재사용이 아닌
+ *   재시도로 보고, 먼저 교체한 요청이 발급한 후속 토큰(replacedBy)을 돌려줍니다. 같은 인스턴스 안의 동시 갱신은
+ *   RefreshCoalescer 가 먼저 합치므로, 이 판정은 인스턴스 사이의 동시 갱신을 위한 것입니다.
+ * - 메모리에는 이 인스턴스가 사용/폐기를 확인한 jti 와 family 만 부정 캐시로 둡니다. 캐시에 있으면 DB 없이 거부하지만,
+ *   캐시에 없다는 것은 유효하다는 뜻이 아니므로 항상 DB 에서 다시 판정합니다. (유예 기간 안의 사용 기록은 DB 에서 다시 판정)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenStore {
+
+    private static final String INVALID_TOKEN = "유효하지 않은 리프레시 토큰입니다.";
+    private static final String REVOKED_TOKEN = "폐기된 리프레시 토큰입니다. 다시 로그인해 주세요.";
+    private static final String REUSED_TOKEN = "이미 사용된 리프레시 토큰입니다. 다시 로그인해 주세요.";
+    private static final int REVOKE_ATTEMPTS = 3;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtService jwtService;
+    private final JwtProperties jwtProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    // 부정 캐시: 사용된 jti -> 정보, 폐기된 family id -> 만료 시각 (이 인스턴스가 DB 에서 확인한 것만)
+    private final ConcurrentHashMap<String, Spent> spentTokens = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> revokedFamilies = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService cleaner;
+
+    @PostConstruct
+    void start() {
+        long intervalMs = jwtProperties.getRefresh().getCleanupInterval().toMillis();
+        cleaner = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "refresh-token-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cleaner.scheduleWithFixedDelay(this::cleanup, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        cleaner.shutdownNow();
+    }
+
+    /**
+     * 새 로그인에 대한 리프레시 토큰을 발급하고 저장소에 등록합니다.
+     * 응답 전에 DB 에 기록하므로 곧바로 다른 인스턴스에서 갱신해도 사용할 수 있습니다.
+     * @param email 사용자 이메일
+     * @return JWT 리프레시 토큰
+     */
+    public String issue(String email) {
+        RefreshToken row = newRow(UUID.randomUUID().toString(), email);
+        refreshTokenRepository.save(row);
+        return jwtService.generateRefreshToken(email, row.getJti());
+    }
+
+    /**
+     * 여러 사용자의 새 로그인(family)을 한 번의 saveAll 로 등록합니다. (일괄 발급용, 서명은 호출 측에서 병렬로 수행)
+     * @param emails 사용자 이메일 목록
+     * @return 이메일 순서와 같은 jti 목록 (JwtService.generateRefreshToken 에 전달)
+     */
+    public List<String> registerAll(List<String> emails) {
+        List<RefreshToken> rows = new ArrayList<>(emails.size());
+        List<String> jtis = new ArrayList<>(emails.size());
+        for (String email : emails) {
+            RefreshToken row = newRow(UUID.randomUUID().toString(), email);
+            rows.add(row);
+            jtis.add(row.getJti());
+        }
+        refreshTokenRepository.saveAll(rows);
+        return jtis;
+    }
+
+    /**
+     * 서명 검증이 끝난 리프레시 토큰을 사용 처리하고, 같은 family 의 새 리프레시 토큰을 발급합니다.
+     * @param refreshToken 검증된 리프레시 토큰
+     * @return 새 JWT 리프레시 토큰
+     * @throws RuntimeException jti 가 없거나, 알 수 없거나, 폐기되었거나, 이미 사용된 토큰인 경우
+     */
+    public String rotate(VerifiedToken refreshToken) {
+        String jti = refreshToken.getTokenId();
+        String subject = refreshToken.getSubject();
+        if (jti == null || refreshToken.getRole() != null) {
+            // jti 가 없는 토큰(교체 도입 이전 발급)이나 액세스 토큰은 갱신에 사용할 수 없음
+            throw new RuntimeException(INVALID_TOKEN);
+        }
+
+        // 1. 부정 캐시: 이 인스턴스가 이미 사용/폐기를 확인한 토큰은 DB 조회 없이 거부 (재사용이면 family 폐기는 DB 에 반영)
+        Spent spent = spentTokens.get(jti);
+        if (spent != null && !spent.isWithinGrace(System.currentTimeMillis(), graceMillis())) {
+            if (!spent.email.equals(subject)) {
+                throw new RuntimeException(INVALID_TOKEN);
+            }
+            if (revokedFamilies.containsKey(spent.familyId)) {
+                throw new RuntimeException(REVOKED_TOKEN);
+            }
+            revokeAndReject(spent, jti);
+        }
+
+        // 2. DB 판정: 조건부 UPDATE 로 사용 처리 + 새 토큰 insert (한 트랜잭션)
+        Rotation rotation = transactionTemplate.execute(status -> consumeAndReplace(jti, subject));
+        switch (rotation.outcome) {
+            case ROTATED:
+                spentTokens.put(jti, rotation.spent);
+                return jwtService.generateRefreshToken(subject, rotation.nextJti);
+            case RETRIED:
+                log.debug("유예 기간 안의 리프레시 토큰 재제출 - 먼저 발급한 후속 토큰을 돌려줍니다: family={}, jti={}",
+                        rotation.spent.familyId, jti);
+                return jwtService.generateRefreshToken(subject, rotation.nextJti);
+            case REVOKED:
+                spentTokens.put(jti, rotation.spent);
+                revokedFamilies.put(rotation.spent.familyId, rotation.spent.expiresAtMs);
+                throw new RuntimeException(REVOKED_TOKEN);
+            case REUSED:
+                spentTokens.put(jti, rotation.spent);
+                revokeAndReject(rotation.spent, jti);
+            default:
+                throw new RuntimeException(INVALID_TOKEN);
+        }
+    }
+
+    /**
+     * 리프레시 토큰이 아직 갱신에 사용할 수 있는 상태인지 확인합니다. (토큰 검사용, DB 조회 1회)
+     * @param refreshToken 서명 검증이 끝난 리프레시 토큰
+     * @return 등록되어 있고 사용/폐기되지 않은 토큰이면 true
+     */
+    public boolean isActive(VerifiedToken refreshToken) {
+        String jti = refreshToken.getTokenId();
+        if (jti == null || spentTokens.containsKey(jti)) {
+            return false;
+        }
+        return refreshTokenRepository.findById(jti)
+                .filter(row -> row.getEmail().equals(refreshToken.getSubject()))
+                .filter(row -> row.getConsumedAt() == null && row.getRevokedAt() == null)
+                .filter(row -> !revokedFamilies.containsKey(row.getFamilyId()))
+                .filter(row -> !refreshTokenRepository.existsByFamilyIdAndRevokedAtIsNotNull(row.getFamilyId()))
+                .isPresent();
+    }
+
+    private Rotation consumeAndReplace(String jti, String subject) {
+        RefreshToken row = refreshTokenRepository.findById(jti).orElse(null);
+        if (row == null || !row.getEmail().equals(subject)) {
+            return Rotation.INVALID;
+        }
+        Spent spent = new Spent(row.getFamilyId(), row.getEmail(), row.getExpiresAt().toEpochMilli(), 0L);
+        if (row.getRevokedAt() != null || revokedFamilies.containsKey(row.getFamilyId())
+                || refreshTokenRepository.existsByFamilyIdAndRevokedAtIsNotNull(row.getFamilyId())) {
+            return new Rotation(Outcome.REVOKED, spent, null);
+        }
+        // 읽은 뒤 다른 요청/인스턴스가 먼저 사용하거나 family 를 폐기했으면 영향받은 행이 0
+        Instant now = Instant.now();
+        RefreshToken next = newRow(UUID.randomUUID().toString(), row.getFamilyId(), subject);
+        if (row.getConsumedAt() != null || refreshTokenRepository.consumeIfActive(jti, next.getJti(), now) == 0) {
+            return retryOrReuse(jti, spent, now);
+        }
+
+        refreshTokenRepository.save(next);
+        return new Rotation(Outcome.ROTATED, spent.consumedAt(now.toEpochMilli()), next.getJti());
+    }
+
+    // 유예 기간 안에 교체된 토큰이면 재시도(먼저 발급한 후속 토큰), 아니면 재사용
+    private Rotation retryOrReuse(String jti, Spent spent, Instant now) {
+        long graceMillis = graceMillis();
+        if (graceMillis > 0) {
+            String successor = refreshTokenRepository.findSuccessorConsumedSince(jti, now.minusMillis(graceMillis)).orElse(null);
+            if (successor != null) {
+                return new Rotation(Outcome.RETRIED, spent, successor);
+            }
+        }
+        return new Rotation(Outcome.REUSED, spent, null);
+    }
+
+    private long graceMillis() {
+        return Math.max(0, jwtProperties.getRefresh().getGraceWindow().toMillis());
+    }
+
+    private void revokeAndReject(Spent spent, String jti) {
+        revokedFamilies.put(spent.familyId, spent.expiresAtMs);
+        revokeFamily(spent.familyId);
+        log.warn("이미 사용된 리프레시 토큰이 다시 제출되어 토큰 family 를 폐기합니다: family={}, jti={}", spent.familyId, jti);
+        throw new RuntimeException(REUSED_TOKEN);
+    }
+
+    /**
+     * family 전체를 DB 에서 폐기합니다. (이미 폐기된 행은 UPDATE 대상이 아니므로 멱등)
+     * 같은 family 를 교체 중인 트랜잭션과 잠금이 엇갈려 실패(교착 상태 등)할 수 있으므로 몇 번 다시 시도합니다.
+     */
+    private void revokeFamily(String familyId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                refreshTokenRepository.revokeFamilies(List.of(familyId), Instant.now());
+                return;
+            } catch (DataAccessException e) {
+                if (attempt >= REVOKE_ATTEMPTS) {
+                    log.error("리프레시 토큰 family 폐기 실패: family={}", familyId, e);
+                    throw new RuntimeException(REUSED_TOKEN, e);
+                }
+            }
+        }
+    }
+
+    private RefreshToken newRow(String familyId, String email) {
+        return newRow(UUID.randomUUID().toString(), familyId, email);
+    }
+
+    private RefreshToken newRow(String jti, String familyId, String email) {
+        Instant now = Instant.now();
+        return RefreshToken.builder()
+                .jti(jti)
+                .familyId(familyId)
+                .email(email)
+                .issuedAt(now)
+                .expiresAt(now.plusMillis(jwtProperties.getRefreshExpiration()))
+                .build();
+    }
+
+    void cleanup() {
+        try {
+            long nowMs = System.currentTimeMillis();
+            spentTokens.values().removeIf(spent -> spent.expiresAtMs <= nowMs);
+            revokedFamilies.values().removeIf(expiresAtMs -> expiresAtMs <= nowMs);
+            int deleted = refreshTokenRepository.deleteExpired(Instant.ofEpochMilli(nowMs));
+            log.debug("만료된 리프레시 토큰 정리: 부정 캐시 {}건 유지, DB {}건 삭제", spentTokens.size(), deleted);
+        } catch (RuntimeException e) {
+            log.error("만료된 리프레시 토큰 정리 실패 - 다음 주기에 다시 시도합니다.", e);
+        }
+    }
+
+    private enum Outcome { ROTATED, RETRIED, REUSED, REVOKED, INVALID }
+
+    /**
+     * 트랜잭션 안에서 판정한 교체 결과 (예외/폐기 처리는 커밋 이후 트랜잭션 밖에서 수행)
+     */
+    private static final class Rotation {
+        private static final Rotation INVALID = new Rotation(Outcome.INVALID, null, null);
+
+        private final Outcome outcome;
+        private final Spent spent;
+        private final String nextJti;
+
+        Rotation(Outcome outcome, Spent spent, String nextJti) {
+            this.outcome = outcome;
+            this.spent = spent;
+            this.nextJti = nextJti;
+        }
+    }
+
+    /**
+     * 사용(또는 폐기)이 확인된 토큰 정보 (family 폐기와 주체 확인에 사용)
+     */
+    private static final class Spent {
+        private final String familyId;
+        private final String email;
+        private final long expiresAtMs;  // 토큰 만료 후에는 캐시할 필요 없음
+        private final long consumedAtMs; // 이 인스턴스가 교체한 시각 (0 = 재사용/폐기 확인, 유예 없음)
+
+        Spent(String familyId, String email, long expiresAtMs, long consumedAtMs) {
+            this.familyId = familyId;
+            this.email = email;
+            this.expiresAtMs = expiresAtMs;
+            this.consumedAtMs = consumedAtMs;
+        }
+
+        Spent consumedAt(long consumedAtMs) {
+            return new Spent(familyId, email, expiresAtMs, consumedAtMs);
+        }
+
+        // 유예 기간 안이면 캐시로 거부하지 않고 DB 에서 재시도 여부를 판정
+        boolean isWithinGrace(long nowMs, long graceMillis) {
+            return consumedAtMs > 0 && nowMs - consumedAtMs < graceMillis;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.makersworld.oauth_inclass.service;
+
+import com.makersworld.oauth_inclass.config.JwtProperties;
+import com.makersworld.oauth_inclass.dto.BatchTokenResult;
+import com.makersworld.oauth_inclass.model.User;
+import com.makersworld.oauth_inclass.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 여러 사용자의 토큰을 한 번에 발급하는 서비스 (부하 테스트, 마이그레이션, 서비스 계정 발급용)
+ * 사용자 조회는 한 번의 IN 쿼리로 끝내고, 서명은 크기가 제한된 전용 ForkJoinPool 에서 병렬로 수행합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenBatchService {
+
+    private final UserRepository userRepository;
+    private final JwtService jwtService;
+    private final RefreshTokenStore refreshTokenStore;
+    private final JwtProperties jwtProperties;
+    private final ForkJoinPool jwtWorkerPool;
+
+    /**
+     * 이메일 목록에 대한 토큰을 발급하고, 청크 단위로 결과를 전달합니다.
+     * 결과 순서는 요청한 이메일 순서(중복 제거)를 따릅니다.
+     * @param emails 사용자 이메일 목록
+     * @param chunkConsumer 서명이 끝난 결과 청크를 받는 콜백 (스트리밍 응답 작성용)
+     * @throws BatchTooLargeException 요청 크기가 app.jwt.batch.max-size 를 넘는 경우
+     */
+    public void issueTokens(List<String> emails, Consumer<List<BatchTokenResult>> chunkConsumer) {
+        if (emails == null || emails.isEmpty()) {
+            return;
+        }
+        checkBatchSize(emails);
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(emails));
+
+        // 1. 사용자 조회 (단일 쿼리)
+        Map<String, User> usersByEmail = new HashMap<>();
+        for (User user : userRepository.findByEmailIn(distinct)) {
+            usersByEmail.put(user.getEmail(), user);
+        }
+
+        // 2. 청크별 병렬 서명 후 바로 전달 (전체 결과를 메모리에 모으지 않음)
+        int chunkSize = Math.max(1, jwtProperties.getBatch().getChunkSize());
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            List<String> chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+            // 청크의 리프레시 토큰(jti)을 서명 전에 한 번의 saveAll 로 등록
+            List<String> found = chunk.stream().filter(usersByEmail::containsKey).collect(Collectors.toList());
+            Map<String, String> jtiByEmail = new HashMap<>();
+            List<String> jtis = refreshTokenStore.registerAll(found);
+            for (int i = 0; i < found.size(); i++) {
+                jtiByEmail.put(found.get(i), jtis.get(i));
+            }
+            // ForkJoinPool 안에서 실행한 parallelStream 은 해당 풀의 워커만 사용
+            List<BatchTokenResult> results = jwtWorkerPool.submit(() -> chunk.parallelStream()
+                    .map(email -> issue(email, usersByEmail.get(email), jtiByEmail.get(email)))
+                    .collect(Collectors.toList())).join();
+            chunkConsumer.accept(results);
+        }
+        log.info("일괄 토큰 발급 완료: 요청 {}건, 발급 {}건", distinct.size(), usersByEmail.size());
+    }
+
+    /**
+     * 중복을 제거한 이메일 수가 app.jwt.batch.max-size 이하인지 확인합니다.
+     * 스트리밍 응답은 200 이 커밋된 뒤에 실행되므로, 컨트롤러는 응답을 시작하기 전에 이 메서드로 먼저 확인합니다.
+     * @param emails 사용자 이메일 목록
+     * @throws BatchTooLargeException 요청 크기가 app.jwt.batch.max-size 를 넘는 경우
+     */
+    public void checkBatchSize(List<String> emails) {
+        int maxSize = jwtProperties.getBatch().getMaxSize();
+        // 원래 건수가 상한 이하이면 중복 제거 없이 통과
+        if (emails != null && emails.size() > maxSize && new HashSet<>(emails).size() > maxSize) {
+            throw new BatchTooLargeException("일괄 발급 최대 건수(" + maxSize + ")를 초과했습니다.", maxSize);
+        }
+    }
+
+    private BatchTokenResult issue(String email, User user, String refreshTokenId) {
+        if (user == null) {
+            return BatchTokenResult.builder().email(email).error("USER_NOT_FOUND").build();
+        }
+        return BatchTokenResult.builder()
+                .email(user.getEmail())
+                .accessToken(jwtService.generateToken(user.getEmail(), user.getRole()))
+                .refreshToken(jwtService.generateRefreshToken(user.getEmail(), refreshTokenId))
+                .expiresIn(jwtProperties.getExpirationMs() / 1000)
+                .role(user.getRole())
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.makersworld.oauth_inclass.service;
+
+import com.makersworld.oauth_inclass.config.JwtProperties;
+import com.makersworld.oauth_inclass.dto.IntrospectionResponse;
+import com.makersworld.oauth_inclass.security.VerifiedToken;
+import com.makersworld.oauth_inclass.security.VerifiedTokenCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * 게이트웨이/다운스트림 서비스를 위한 토큰 검사(introspection) 서비스 (RFC 7662 형식)
+ * 서명 검증은 JwtService 를 그대로 사용하고, 검증 결과는 VerifiedTokenCache 를 통해 토큰의 exp 까지 재사용합니다.
+ * 리프레시 토큰(role 없음)은 서명이 유효해도 이미 교체(사용)되었거나 폐기된 경우 비활성으로 응답합니다.
+ * 여러 토큰은 전용 워커 풀에서 병렬로 검증합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenIntrospectionService {
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenStore refreshTokenStore;
+    private final JwtProperties jwtProperties;
+    private final ForkJoinPool jwtWorkerPool;
+
+    /**
+     * 토큰 하나를 검사합니다.
+     * @param token JWT 토큰
+     * @return 검사 결과 (유효하지 않으면 active=false)
+     */
+    public IntrospectionResponse introspect(String token) {
+        if (token == null || token.isBlank()) {
+            return IntrospectionResponse.inactive();
+        }
+        try {
+            VerifiedToken verified = verifiedTokenCache.verify(token);
+            if (tokenRevocationService.isRevoked(verified)) {
+                return IntrospectionResponse.inactive();
+            }
+            if (verified.getRole() == null && !refreshTokenStore.isActive(verified)) {
+                return IntrospectionResponse.inactive(); // 교체되었거나 family 가 폐기된 리프레시 토큰
+            }
+            return IntrospectionResponse.builder()
+                    .active(true)
+                    .sub(verified.getSubject())
+                    .role(verified.getRole())
+                    .exp(verified.getExpiration() != null ? verified.getExpiration().getTime() / 1000 : null)
+                    .iat(verified.getIssuedAt() != null ? verified.getIssuedAt().getTime() / 1000 : null)
+                    .build();
+        } catch (RuntimeException e) {
+            log.debug("토큰 검사 결과 비활성: {}", e.getMessage());
+            return IntrospectionResponse.inactive();
+        }
+    }
+
+    /**
+     * 여러 토큰을 병렬로 검사합니다. 결과 순서는 요청 순서와 같습니다.
+     * @param tokens JWT 토큰 목록
+     * @return 검사 결과 목록
+     * @throws BatchTooLargeException 요청 크기가 app.jwt.introspection.max-batch-size 를 넘는 경우
+     */
+    public List<IntrospectionResponse> introspectAll(List<String> tokens) {
+        if (tokens == null || tokens.isEmpty()) {
+            return List.of();
+        }
+        int maxBatchSize = jwtProperties.getIntrospection().getMaxBatchSize();
+        if (tokens.size() > maxBatchSize) {
+            throw new BatchTooLargeException("일괄 검사 최대 건수(" + maxBatchSize + ")를 초과했습니다.", maxBatchSize);
+        }
+        if (tokens.size() == 1) {
+            return List.of(introspect(tokens.get(0)));
+        }
+        // ForkJoinPool 안에서 실행한 parallelStream 은 해당 풀의 워커만 사용 (순서 유지)
+        return jwtWorkerPool.submit(() -> tokens.parallelStream()
+                .map(this::introspect)
+                .collect(Collectors.toList())).join();
+    }
+}
@@ -0,0 +1,228 @@
+package com.makersworld.oauth_inclass.service;
+
+import com.makersworld.oauth_inclass.config.JwtProperties;
+import com.makersworld.oauth_inclass.model.RevokedToken;
+import com.makersworld.oauth_inclass.repository.RevokedTokenRepository;
+import com.makersworld.oauth_inclass.security.RevocationSet;
+import com.makersworld.oauth_inclass.security.VerifiedToken;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 만료 전 토큰 폐기(revocation) 서비스
+ *
+ * 폐기된 jti 는 revoked_tokens 테이블에 기록되고, 각 인스턴스는 주기적으로 최근 폐기된 행만 읽어
+ * 메모리의 RevocationSet 스냅샷(블룸 필터 + 정렬된 long[])에 반영합니다.
+ * 요청 경로의 isRevoked 는 DB 를 조회하지 않으며, 대부분의 "폐기되지 않음" 판정은 블룸 필터에서 끝납니다. (할당 없음)
+ *
+ * 증분 조회는 id 가 아니라 폐기 시각(revoked_at) 기준입니다. IDENTITY id 는 커밋 순서와 다를 수 있어 "마지막 id 이후"만 읽으면
+ * 늦게 커밋된 행을 놓칠 수 있으므로, 이전 조회 시작 시각보다 pollOverlap 만큼 앞선 시각 이후의 행을 매번 다시 읽습니다.
+ * (이미 반영된 행은 스냅샷에서 건너뜀)
+ * - 다른 인스턴스에서 폐기한 토큰은 최대 pollInterval 만큼 늦게 반영됩니다.
+ * - 보장 범위: 폐기 시각 기록부터 커밋까지의 지연과 인스턴스 간 시계 차이의 합이 pollOverlap 이내인 행은 반드시 읽습니다.
+ *   이를 넘겨 커밋된 행은 해당 인스턴스가 재시작(전체 조회)할 때까지 반영되지 않을 수 있습니다.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final JwtProperties jwtProperties;
+
+    private volatile RevocationSet revocationSet;
+    // 스냅샷 교체 직렬화용 (DB 호출은 잠금 밖에서 수행, ReentrantLock 은 가상 스레드를 고정하지 않음)
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private Instant lastPollStartedAt = Instant.EPOCH; // 폴링 스레드만 갱신 (첫 조회는 전체)
+    private long lastCleanupMs = System.currentTimeMillis();
+    private ScheduledExecutorService poller;
+
+    private final LongAdder negatives = new LongAdder();        // 블룸 필터에서 바로 통과
+    private final LongAdder falsePositives = new LongAdder();   // 블룸 필터는 통과했지만 정확한 집합에 없음
+    private final LongAdder revoked = new LongAdder();          // 폐기된 토큰
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository, JwtProperties jwtProperties,
+                                  MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.jwtProperties = jwtProperties;
+        this.revocationSet = RevocationSet.empty(jwtProperties.getRevocation().getBloomFpp());
+
+        FunctionCounter.builder("jwt.revocation.checks", negatives, LongAdder::sum)
+                .tag("result", "negative").register(meterRegistry);
+        FunctionCounter.builder("jwt.revocation.checks", falsePositives, LongAdder::sum)
+                .tag("result", "false_positive").register(meterRegistry);
+        FunctionCounter.builder("jwt.revocation.checks", revoked, LongAdder::sum)
+                .tag("result", "revoked").register(meterRegistry);
+        Gauge.builder("jwt.revocation.size", this, service -> service.revocationSet.size())
+                .register(meterRegistry);
+        Gauge.builder("jwt.revocation.bloom.fpp", this, service -> service.revocationSet.expectedFalsePositiveRate())
+                .tag("kind", "expected").register(meterRegistry);
+        Gauge.builder("jwt.revocation.bloom.fpp", this, TokenRevocationService::getObservedFalsePositiveRate)
+                .tag("kind", "observed").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        long intervalMs = jwtProperties.getRevocation().getPollInterval().toMillis();
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "jwt-revocation-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 첫 실행에서 만료되지 않은 폐기 목록 전체를 읽음
+        poller.scheduleWithFixedDelay(this::poll, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        poller.shutdownNow();
+    }
+
+    /**
+     * 토큰이 폐기되었는지 확인합니다. (요청 경로용, DB 조회/할당 없음)
+     * @param token 검증된 토큰
+     * @return 폐기 여부 (jti 가 없는 토큰은 폐기할 수 없으므로 false)
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        if (token.getTokenId() == null) {
+            return false;
+        }
+        RevocationSet current = revocationSet;
+        long hash = token.getTokenIdHash();
+        if (!current.mightContain(hash)) {
+            negatives.increment();
+            return false;
+        }
+        if (!current.contains(hash)) {
+            falsePositives.increment();
+            return false;
+        }
+        revoked.increment();
+        return true;
+    }
+
+    /**
+     * 토큰을 만료 전에 폐기합니다. DB 에 기록한 뒤 이 인스턴스에는 즉시 반영합니다.
+     * 같은 토큰을 동시에/다시 폐기하면 jti 유니크 제약 위반으로 끝나므로 이미 폐기된 것으로 보고 그대로 진행합니다. (멱등)
+     * @param token 검증된 토큰
+     * @throws RuntimeException jti 가 없는 토큰인 경우
+     */
+    public void revoke(VerifiedToken token) {
+        if (token.getTokenId() == null) {
+            throw new RuntimeException("식별자(jti)가 없는 토큰은 폐기할 수 없습니다.");
+        }
+        Instant expiresAt = token.getExpiration().toInstant();
+        try {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .jti(token.getTokenId())
+                    .expiresAt(expiresAt)
+                    .revokedAt(Instant.now())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("이미 폐기된 토큰입니다: jti={}", token.getTokenId());
+        }
+        updateLock.lock();
+        try {
+            revocationSet = revocationSet.with(new long[]{token.getTokenIdHash()},
+                    new long[]{expiresAt.toEpochMilli()}, System.currentTimeMillis());
+        } finally {
+            updateLock.unlock();
+        }
+        log.info("토큰이 폐기되었습니다: jti={}", token.getTokenId());
+    }
+
+    /**
+     * 이전 조회 시작 시각 - pollOverlap 이후에 폐기된 행을 읽어 스냅샷에 반영합니다.
+     */
+    void poll() {
+        try {
+            long nowMs = System.currentTimeMillis();
+            Instant since = lastPollStartedAt.equals(Instant.EPOCH)
+                    ? Instant.EPOCH
+                    : lastPollStartedAt.minus(jwtProperties.getRevocation().getPollOverlap());
+            RevocationSet snapshot = revocationSet;
+            long[] hashes = new long[0];
+            long[] expiresAt = new long[0];
+            int count = 0;
+
+            // 1. 최근 폐기 행 조회 (잠금 밖에서 수행 - 요청 스레드의 revoke 를 DB 왕복 동안 막지 않음)
+            //    같은 시각 구간 안에서는 id 로 페이지를 나눔
+            List<RevokedToken> page;
+            long cursor = 0;
+            do {
+                page = revokedTokenRepository.findTop1000ByRevokedAtGreaterThanEqualAndIdGreaterThanOrderByIdAsc(since, cursor);
+                for (RevokedToken row : page) {
+                    cursor = row.getId();
+                    long hash = RevocationSet.hash(row.getJti());
+                    if (snapshot.contains(hash) || row.getExpiresAt().toEpochMilli() <= nowMs) {
+                        continue;
+                    }
+                    if (count == hashes.length) {
+                        hashes = Arrays.copyOf(hashes, Math.max(16, count * 2));
+                        expiresAt = Arrays.copyOf(expiresAt, hashes.length);
+                    }
+                    hashes[count] = hash;
+                    expiresAt[count++] = row.getExpiresAt().toEpochMilli();
+                }
+            } while (page.size() == PAGE_SIZE);
+            lastPollStartedAt = Instant.ofEpochMilli(nowMs);
+
+            boolean cleanup = nowMs - lastCleanupMs >= jwtProperties.getRevocation().getCleanupInterval().toMillis();
+            if (cleanup) {
+                lastCleanupMs = nowMs;
+                revokedTokenRepository.deleteExpired(Instant.ofEpochMilli(nowMs));
+            }
+
+            // 2. 스냅샷 병합/교체 (메모리 작업만 잠금 안에서)
+            updateLock.lock();
+            try {
+                RevocationSet current = revocationSet;
+                RevocationSet next = count > 0
+                        ? current.with(Arrays.copyOf(hashes, count), Arrays.copyOf(expiresAt, count), nowMs)
+                        : current;
+                if (cleanup) {
+                    next = next.prune(nowMs);
+                }
+                if (next != current) {
+                    revocationSet = next;
+                    log.debug("토큰 폐기 목록 갱신: {}건 (블룸 필터 {}비트, 해시 함수 {}개)",
+                            next.size(), next.getBloomBits(), next.getHashFunctions());
+                }
+            } finally {
+                updateLock.unlock();
+            }
+        } catch (RuntimeException e) {
+            log.error("토큰 폐기 목록 조회 실패 - 다음 주기에 다시 시도합니다.", e);
+        }
+    }
+
+    /**
+     * 블룸 필터를 통과한 조회 중 실제로는 폐기되지 않은 비율
+     * @return 관측된 오탐률
+     */
+    public double getObservedFalsePositiveRate() {
+        long fp = falsePositives.sum();
+        long total = fp + negatives.sum();
+        return total == 0 ? 0.0 : (double) fp / total;
+    }
+
+    public int size() {
+        return revocationSet.size();
+    }
+}
@@ -0,0 +1,241 @@
+package com.makersworld.oauth_inclass.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.makersworld.oauth_inclass.dto.KakaoUserInfoResponse;
+import com.makersworld.oauth_inclass.dto.NaverUserInfoResponse;
+import com.makersworld.oauth_inclass.dto.UserInfoResponse;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 제공자 userinfo 응답을 스트리밍 JsonParser 로 읽어 UserInfoResponse 를 바로 만듭니다.
+ *
+ * 제공자 DTO 나 JsonNode 트리를 만들지 않고 id / email / name / picture 만 꺼내며, 나머지 필드는 skipChildren 으로 건너뜁니다.
+ * (Kakao 의 kakao_account 동의 플래그들, Naver 의 gender/age/mobile 등은 문자열로도 만들지 않음)
+ * 값이 없을 때의 기본값 규칙(더미 이메일, 기본 닉네임/이름)은 DTO 의 정적 메서드를 그대로 사용합니다.
+ */
+public final class UserInfoJsonDecoder {
+
+    // WebClient 기본 코덱의 메모리 버퍼 제한과 같은 값
+    private static final int MAX_BODY_BYTES = 256 * 1024;
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private UserInfoJsonDecoder() {
+    }
+
+    @FunctionalInterface
+    public interface Reader {
+        UserInfoResponse read(InputStream json) throws IOException;
+    }
+
+    /**
+     * 응답 본문 버퍼를 모아 한 번에 읽습니다. (byte[] 로 복사하지 않고 버퍼를 직접 읽은 뒤 해제)
+     * @param body retrieve().bodyToFlux(DataBuffer.class)
+     * @param reader 제공자별 디코더 (google / kakao / naver)
+     * @return 사용자 정보 (디코더가 null 을 반환하면 빈 Mono)
+     */
+    public static Mono<UserInfoResponse> decode(Flux<DataBuffer> body, Reader reader) {
+        return DataBufferUtils.join(body, MAX_BODY_BYTES)
+                .mapNotNull(buffer -> {
+                    try (InputStream in = buffer.asInputStream(true)) {
+                        return reader.read(in);
+                    } catch (IOException e) {
+                        throw new RuntimeException("사용자 정보 응답을 읽을 수 없습니다.", e);
+                    }
+                });
+    }
+
+    /**
+     * Google: { "id", "email", "verified_email", "name", "picture", ... }
+     * 사용자는 이메일로 매칭되므로 확인되지 않은 이메일로는 로그인시키지 않습니다. (OIDC userinfo 의 email_verified 도 허용)
+     * @return 사용자 정보 (이메일이 없거나 verified_email 이 true 가 아니면 null)
+     */
+    public static UserInfoResponse google(InputStream json) throws IOException {
+        String id = null, email = null, name = null, picture = null;
+        boolean verified = false;
+        try (JsonParser parser = JSON.createParser(json)) {
+            startObject(parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "id", "sub" -> id = text(parser);
+                    case "email" -> email = text(parser);
+                    case "verified_email", "email_verified" -> verified = isTrue(parser);
+                    case "name" -> name = text(parser);
+                    case "picture" -> picture = text(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        if (email == null || !verified) {
+            return null;
+        }
+        return UserInfoResponse.builder().id(id).email(email).name(name).picture(picture).build();
+    }
+
+    /**
+     * Kakao: { "id": 숫자, "properties": { nickname, profile_image }, "kakao_account": { email, profile: { nickname, profile_image_url } } }
+     * 닉네임/이미지는 kakao_account.profile 이 있으면 그 값을, 없으면 properties 값을 씁니다. (KakaoUserInfoResponse 와 같은 규칙)
+     */
+    public static UserInfoResponse kakao(InputStream json) throws IOException {
+        Long id = null;
+        String email = null, profileNickname = null, profileImage = null, propertiesNickname = null, propertiesImage = null;
+        boolean hasProfile = false;
+        try (JsonParser parser = JSON.createParser(json)) {
+            startObject(parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "id" -> id = longValue(parser);
+                    case "properties" -> {
+                        if (!isObject(parser)) {
+                            continue;
+                        }
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String key = parser.currentName();
+                            parser.nextToken();
+                            switch (key) {
+                                case "nickname" -> propertiesNickname = text(parser);
+                                case "profile_image" -> propertiesImage = text(parser);
+                                default -> parser.skipChildren();
+                            }
+                        }
+                    }
+                    case "kakao_account" -> {
+                        if (!isObject(parser)) {
+                            continue;
+                        }
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String key = parser.currentName();
+                            parser.nextToken();
+                            if (key.equals("email")) {
+                                email = text(parser);
+                            } else if (key.equals("profile") && isObject(parser)) {
+                                hasProfile = true;
+                                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                                    String profileKey = parser.currentName();
+                                    parser.nextToken();
+                                    switch (profileKey) {
+                                        case "nickname" -> profileNickname = text(parser);
+                                        case "profile_image_url" -> profileImage = text(parser);
+                                        default -> parser.skipChildren();
+                                    }
+                                }
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        String nickname = hasProfile ? profileNickname : propertiesNickname;
+        return UserInfoResponse.builder()
+                .id(String.valueOf(id))
+                .email(KakaoUserInfoResponse.validatedEmail(email, id))
+                .name(KakaoUserInfoResponse.validatedNickname(nickname, id))
+                .picture(hasProfile ? profileImage : propertiesImage)
+                .build();
+    }
+
+    /**
+     * Naver: { "resultcode": "00", "message", "response": { id, email, name, nickname, profile_image, ... } }
+     * @return 사용자 정보 (resultcode 가 "00" 이 아니면 null)
+     */
+    public static UserInfoResponse naver(InputStream json) throws IOException {
+        String resultcode = null, id = null, email = null, name = null, nickname = null, profileImage = null;
+        try (JsonParser parser = JSON.createParser(json)) {
+            startObject(parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if (field.equals("resultcode")) {
+                    resultcode = text(parser);
+                } else if (field.equals("response") && isObject(parser)) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String key = parser.currentName();
+                        parser.nextToken();
+                        switch (key) {
+                            case "id" -> id = text(parser);
+                            case "email" -> email = text(parser);
+                            case "name" -> name = text(parser);
+                            case "nickname" -> nickname = text(parser);
+                            case "profile_image" -> profileImage = text(parser);
+                            default -> parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        if (!"00".equals(resultcode)) {
+            return null;
+        }
+        return UserInfoResponse.builder()
+                .id(id)
+                .email(NaverUserInfoResponse.validatedEmail(email, id))
+                .name(NaverUserInfoResponse.validatedName(name, nickname, id))
+                .picture(profileImage)
+                .build();
+    }
+
+    private static void startObject(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new RuntimeException("사용자 정보 응답이 JSON 객체가 아닙니다.");
+        }
+    }
+
+    // 객체면 true, 그 외(null, 배열 등)는 건너뛰고 false
+    private static boolean isObject(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            return true;
+        }
+        parser.skipChildren();
+        return false;
+    }
+
+    private static String text(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getText();
+    }
+
+    // boolean true 또는 "true" 문자열만 true
+    private static boolean isTrue(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token.isStructStart()) {
+            parser.skipChildren();
+            return false;
+        }
+        return token == JsonToken.VALUE_TRUE || (token == JsonToken.VALUE_STRING && "true".equals(parser.getText()));
+    }
+
+    private static Long longValue(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT -> parser.getLongValue();
+            case VALUE_STRING -> Long.valueOf(parser.getText());
+            case VALUE_NULL -> null;
+            default -> {
+                parser.skipChildren();
+                yield null;
+            }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.makersworld.oauth_inclass.service;
+
+import com.makersworld.oauth_inclass.dto.UserInfoResponse;
+import com.makersworld.oauth_inclass.enums.Provider;
+import com.makersworld.oauth_inclass.model.User;
+import com.makersworld.oauth_inclass.repository.UserRepository;
+import com.makersworld.oauth_inclass.repository.UserUpsertRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 로그인 시 OAuth 제공자의 사용자 정보를 DB 와 동기화합니다.
+ *
+ * 로그인 중 DB 커넥션을 잡는 유일한 단계입니다. 제공자 호출과 토큰 서명은 이 트랜잭션 밖에서 수행하므로
+ * 커넥션은 사용자/프로필 쓰기 동안만 사용됩니다.
+ * 기존 사용자는 조회 한 번(이름이 바뀌면 UPDATE 추가), 신규 사용자는 uk_email upsert 와 프로필 INSERT 로 끝납니다. (UserUpsertRepository)
+ * 메트릭: auth.signin.user.sync{result=inserted|updated|unchanged}
+ */
+@Service
+@RequiredArgsConstructor
+public class UserSyncService {
+
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 기존 사용자는 이름을 갱신하고, 신규 사용자는 프로필 사진으로 프로필과 함께 생성합니다.
+     * 같은 이메일로 동시에 처음 로그인하면 upsert 가 먼저 생성된 행을 갱신하므로 오류가 나지 않습니다.
+     * @param provider 로그인한 OAuth 제공자
+     * @param userInfo 제공자에서 받은 사용자 정보
+     * @return 동기화된 사용자 (비영속, 이메일/이름/역할만 사용)
+     */
+    @Transactional
+    public User sync(Provider provider, UserInfoResponse userInfo) {
+        UserUpsertRepository.Result result = userRepository.upsertForSignIn(
+                userInfo.getEmail(), userInfo.getName(), provider, userInfo.getId(), userInfo.getPicture());
+        syncCounter(result).increment();
+        return result.getUser();
+    }
+
+    private Counter syncCounter(UserUpsertRepository.Result result) {
+        return Counter.builder("auth.signin.user.sync")
+                .description("로그인 사용자 동기화 결과")
+                .tag("result", result.getOutcome().name().toLowerCase())
+                .register(meterRegistry); // 이미 등록된 카운터는 그대로 반환
+    }
+}
@@ -28,4 +28,30 @@ CREATE TABLE `user_profiles` (
   UNIQUE INDEX `uk_user_id` (`user_id` ASC), -- 한 명의 유저는 하나의 프로필만 가짐
   -- users 테이블의 id를 참조하는 외래키. 사용자가 삭제되면 프로필도 함께 삭제됨 (CASCADE)
   CONSTRAINT `fk_user_profiles_user_id` FOREIGN KEY (`user_id`) REFERENCES `users` (`id`) ON DELETE CASCADE
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
\ No newline at end of file
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+-- 리프레시 토큰 교체(rotation) 상태를 저장하는 테이블
+CREATE TABLE `refresh_tokens` (
+  `jti` VARCHAR(36) NOT NULL, -- 리프레시 토큰 식별자 (JWT jti 클레임)
+  `family_id` VARCHAR(36) NOT NULL, -- 같은 로그인에서 이어진 토큰 묶음
+  `email` VARCHAR(255) NOT NULL,
+  `issued_at` TIMESTAMP(6) NOT NULL,
+  `expires_at` TIMESTAMP(6) NOT NULL,
+  `consumed_at` TIMESTAMP(6) NULL, -- 갱신에 사용된 시각 (한 번만 사용 가능)
+  `revoked_at` TIMESTAMP(6) NULL, -- 재사용 감지로 family 전체가 폐기된 시각
+  `replaced_by` VARCHAR(36) NULL, -- 교체로 발급한 후속 토큰 jti (유예 기간 안의 재시도에 사용)
+  PRIMARY KEY (`jti`),
+  INDEX `idx_refresh_tokens_family_id` (`family_id` ASC),
+  INDEX `idx_refresh_tokens_expires_at` (`expires_at` ASC)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 만료 전에 폐기된 토큰(jti)을 저장하는 테이블 (각 인스턴스가 revoked_at 기준으로 증분 조회, 같은 시각 안에서는 id 순)
+CREATE TABLE `revoked_tokens` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `jti` VARCHAR(36) NOT NULL,
+  `expires_at` TIMESTAMP(6) NOT NULL, -- 토큰 만료 이후에는 폐기 목록에서 제외
+  `revoked_at` TIMESTAMP(6) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE INDEX `uk_jti` (`jti` ASC),
+  INDEX `idx_revoked_tokens_expires_at` (`expires_at` ASC),
+  INDEX `idx_revoked_tokens_revoked_at` (`revoked_at` ASC) -- 1초마다 도는 증분 조회가 전체 스캔하지 않도록
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,45 @@
+package com.makersworld.oauth_inclass.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 키 파일 감시: 리로드 콜백이 실패해도 감시 스레드가 살아 있어 다음 파일 교체를 처리하는지 확인합니다.
+ */
+class KeyFileWatcherTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void watcherKeepsRunningAfterFailedReload() throws Exception {
+        Path keyFile = directory.resolve("private.pem");
+        Files.writeString(keyFile, "v1");
+        AtomicInteger calls = new AtomicInteger();
+        Semaphore reloaded = new Semaphore(0);
+
+        try (KeyFileWatcher ignored = new KeyFileWatcher(List.of(keyFile), () -> {
+            int call = calls.incrementAndGet();
+            reloaded.release();
+            if (call == 1) {
+                throw new IllegalArgumentException("키 형식 오류"); // IllegalStateException 이 아닌 실패
+            }
+        })) {
+            Files.writeString(keyFile, "v2");
+            assertThat(reloaded.tryAcquire(10, TimeUnit.SECONDS)).isTrue();
+
+            Files.writeString(keyFile, "v3");
+            assertThat(reloaded.tryAcquire(10, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(calls.get()).isGreaterThanOrEqualTo(2);
+    }
+}
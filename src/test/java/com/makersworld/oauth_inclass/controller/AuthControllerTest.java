@@ -0,0 +1,178 @@
+package com.makersworld.oauth_inclass.controller;
+
+import com.makersworld.oauth_inclass.config.OAuth2ProviderProperties;
+import com.makersworld.oauth_inclass.dto.AuthResponse;
+import com.makersworld.oauth_inclass.security.AuthorizationQuotaExceededException;
+import com.makersworld.oauth_inclass.security.OAuthStateStore;
+import com.makersworld.oauth_inclass.security.PendingAuthorization;
+import com.makersworld.oauth_inclass.service.AuthService;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.filters.RemoteIpFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 리다이렉트 로그인: state 가 리다이렉트를 시작한 브라우저(쿠키)에 묶이는지 확인합니다.
+ * 저장소는 실제 OAuthStateStore 를 쓰고, 제공자 호출(AuthService)만 대역으로 둡니다.
+ */
+class AuthControllerTest {
+
+    private static final String CALLBACK_PATH = "/api/v1/auth/login/oauth2/code/google";
+
+    private final OAuth2ProviderProperties properties = new OAuth2ProviderProperties();
+    private final AuthService authService = mock(AuthService.class);
+    private OAuthStateStore stateStore;
+    private AuthController controller;
+
+    @BeforeEach
+    void setUp() {
+        properties.getState().setMaxEntriesPerClient(3);
+        stateStore = new OAuthStateStore(properties);
+        controller = new AuthController(authService, stateStore, properties);
+        when(authService.issueAuthorization(anyString(), any())).thenAnswer(invocation ->
+                stateStore.issue(invocation.getArgument(0), invocation.getArgument(1)));
+        when(authService.getAuthorizationUrl(any(PendingAuthorization.class))).thenAnswer(invocation ->
+                "https://accounts.example.test/auth?state=" + invocation.<PendingAuthorization>getArgument(0).getState());
+        when(authService.signInWithProviderAsync(eq("google"), anyString(), any()))
+                .thenReturn(Mono.just(new AuthResponse("access", "refresh", "Bearer", 60L, "user@example.com", "홍길동", null)));
+    }
+
+    @Test
+    void redirectSetsHttpOnlyStateCookieScopedToCallback() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.redirectToOAuthProvider("google", request(), response);
+
+        String state = stateOf(response.getRedirectedUrl());
+        String cookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertThat(cookie).startsWith("oauth_state=" + state + ";")
+                .contains("Path=" + CALLBACK_PATH, "HttpOnly", "SameSite=Lax", "Secure");
+    }
+
+    @Test
+    void callbackFromBrowserThatStartedTheFlowSignsInAndClearsCookie() throws Exception {
+        String state = redirect();
+        MockHttpServletRequest callback = request();
+        callback.setCookies(new Cookie("oauth_state", state));
+
+        ResponseEntity<AuthResponse> response = controller.oauthCallback("google", "code", state, callback).block();
+
+        assertThat(response.getBody().getAccessToken()).isEqualTo("access");
+        assertThat(response.getHeaders().getFirst(HttpHeaders.SET_COOKIE)).contains("oauth_state=;", "Max-Age=0");
+    }
+
+    @Test
+    void stateMintedByAnotherBrowserIsRejected() throws Exception {
+        String attackerState = redirect(); // 공격자가 자기 브라우저로 발급받은 state + 자기 인증 코드
+        String victimState = redirect();
+
+        MockHttpServletRequest withoutCookie = request();
+        assertThatThrownBy(() -> controller.oauthCallback("google", "attacker-code", attackerState, withoutCookie))
+                .hasMessageContaining("브라우저");
+
+        String anotherAttackerState = redirect();
+        MockHttpServletRequest victimBrowser = request();
+        victimBrowser.setCookies(new Cookie("oauth_state", victimState));
+        assertThatThrownBy(() -> controller.oauthCallback("google", "attacker-code", anotherAttackerState, victimBrowser))
+                .hasMessageContaining("브라우저");
+
+        verify(authService, never()).signInWithProviderAsync(anyString(), anyString(), any());
+    }
+
+    @Test
+    void unknownStateIsRejectedBeforeCookieCheck() {
+        MockHttpServletRequest callback = request();
+        callback.setCookies(new Cookie("oauth_state", "forged"));
+
+        assertThatThrownBy(() -> controller.oauthCallback("google", "code", "forged", callback))
+                .hasMessageContaining("state");
+    }
+
+    @Test
+    void clientsBehindLoadBalancerHaveSeparateQuotas() throws Exception {
+        // server.forward-headers-strategy=native 와 같은 기본값의 RemoteIpFilter (RemoteIpValve 의 필터 버전)
+        RemoteIpFilter forwardedHeaders = new RemoteIpFilter();
+        forwardedHeaders.init(new MockFilterConfig());
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(redirectViaLoadBalancer(forwardedHeaders, "198.51.100.10").getStatus()).isEqualTo(302);
+        }
+        // 같은 클라이언트의 4번째 요청만 거부되고, 같은 로드 밸런서를 거친 다른 클라이언트는 영향 없음
+        assertThatThrownBy(() -> redirectViaLoadBalancer(forwardedHeaders, "198.51.100.10"))
+                .isInstanceOfSatisfying(AuthorizationQuotaExceededException.class, e -> {
+                    ResponseEntity<Map<String, String>> response = controller.handleAuthorizationQuotaExceeded(e);
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                    assertThat(Long.parseLong(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER))).isPositive();
+                });
+        for (int i = 0; i < 3; i++) {
+            assertThat(redirectViaLoadBalancer(forwardedHeaders, "198.51.100.20").getStatus()).isEqualTo(302);
+        }
+    }
+
+    @Test
+    void forwardedForFromUntrustedAddressIsIgnored() throws Exception {
+        RemoteIpFilter forwardedHeaders = new RemoteIpFilter();
+        forwardedHeaders.init(new MockFilterConfig());
+
+        // 프록시가 아닌 공인 IP 에서 직접 보낸 X-Forwarded-For 로는 상한을 피할 수 없음
+        for (int i = 0; i < 3; i++) {
+            redirectThrough(forwardedHeaders, "203.0.113.9", "198.51.100." + i);
+        }
+        assertThatThrownBy(() -> redirectThrough(forwardedHeaders, "203.0.113.9", "198.51.100.99"))
+                .isInstanceOfSatisfying(AuthorizationQuotaExceededException.class,
+                        e -> assertThat(e.isPerClient()).isTrue());
+    }
+
+    // 로드 밸런서(10.0.0.5)가 원래 클라이언트 IP 를 X-Forwarded-For 로 전달
+    private MockHttpServletResponse redirectViaLoadBalancer(RemoteIpFilter forwardedHeaders, String client) throws Exception {
+        return redirectThrough(forwardedHeaders, "10.0.0.5", client);
+    }
+
+    private MockHttpServletResponse redirectThrough(RemoteIpFilter forwardedHeaders, String peer, String forwardedFor)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/auth/google");
+        request.setRemoteAddr(peer);
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        forwardedHeaders.doFilter(request, response, (req, res) ->
+                controller.redirectToOAuthProvider("google", (HttpServletRequest) req, (HttpServletResponse) res));
+        return response;
+    }
+
+    private String redirect() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.redirectToOAuthProvider("google", request(), response);
+        return stateOf(response.getRedirectedUrl());
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("203.0.113.7");
+        return request;
+    }
+
+    private static String stateOf(String url) {
+        return url.substring(url.indexOf("state=") + "state=".length());
+    }
+}
@@ -0,0 +1,67 @@
+package com.makersworld.oauth_inclass.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.makersworld.oauth_inclass.config.JwtProperties;
+import com.makersworld.oauth_inclass.dto.BatchTokenRequest;
+import com.makersworld.oauth_inclass.repository.UserRepository;
+import com.makersworld.oauth_inclass.service.BatchTooLargeException;
+import com.makersworld.oauth_inclass.service.JwtService;
+import com.makersworld.oauth_inclass.service.RefreshTokenStore;
+import com.makersworld.oauth_inclass.service.TokenBatchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 토큰 일괄 발급: 최대 건수를 넘는 요청은 스트리밍(200 커밋)을 시작하기 전에 413 으로 거절되는지 확인합니다.
+ */
+class TokenAdminControllerTest {
+
+    private final JwtProperties jwtProperties = new JwtProperties();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TokenAdminController controller;
+
+    TokenAdminControllerTest() {
+        jwtProperties.getBatch().setMaxSize(2);
+        TokenBatchService tokenBatchService = new TokenBatchService(userRepository, mock(JwtService.class),
+                mock(RefreshTokenStore.class), jwtProperties, ForkJoinPool.commonPool());
+        controller = new TokenAdminController(tokenBatchService, new ObjectMapper());
+    }
+
+    @Test
+    void oversizedBatchIsRejectedBeforeStreaming() {
+        assertThatThrownBy(() -> controller.issueTokens(request("a@example.com", "b@example.com", "c@example.com")))
+                .isInstanceOfSatisfying(BatchTooLargeException.class, e -> {
+                    ResponseEntity<Map<String, String>> response = controller.handleBatchTooLarge(e);
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+                    assertThat(response.getBody()).containsKey("error");
+                });
+        verify(userRepository, never()).findByEmailIn(any());
+    }
+
+    @Test
+    void duplicatesAreNotCountedAgainstTheLimit() {
+        ResponseEntity<StreamingResponseBody> response =
+                controller.issueTokens(request("a@example.com", "b@example.com", "a@example.com"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private static BatchTokenRequest request(String... emails) {
+        BatchTokenRequest request = new BatchTokenRequest();
+        request.setEmails(List.of(emails));
+        return request;
+    }
+}
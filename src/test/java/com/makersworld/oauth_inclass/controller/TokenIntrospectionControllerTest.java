@@ -0,0 +1,69 @@
+package com.makersworld.oauth_inclass.controller;
+
+import com.makersworld.oauth_inclass.config.JwtProperties;
+import com.makersworld.oauth_inclass.dto.IntrospectionRequest;
+import com.makersworld.oauth_inclass.dto.IntrospectionResponse;
+import com.makersworld.oauth_inclass.security.VerifiedTokenCache;
+import com.makersworld.oauth_inclass.service.BatchTooLargeException;
+import com.makersworld.oauth_inclass.service.RefreshTokenStore;
+import com.makersworld.oauth_inclass.service.TokenIntrospectionService;
+import com.makersworld.oauth_inclass.service.TokenRevocationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 토큰 일괄 검사: 최대 건수를 넘는 요청은 검사하지 않고 413 으로 거절되는지 확인합니다.
+ */
+class TokenIntrospectionControllerTest {
+
+    private final JwtProperties jwtProperties = new JwtProperties();
+    private final VerifiedTokenCache verifiedTokenCache = mock(VerifiedTokenCache.class);
+    private final TokenIntrospectionController controller;
+
+    TokenIntrospectionControllerTest() {
+        jwtProperties.getIntrospection().setMaxBatchSize(2);
+        TokenIntrospectionService service = new TokenIntrospectionService(verifiedTokenCache,
+                mock(TokenRevocationService.class), mock(RefreshTokenStore.class), jwtProperties, ForkJoinPool.commonPool());
+        controller = new TokenIntrospectionController(service);
+    }
+
+    @Test
+    void oversizedBatchIsRejectedWith413() {
+        assertThatThrownBy(() -> controller.introspectAll(request("a", "b", "c")))
+                .isInstanceOfSatisfying(BatchTooLargeException.class, e -> {
+                    ResponseEntity<Map<String, String>> response = controller.handleBatchTooLarge(e);
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+                    assertThat(response.getBody()).containsKey("error");
+                });
+        verify(verifiedTokenCache, never()).verify(anyString());
+    }
+
+    @Test
+    void batchAtTheLimitIsIntrospected() {
+        when(verifiedTokenCache.verify(anyString())).thenThrow(new RuntimeException("invalid signature"));
+
+        ResponseEntity<List<IntrospectionResponse>> response = controller.introspectAll(request("a", "b"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).hasSize(2).allSatisfy(result -> assertThat(result.isActive()).isFalse());
+    }
+
+    private static IntrospectionRequest request(String... tokens) {
+        IntrospectionRequest request = new IntrospectionRequest();
+        request.setTokens(List.of(tokens));
+        return request;
+    }
+}
@@ -0,0 +1,181 @@
+package com.makersworld.oauth_inclass.repository;
+
+import com.makersworld.oauth_inclass.enums.Provider;
+import com.makersworld.oauth_inclass.enums.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 로그인 사용자 동기화: 신규 / 기존(이름 변경 유무) / 동시 첫 로그인 결과와 실행한 문장 수를 확인합니다.
+ * users / user_profiles 는 MySQL 의 upsert 와 찾은 행 수(CLIENT_FOUND_ROWS) 규칙대로 동작하는 메모리 테이블입니다.
+ */
+class UserUpsertRepositoryImplTest {
+
+    private static final String EMAIL = "user@example.com";
+
+    private final Tables tables = new Tables();
+    private final UserUpsertRepositoryImpl repository = new UserUpsertRepositoryImpl(tables);
+
+    @Test
+    void newUserIsInsertedWithProfile() {
+        UserUpsertRepository.Result result =
+                repository.upsertForSignIn(EMAIL, "홍길동", Provider.GOOGLE, "google-1", "https://example.com/a.png");
+
+        assertThat(result.getOutcome()).isEqualTo(UserUpsertRepository.Result.Outcome.INSERTED);
+        assertThat(result.getUser().getRole()).isEqualTo(Role.USER);
+        assertThat(tables.users.get(EMAIL).name).isEqualTo("홍길동");
+        assertThat(tables.profiles).containsEntry(tables.users.get(EMAIL).id, "https://example.com/a.png");
+        assertThat(tables.statements).containsExactly(
+                UserUpsertRepositoryImpl.SELECT_SQL,
+                UserUpsertRepositoryImpl.UPSERT_USER_SQL,
+                UserUpsertRepositoryImpl.INSERT_PROFILE_SQL);
+    }
+
+    @Test
+    void existingUserWithSameNameNeedsOneRoundTrip() {
+        tables.insert(EMAIL, "홍길동", Role.ADMIN);
+
+        UserUpsertRepository.Result result =
+                repository.upsertForSignIn(EMAIL, "홍길동", Provider.GOOGLE, "google-1", null);
+
+        assertThat(result.getOutcome()).isEqualTo(UserUpsertRepository.Result.Outcome.UNCHANGED);
+        assertThat(result.getUser().getRole()).isEqualTo(Role.ADMIN); // 토큰에 넣을 역할은 DB 값
+        assertThat(tables.statements).containsExactly(UserUpsertRepositoryImpl.SELECT_SQL);
+    }
+
+    @Test
+    void existingUserWithNewNameIsUpdated() {
+        tables.insert(EMAIL, "홍길동", Role.ADMIN);
+
+        UserUpsertRepository.Result result =
+                repository.upsertForSignIn(EMAIL, "길동", Provider.GOOGLE, "google-1", null);
+
+        assertThat(result.getOutcome()).isEqualTo(UserUpsertRepository.Result.Outcome.UPDATED);
+        assertThat(result.getUser().getName()).isEqualTo("길동");
+        assertThat(result.getUser().getRole()).isEqualTo(Role.ADMIN);
+        assertThat(tables.users.get(EMAIL).name).isEqualTo("길동");
+        assertThat(tables.statements).containsExactly(
+                UserUpsertRepositoryImpl.SELECT_SQL, UserUpsertRepositoryImpl.UPDATE_NAME_SQL);
+    }
+
+    @Test
+    void concurrentFirstSignInUpdatesTheRowCreatedFirst() {
+        // 조회와 upsert 사이에 같은 이메일의 다른 첫 로그인이 사용자/프로필을 먼저 커밋함
+        tables.onSelectMiss = () -> {
+            long id = tables.insert(EMAIL, "다른 이름", Role.USER);
+            tables.profiles.put(id, "https://example.com/first.png");
+        };
+
+        UserUpsertRepository.Result result =
+                repository.upsertForSignIn(EMAIL, "홍길동", Provider.KAKAO, "kakao-1", "https://example.com/second.png");
+
+        assertThat(result.getOutcome()).isEqualTo(UserUpsertRepository.Result.Outcome.UPDATED);
+        assertThat(tables.users).hasSize(1);
+        assertThat(tables.users.get(EMAIL).name).isEqualTo("홍길동");
+        assertThat(tables.profiles).hasSize(1).containsValue("https://example.com/first.png"); // 프로필은 중복 생성되지 않음
+    }
+
+    @Test
+    void concurrentFirstSignInWithSameNameCountsAsInserted() {
+        tables.onSelectMiss = () -> tables.profiles.put(tables.insert(EMAIL, "홍길동", Role.USER), null);
+
+        UserUpsertRepository.Result result =
+                repository.upsertForSignIn(EMAIL, "홍길동", Provider.GOOGLE, "google-1", null);
+
+        // 찾은 행 수는 삽입과 같은 1 (두 로그인 모두 방금 생성된 사용자로 집계)
+        assertThat(result.getOutcome()).isEqualTo(UserUpsertRepository.Result.Outcome.INSERTED);
+        assertThat(tables.users).hasSize(1);
+        assertThat(tables.profiles).hasSize(1);
+    }
+
+    /**
+     * users / user_profiles 테이블 대역 (한 커넥션: LAST_INSERT_ID 는 마지막 upsert 값)
+     */
+    private static final class Tables extends JdbcTemplate {
+        private final Map<String, Row> users = new HashMap<>();
+        private final Map<Long, String> profiles = new HashMap<>();
+        private final List<String> statements = new ArrayList<>();
+        private Runnable onSelectMiss = () -> { };
+        private long nextId = 1;
+        private long lastInsertId;
+
+        long insert(String email, String name, Role role) {
+            Row row = new Row(nextId++, name, role);
+            users.put(email, row);
+            return row.id;
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            statements.add(sql);
+            assertThat(sql).isEqualTo(UserUpsertRepositoryImpl.SELECT_SQL);
+            Row row = users.get((String) args[0]);
+            if (row == null) {
+                onSelectMiss.run();
+                return List.of();
+            }
+            try {
+                ResultSet resultSet = mock(ResultSet.class);
+                when(resultSet.getString("name")).thenReturn(row.name);
+                when(resultSet.getString("provider")).thenReturn(Provider.GOOGLE.name());
+                when(resultSet.getString("provider_id")).thenReturn("google-1");
+                when(resultSet.getString("role")).thenReturn(row.role.name());
+                return List.of(rowMapper.mapRow(resultSet, 0));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            statements.add(sql);
+            if (sql.equals(UserUpsertRepositoryImpl.UPDATE_NAME_SQL)) {
+                Row row = users.get((String) args[1]);
+                row.name = (String) args[0];
+                return 1;
+            }
+            if (sql.equals(UserUpsertRepositoryImpl.UPSERT_USER_SQL)) {
+                Row row = users.get((String) args[0]);
+                if (row == null) {
+                    lastInsertId = insert((String) args[0], (String) args[1], Role.valueOf((String) args[4]));
+                    return 1;
+                }
+                lastInsertId = row.id; // id = LAST_INSERT_ID(id)
+                if (row.name.equals(args[1])) {
+                    return 1; // 값이 같아도 찾은 행 수는 1
+                }
+                row.name = (String) args[1];
+                return 2;
+            }
+            if (sql.equals(UserUpsertRepositoryImpl.INSERT_PROFILE_SQL)) {
+                profiles.putIfAbsent(lastInsertId, (String) args[0]);
+                return 1;
+            }
+            throw new IllegalArgumentException(sql);
+        }
+    }
+
+    private static final class Row {
+        private final long id;
+        private String name;
+        private final Role role;
+
+        Row(long id, String name, Role role) {
+            this.id = id;
+            this.name = name;
+            this.role = role;
+        }
+    }
+}
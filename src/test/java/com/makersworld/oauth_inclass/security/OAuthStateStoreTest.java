@@ -0,0 +1,115 @@
+package com.makersworld.oauth_inclass.security;
+
+import com.makersworld.oauth_inclass.config.OAuth2ProviderProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * state / PKCE 저장소 테스트: 1회용 소비, PKCE challenge, 버킷 교체에 따른 만료, 발급 상한
+ * ttl 10분, 버킷 11개 -> 버킷 하나는 1분
+ */
+class OAuthStateStoreTest {
+
+    private static final long MINUTE = 60_000L;
+
+    private final AtomicLong now = new AtomicLong(1_000 * MINUTE);
+    private OAuth2ProviderProperties properties;
+    private OAuthStateStore store;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OAuth2ProviderProperties();
+        properties.getState().setTtl(Duration.ofMinutes(10));
+        properties.getState().setBuckets(11);
+        properties.getState().setMaxEntries(1_100);        // 버킷당 100건
+        properties.getState().setMaxEntriesPerClient(5);
+        properties.getState().setPkceProviders(List.of("google"));
+        store = new OAuthStateStore(properties, now::get);
+    }
+
+    @Test
+    void stateCanBeConsumedOnlyOnceByTheSameProvider() {
+        PendingAuthorization issued = store.issue("kakao");
+
+        assertThat(store.consume("google", issued.getState())).isNull();   // 다른 제공자의 콜백 (state 도 소비됨)
+        assertThat(store.consume("kakao", issued.getState())).isNull();
+
+        PendingAuthorization second = store.issue("kakao");
+        assertThat(store.consume("kakao", second.getState())).isSameAs(second);
+        assertThat(store.consume("kakao", second.getState())).isNull();
+        assertThat(store.consume("kakao", null)).isNull();
+    }
+
+    @Test
+    void pkceVerifierIsIssuedOnlyForConfiguredProvidersWithS256Challenge() throws Exception {
+        PendingAuthorization google = store.issue("google");
+        PendingAuthorization naver = store.issue("naver");
+
+        assertThat(naver.getCodeVerifier()).isNull();
+        assertThat(naver.getCodeChallenge()).isNull();
+        assertThat(google.getCodeVerifier()).hasSize(43).matches("[A-Za-z0-9_-]+");
+        byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(google.getCodeVerifier().getBytes(StandardCharsets.US_ASCII));
+        assertThat(google.getCodeChallenge()).isEqualTo(Base64.getUrlEncoder().withoutPadding().encodeToString(digest));
+        assertThat(google.getState()).isNotEqualTo(naver.getState()).hasSize(22);
+    }
+
+    @Test
+    void stateSurvivesTtlAndExpiresWhenItsBucketIsReused() {
+        PendingAuthorization early = store.issue("kakao");
+        PendingAuthorization late = store.issue("kakao");
+
+        now.addAndGet(10 * MINUTE); // ttl 경과: 아직 살아 있는 버킷 (최소 ttl 보장)
+        assertThat(store.consume("kakao", early.getState())).isSameAs(early);
+
+        now.addAndGet(MINUTE);      // 발급 버킷이 만료 범위를 벗어남 (교체 전이어도 조회하지 않음)
+        assertThat(store.consume("kakao", late.getState())).isNull();
+
+        store.issue("kakao");       // 같은 칸이 새 버킷으로 교체된 뒤에도 조회되지 않음
+        assertThat(store.consume("kakao", late.getState())).isNull();
+    }
+
+    @Test
+    void perClientLimitIsRejectedWith429SemanticsAndResetsNextBucket() {
+        for (int i = 0; i < 5; i++) {
+            store.issue("kakao", "203.0.113.1");
+        }
+
+        assertThatThrownBy(() -> store.issue("kakao", "203.0.113.1"))
+                .isInstanceOfSatisfying(AuthorizationQuotaExceededException.class, e -> {
+                    assertThat(e.isPerClient()).isTrue();
+                    assertThat(e.getRetryAfter()).isPositive().isLessThanOrEqualTo(Duration.ofMinutes(1));
+                });
+        // 다른 클라이언트는 영향받지 않음
+        assertThat(store.issue("kakao", "203.0.113.2")).isNotNull();
+
+        now.addAndGet(MINUTE);
+        assertThat(store.issue("kakao", "203.0.113.1")).isNotNull();
+    }
+
+    @Test
+    void fullStoreIsRejectedWith503SemanticsWithoutGrowingClientCounters() {
+        for (int i = 0; i < 100; i++) {
+            store.issue("kakao", "198.51.100." + i);
+        }
+
+        assertThatThrownBy(() -> store.issue("kakao", "192.0.2.1"))
+                .isInstanceOfSatisfying(AuthorizationQuotaExceededException.class,
+                        e -> assertThat(e.isPerClient()).isFalse());
+        assertThatThrownBy(() -> store.issue("kakao"))
+                .isInstanceOf(AuthorizationQuotaExceededException.class);
+
+        now.addAndGet(MINUTE); // 다음 버킷은 새 상한
+        assertThat(store.issue("kakao", "192.0.2.1")).isNotNull();
+    }
+}
@@ -0,0 +1,125 @@
+package com.makersworld.oauth_inclass.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RevocationSet 병합/블룸 필터 공유/만료 정리 테스트
+ */
+class RevocationSetTest {
+
+    private static final long NOW = 1_000_000L;
+    private static final long LATER = NOW + 60_000L;
+
+    @Test
+    void addedHashesAreFoundAndSnapshotsStayImmutable() {
+        RevocationSet empty = RevocationSet.empty(0.01);
+        long a = RevocationSet.hash("jti-a");
+        long b = RevocationSet.hash("jti-b");
+
+        RevocationSet one = empty.with(new long[]{a}, new long[]{LATER}, NOW);
+        RevocationSet two = one.with(new long[]{b}, new long[]{LATER}, NOW);
+
+        assertThat(two.contains(a)).isTrue();
+        assertThat(two.contains(b)).isTrue();
+        assertThat(two.mightContain(a)).isTrue();
+        assertThat(two.mightContain(b)).isTrue();
+        // 이전 스냅샷의 정확한 집합은 그대로 (블룸 필터 비트는 공유되어 늘 수 있음)
+        assertThat(one.contains(b)).isFalse();
+        assertThat(one.size()).isEqualTo(1);
+        assertThat(empty.size()).isZero();
+    }
+
+    @Test
+    void mergeKeepsOrderAndDeduplicatesWithLatestExpiry() {
+        Random random = new Random(42);
+        Set<Long> expected = new HashSet<>();
+        RevocationSet set = RevocationSet.empty(0.01);
+        // 여러 번에 나눠 추가하며 capacity 를 넘겨 블룸 필터 재생성도 거침
+        for (int round = 0; round < 20; round++) {
+            long[] hashes = new long[50];
+            long[] expiresAt = new long[50];
+            for (int i = 0; i < hashes.length; i++) {
+                // 음수 해시와 같은 배치 내/배치 간 중복 포함
+                hashes[i] = i % 10 == 0 && !expected.isEmpty() ? expected.iterator().next() : random.nextLong();
+                expiresAt[i] = LATER + i;
+                expected.add(hashes[i]);
+            }
+            set = set.with(hashes, expiresAt, NOW);
+        }
+
+        assertThat(set.size()).isEqualTo(expected.size());
+        for (long hash : expected) {
+            assertThat(set.mightContain(hash)).isTrue();
+            assertThat(set.contains(hash)).isTrue();
+        }
+        assertThat(set.contains(random.nextLong())).isFalse();
+    }
+
+    @Test
+    void expiredEntriesAreSkippedOnAddAndDroppedOnPrune() {
+        long shortLived = RevocationSet.hash("short");
+        long longLived = RevocationSet.hash("long");
+        RevocationSet set = RevocationSet.empty(0.01)
+                .with(new long[]{shortLived, longLived, RevocationSet.hash("expired")},
+                        new long[]{NOW + 10, LATER, NOW - 1}, NOW);
+
+        assertThat(set.size()).isEqualTo(2);
+        assertThat(set.prune(NOW)).isSameAs(set);
+
+        RevocationSet pruned = set.prune(NOW + 10);
+        assertThat(pruned.size()).isEqualTo(1);
+        assertThat(pruned.contains(shortLived)).isFalse();
+        assertThat(pruned.contains(longLived)).isTrue();
+    }
+
+    @Test
+    void duplicateKeepsLatestExpiry() {
+        long hash = RevocationSet.hash("jti");
+        RevocationSet set = RevocationSet.empty(0.01)
+                .with(new long[]{hash}, new long[]{NOW + 10}, NOW)
+                .with(new long[]{hash, hash}, new long[]{LATER, NOW + 5}, NOW);
+
+        assertThat(set.size()).isEqualTo(1);
+        assertThat(set.prune(NOW + 10).contains(hash)).isTrue();
+    }
+
+    @Test
+    void addingNothingReturnsSameSnapshot() {
+        RevocationSet set = RevocationSet.empty(0.01);
+
+        assertThat(set.with(new long[0], new long[0], NOW)).isSameAs(set);
+        assertThat(set.with(new long[]{1L}, new long[]{NOW}, NOW)).isSameAs(set); // 이미 만료
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        Random random = new Random(7);
+        RevocationSet set = RevocationSet.empty(0.01);
+        for (int round = 0; round < 100; round++) {
+            long[] hashes = new long[100];
+            long[] expiresAt = new long[100];
+            for (int i = 0; i < hashes.length; i++) {
+                hashes[i] = RevocationSet.hash("revoked-" + round + "-" + i);
+                expiresAt[i] = LATER;
+            }
+            set = set.with(hashes, expiresAt, NOW);
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            long hash = RevocationSet.hash("active-" + random.nextLong());
+            if (set.mightContain(hash) && !set.contains(hash)) {
+                falsePositives++;
+            }
+        }
+        assertThat(set.size()).isEqualTo(10_000);
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+}
@@ -0,0 +1,85 @@
+package com.makersworld.oauth_inclass.security;
+
+import com.makersworld.oauth_inclass.config.JwtKeyProvider;
+import com.makersworld.oauth_inclass.config.JwtProperties;
+import com.makersworld.oauth_inclass.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 검증 토큰 캐시: 검증 키가 제거된 뒤에는 제거 전에 시작된 검증 결과도 적중하지 않는지 확인합니다.
+ */
+class VerifiedTokenCacheTest {
+
+    private static final String TOKEN = "header.payload.signature";
+
+    private final JwtService jwtService = mock(JwtService.class);
+    private Consumer<Set<String>> keyRemoval;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.getCache().setEnabled(true);
+        JwtKeyProvider keyProvider = mock(JwtKeyProvider.class);
+        cache = new VerifiedTokenCache(jwtService, keyProvider, properties, new SimpleMeterRegistry());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<Set<String>>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(keyProvider).addKeyRemovalListener(listener.capture());
+        keyRemoval = listener.getValue();
+    }
+
+    @Test
+    void repeatedTokenIsVerifiedOnce() {
+        when(jwtService.verify(TOKEN)).thenReturn(token());
+
+        cache.verify(TOKEN);
+        cache.verify(TOKEN);
+
+        verify(jwtService, times(1)).verify(TOKEN);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void verificationStartedBeforeKeyRemovalIsNotCached() {
+        // 서명 검증 도중에 키가 제거되어 캐시가 비워짐
+        when(jwtService.verify(TOKEN)).thenAnswer(invocation -> {
+            keyRemoval.accept(Set.of("old-kid"));
+            return token();
+        });
+
+        cache.verify(TOKEN);
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void entryStoredBeforeKeyRemovalIsNotServed() {
+        when(jwtService.verify(TOKEN)).thenReturn(token());
+        cache.verify(TOKEN);
+
+        keyRemoval.accept(Set.of("old-kid"));
+        cache.verify(TOKEN);
+
+        verify(jwtService, times(2)).verify(TOKEN);
+        assertThat(cache.getHitCount()).isZero();
+    }
+
+    private static VerifiedToken token() {
+        long now = System.currentTimeMillis();
+        return new VerifiedToken("user@example.com", "USER", "jti", new Date(now), new Date(now + 60_000L));
+    }
+}
@@ -0,0 +1,149 @@
+package com.makersworld.oauth_inclass.service;
+
+import com.makersworld.oauth_inclass.config.OAuth2WebClients;
+import com.makersworld.oauth_inclass.dto.UserInfoResponse;
+import com.makersworld.oauth_inclass.security.OidcIdTokenVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Google 로그인: id_token 경로와 userinfo 대체 경로 모두 확인되지 않은 이메일로는 로그인되지 않는지 확인합니다.
+ * 토큰/userinfo 엔드포인트는 WebClient 의 ExchangeFunction 으로 흉내 냅니다.
+ */
+class GoogleOAuth2ServiceTest {
+
+    private static final String TOKEN_URI = "https://oauth2.example.test/token";
+    private static final String USER_INFO_URI = "https://www.example.test/oauth2/v2/userinfo";
+    private static final String TOKEN_RESPONSE = "{\"access_token\":\"access\",\"token_type\":\"Bearer\",\"id_token\":\"id-token\"}";
+
+    private final OidcIdTokenVerifier idTokenVerifier = mock(OidcIdTokenVerifier.class);
+    private final AtomicInteger userInfoCalls = new AtomicInteger();
+    private String userInfoBody;
+    private GoogleOAuth2Service service;
+
+    @BeforeEach
+    void setUp() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    String body = request.url().toString().equals(TOKEN_URI) ? TOKEN_RESPONSE : userInfo();
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(body)
+                            .build());
+                })
+                .build();
+        OAuth2WebClients webClients = mock(OAuth2WebClients.class);
+        when(webClients.get("google")).thenReturn(webClient);
+
+        // 헤지 없이 요청을 한 번만 실행
+        OAuth2RequestHedger requestHedger = mock(OAuth2RequestHedger.class);
+        when(requestHedger.hedge(anyString(), any())).thenAnswer(invocation ->
+                invocation.<Supplier<Mono<?>>>getArgument(1).get());
+
+        when(idTokenVerifier.isEnabled()).thenReturn(true);
+
+        service = new GoogleOAuth2Service(webClients, requestHedger, idTokenVerifier);
+        ReflectionTestUtils.setField(service, "clientId", "client");
+        ReflectionTestUtils.setField(service, "clientSecret", "secret");
+        ReflectionTestUtils.setField(service, "redirectUri", "http://localhost/callback");
+        ReflectionTestUtils.setField(service, "scope", "openid,profile,email");
+        ReflectionTestUtils.setField(service, "authorizationUri", "https://accounts.example.test/auth");
+        ReflectionTestUtils.setField(service, "tokenUri", TOKEN_URI);
+        ReflectionTestUtils.setField(service, "userInfoUri", USER_INFO_URI);
+        ReflectionTestUtils.setField(service, "jwkSetUri", "https://www.example.test/certs");
+        ReflectionTestUtils.setField(service, "issuerUri", "https://accounts.example.test");
+        service.init();
+    }
+
+    @Test
+    void verifiedIdTokenSkipsUserInfo() {
+        idToken(claims("user@gmail.com", true));
+
+        UserInfoResponse user = service.fetchIdentityAsync("code").block();
+
+        assertThat(user.getEmail()).isEqualTo("user@gmail.com");
+        assertThat(user.getId()).isEqualTo("google-sub");
+        assertThat(userInfoCalls.get()).isZero();
+    }
+
+    @Test
+    void unverifiedIdTokenEmailIsRejectedWhenUserInfoIsAlsoUnverified() {
+        idToken(claims("victim@example.com", false));
+        userInfoBody = "{\"id\":\"google-sub\",\"email\":\"victim@example.com\",\"verified_email\":false,\"name\":\"공격자\"}";
+
+        assertThatThrownBy(() -> service.fetchIdentityAsync("code").block())
+                .hasMessageContaining("verified user info");
+        assertThat(userInfoCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void stringFalseIdTokenEmailVerifiedIsNotTrusted() {
+        idToken(new JWTClaimsSet.Builder().subject("google-sub").claim("email", "victim@example.com")
+                .claim("email_verified", "false").build());
+        userInfoBody = "{\"id\":\"google-sub\",\"email\":\"victim@example.com\"}"; // verified_email 없음
+
+        assertThatThrownBy(() -> service.fetchIdentityAsync("code").block())
+                .hasMessageContaining("verified user info");
+    }
+
+    @Test
+    void missingIdTokenEmailFallsBackToVerifiedUserInfo() {
+        idToken(new JWTClaimsSet.Builder().subject("google-sub").build()); // email scope 없이 발급된 id_token
+        userInfoBody = "{\"id\":\"google-sub\",\"email\":\"user@gmail.com\",\"verified_email\":true,"
+                + "\"name\":\"홍길동\",\"picture\":\"https://lh3.example.test/a.png\",\"locale\":\"ko\"}";
+
+        UserInfoResponse user = service.fetchIdentityAsync("code").block();
+
+        assertThat(user.getEmail()).isEqualTo("user@gmail.com");
+        assertThat(user.getName()).isEqualTo("홍길동");
+        assertThat(user.getPicture()).isEqualTo("https://lh3.example.test/a.png");
+        assertThat(userInfoCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void failedIdTokenVerificationFallsBackToUserInfoWithSameRule() {
+        when(idTokenVerifier.verify(anyString(), anyString(), any(), anyString(), anyString()))
+                .thenReturn(Mono.error(new RuntimeException("bad signature")));
+        userInfoBody = "{\"id\":\"google-sub\",\"email\":\"victim@example.com\",\"verified_email\":\"false\"}";
+
+        assertThatThrownBy(() -> service.fetchIdentityAsync("code").block())
+                .hasMessageContaining("verified user info");
+    }
+
+    private void idToken(JWTClaimsSet claims) {
+        when(idTokenVerifier.verify(anyString(), anyString(), any(), anyString(), anyString()))
+                .thenReturn(Mono.just(claims));
+    }
+
+    private static JWTClaimsSet claims(String email, boolean emailVerified) {
+        return new JWTClaimsSet.Builder()
+                .subject("google-sub")
+                .claim("email", email)
+                .claim("email_verified", emailVerified)
+                .claim("name", "홍길동")
+                .build();
+    }
+
+    private String userInfo() {
+        userInfoCalls.incrementAndGet();
+        return userInfoBody;
+    }
+}
@@ -0,0 +1,155 @@
+package com.makersworld.oauth_inclass.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.makersworld.oauth_inclass.config.JwtKeyProvider;
+import com.makersworld.oauth_inclass.config.JwtProperties;
+import com.makersworld.oauth_inclass.config.SigningKey;
+import com.makersworld.oauth_inclass.enums.JwtAlgorithm;
+import com.makersworld.oauth_inclass.enums.Role;
+import com.makersworld.oauth_inclass.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JwtTokenEncoder 가 직접 만든 토큰을 jjwt 파서 / JwtService 가 그대로 받아들이고 같은 클레임으로 읽는지 확인합니다.
+ */
+class JwtTokenEncoderTest {
+
+    private static final long IAT = 1_700_000_000L;
+    private static final long EXP = 4_000_000_000L; // 2096년 (테스트 중 만료되지 않음)
+
+    private final JwtTokenEncoder encoder = new JwtTokenEncoder();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @ParameterizedTest
+    @EnumSource(JwtAlgorithm.class)
+    void accessTokenIsVerifiedByJjwt(JwtAlgorithm algorithm) {
+        SigningKey key = SigningKey.of(algorithm, algorithm.generateKeyPair());
+
+        String token = encoder.encode(key, "user@example.com", "USER", "jti-1", IAT, EXP);
+
+        Jws<Claims> jws = parse(key, token);
+        assertThat(jws.getHeader().getKeyId()).isEqualTo(key.getKid());
+        assertThat(jws.getHeader().getAlgorithm()).isEqualTo(algorithm.name());
+        Claims claims = jws.getPayload();
+        assertThat(claims.getSubject()).isEqualTo("user@example.com");
+        assertThat(claims.get("role", String.class)).isEqualTo("USER");
+        assertThat(claims.getId()).isEqualTo("jti-1");
+        assertThat(claims.getIssuedAt().getTime()).isEqualTo(IAT * 1000);
+        assertThat(claims.getExpiration().getTime()).isEqualTo(EXP * 1000);
+    }
+
+    @ParameterizedTest
+    @EnumSource(JwtAlgorithm.class)
+    void refreshTokenOmitsRole(JwtAlgorithm algorithm) {
+        SigningKey key = SigningKey.of(algorithm, algorithm.generateKeyPair());
+
+        String token = encoder.encode(key, "user@example.com", null, "refresh-jti", IAT, EXP);
+
+        Claims claims = parse(key, token).getPayload();
+        assertThat(claims).doesNotContainKey("role");
+        assertThat(claims.getId()).isEqualTo("refresh-jti");
+        assertThat(payloadJson(token)).isEqualTo(
+                "{\"sub\":\"user@example.com\",\"jti\":\"refresh-jti\",\"iat\":" + IAT + ",\"exp\":" + EXP + "}");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "홍길동@example.com",
+            "quote\"and\\backslash",
+            "control\b\t\n\f\r\u0000\u0001\u001f\u007f",
+            "slash/and<html>&amp;",
+            "emoji😀@example.com",
+            "latin-éü߿ࠀ￿"
+    })
+    void escapedClaimsRoundTripLikeJackson(String value) throws Exception {
+        JwtAlgorithm algorithm = JwtAlgorithm.ES256;
+        SigningKey key = SigningKey.of(algorithm, algorithm.generateKeyPair());
+
+        String token = encoder.encode(key, value, value, value, IAT, EXP);
+
+        Claims claims = parse(key, token).getPayload();
+        assertThat(claims.getSubject()).isEqualTo(value);
+        assertThat(claims.get("role", String.class)).isEqualTo(value);
+
+        // jjwt 빌더(Jackson)가 같은 클레임 순서로 직렬화한 결과와 바이트 단위로 같아야 함
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("role", value);
+        expected.put("sub", value);
+        expected.put("jti", value);
+        expected.put("iat", IAT);
+        expected.put("exp", EXP);
+        assertThat(payloadJson(token)).isEqualTo(objectMapper.writeValueAsString(expected));
+    }
+
+    @Test
+    void base64UrlMatchesJdkEncoderForEveryPaddingLength() {
+        SigningKey key = SigningKey.of(JwtAlgorithm.EdDSA, JwtAlgorithm.EdDSA.generateKeyPair());
+        Base64.Encoder jdk = Base64.getUrlEncoder().withoutPadding();
+
+        // 주체 길이를 바꿔 페이로드 길이 % 3 = 0, 1, 2 를 모두 거침
+        for (String subject : new String[]{"a", "ab", "abc", "abcd"}) {
+            String token = encoder.encode(key, subject, null, null, IAT, EXP);
+            String[] parts = token.split("\\.");
+            String json = "{\"sub\":\"" + subject + "\",\"iat\":" + IAT + ",\"exp\":" + EXP + "}";
+            assertThat(parts[1]).isEqualTo(jdk.encodeToString(json.getBytes(StandardCharsets.UTF_8)));
+            assertThat(parse(key, token).getPayload().getSubject()).isEqualTo(subject);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(JwtAlgorithm.class)
+    void jwtServiceVerifiesItsOwnTokens(JwtAlgorithm algorithm) {
+        JwtProperties properties = new JwtProperties();
+        properties.setAlgorithm(algorithm);
+        properties.setExpirationMs(60_000L);
+        properties.setRefreshExpiration(120_000L);
+        SigningKey key = SigningKey.of(algorithm, algorithm.generateKeyPair());
+        JwtService jwtService = new JwtService(properties, fixedKeyProvider(properties, key));
+        jwtService.initParser();
+
+        VerifiedToken access = jwtService.verify(jwtService.generateToken("사용자@example.com", Role.ADMIN));
+        assertThat(access.getSubject()).isEqualTo("사용자@example.com");
+        assertThat(access.getRole()).isEqualTo("ADMIN");
+        assertThat(access.getTokenId()).isNotNull();
+
+        VerifiedToken refresh = jwtService.verify(jwtService.generateRefreshToken("사용자@example.com", "family-jti"));
+        assertThat(refresh.getRole()).isNull();
+        assertThat(refresh.getTokenId()).isEqualTo("family-jti");
+        assertThat(refresh.isExpired()).isFalse();
+    }
+
+    private static Jws<Claims> parse(SigningKey key, String token) {
+        return Jwts.parser().verifyWith(key.getPublicKey()).build().parseSignedClaims(token);
+    }
+
+    private static String payloadJson(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.split("\\.")[1]), StandardCharsets.UTF_8);
+    }
+
+    private static JwtKeyProvider fixedKeyProvider(JwtProperties properties, SigningKey key) {
+        return new JwtKeyProvider(properties) {
+            @Override
+            public SigningKey getActiveKey() {
+                return key;
+            }
+
+            @Override
+            public SigningKey getVerificationKey(String kid) {
+                return kid == null || kid.equals(key.getKid()) ? key : null;
+            }
+        };
+    }
+}
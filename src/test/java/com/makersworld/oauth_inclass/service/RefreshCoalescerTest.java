@@ -0,0 +1,157 @@
+package com.makersworld.oauth_inclass.service;
+
+import com.makersworld.oauth_inclass.config.JwtProperties;
+import com.makersworld.oauth_inclass.dto.AuthResponse;
+import com.makersworld.oauth_inclass.enums.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 같은 리프레시 토큰의 동시 갱신 합치기(single-flight)와 유예 기간 재사용 테스트
+ */
+class RefreshCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void concurrentRefreshesOfSameTokenRunOnce() throws Exception {
+        RefreshCoalescer coalescer = coalescer(Duration.ofSeconds(10));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<AuthResponse> slowRefresh = () -> {
+            entered.countDown();
+            await(release);
+            return response("rotated-" + calls.incrementAndGet());
+        };
+
+        int tabs = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(tabs);
+        try {
+            List<Future<AuthResponse>> results = new ArrayList<>();
+            results.add(executor.submit(() -> coalescer.coalesce("jti-1", slowRefresh)));
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue(); // 첫 요청이 계산 중
+            for (int i = 1; i < tabs; i++) {
+                results.add(executor.submit(() -> coalescer.coalesce("jti-1", slowRefresh)));
+            }
+            waitForCoalesced(tabs - 1);
+            release.countDown();
+
+            for (Future<AuthResponse> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getRefreshToken()).isEqualTo("rotated-1");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(coalescedCount()).isEqualTo(tabs - 1);
+    }
+
+    @Test
+    void completedResultIsReusedWithinGraceWindowOnly() throws Exception {
+        RefreshCoalescer coalescer = coalescer(Duration.ofMillis(200));
+        Supplier<AuthResponse> refresh = () -> response("rotated-" + calls.incrementAndGet());
+
+        AuthResponse first = coalescer.coalesce("jti-1", refresh);
+        AuthResponse lateTab = coalescer.coalesce("jti-1", refresh);
+        AuthResponse otherToken = coalescer.coalesce("jti-2", refresh);
+
+        assertThat(lateTab).isSameAs(first);
+        assertThat(otherToken.getRefreshToken()).isEqualTo("rotated-2");
+
+        Thread.sleep(400); // 유예 기간 이후의 재제출은 다시 계산 (교체 단계에서 재사용으로 판정됨)
+        assertThat(coalescer.coalesce("jti-1", refresh).getRefreshToken()).isEqualTo("rotated-3");
+    }
+
+    @Test
+    void zeroGraceWindowCoalescesOnlyInFlightCalls() {
+        RefreshCoalescer coalescer = coalescer(Duration.ZERO);
+        Supplier<AuthResponse> refresh = () -> response("rotated-" + calls.incrementAndGet());
+
+        coalescer.coalesce("jti-1", refresh);
+        coalescer.coalesce("jti-1", refresh);
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(coalescedCount()).isZero();
+    }
+
+    @Test
+    void failureIsPropagatedToWaitersAndNotCached() throws Exception {
+        RefreshCoalescer coalescer = coalescer(Duration.ofSeconds(10));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RuntimeException failure = new RuntimeException("이미 사용된 리프레시 토큰입니다. 다시 로그인해 주세요.");
+        Supplier<AuthResponse> failingRefresh = () -> {
+            calls.incrementAndGet();
+            entered.countDown();
+            await(release);
+            throw failure;
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<AuthResponse> leader = executor.submit(() -> coalescer.coalesce("jti-1", failingRefresh));
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<AuthResponse> waiter = executor.submit(() -> coalescer.coalesce("jti-1", failingRefresh));
+            waitForCoalesced(1);
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class).hasCause(failure);
+            assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class).hasCause(failure);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 실패한 결과는 남기지 않으므로 다음 요청은 다시 계산
+        AuthResponse retried = coalescer.coalesce("jti-1", () -> response("rotated-" + calls.incrementAndGet()));
+        assertThat(retried.getRefreshToken()).isEqualTo("rotated-2");
+    }
+
+    private RefreshCoalescer coalescer(Duration graceWindow) {
+        JwtProperties properties = new JwtProperties();
+        properties.getRefresh().setGraceWindow(graceWindow);
+        return new RefreshCoalescer(properties, meterRegistry);
+    }
+
+    private double coalescedCount() {
+        return meterRegistry.counter("auth.refresh.coalesced").count();
+    }
+
+    // 뒤따른 요청들이 모두 진행 중인 결과를 기다리기 시작할 때까지 대기 (카운터는 await 직전에 증가)
+    private void waitForCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescedCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(coalescedCount()).isEqualTo(expected);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static AuthResponse response(String refreshToken) {
+        return new AuthResponse("access", refreshToken, "Bearer", 86400L, "user@example.com", "사용자", Role.USER);
+    }
+}
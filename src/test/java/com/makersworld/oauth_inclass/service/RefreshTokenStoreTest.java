@@ -0,0 +1,350 @@
+package com.makersworld.oauth_inclass.service;
+
+import com.makersworld.oauth_inclass.config.JwtProperties;
+import com.makersworld.oauth_inclass.model.RefreshToken;
+import com.makersworld.oauth_inclass.repository.RefreshTokenRepository;
+import com.makersworld.oauth_inclass.security.VerifiedToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 리프레시 토큰 교체/재사용 탐지 테스트
+ * 두 RefreshTokenStore 가 같은 refresh_tokens(메모리 테이블)를 공유하도록 구성해 인스턴스 두 대를 흉내 냅니다.
+ * 테이블의 조건부 UPDATE 는 DB 처럼 원자적으로 동작합니다.
+ * 기본 구성은 유예 기간 0 (재제출은 곧바로 재사용), 유예 기간 테스트는 따로 구성합니다.
+ */
+class RefreshTokenStoreTest {
+
+    private static final String EMAIL = "user@example.com";
+
+    private final Table table = new Table();
+    private RefreshTokenStore nodeA;
+    private RefreshTokenStore nodeB;
+
+    @BeforeEach
+    void setUp() {
+        startNodes(Duration.ZERO);
+    }
+
+    private void startNodes(Duration graceWindow) {
+        JwtProperties properties = new JwtProperties();
+        properties.setRefreshExpiration(60_000L);
+        properties.getRefresh().setGraceWindow(graceWindow);
+        RefreshTokenRepository repository = table.repository();
+
+        // 토큰 문자열 대신 jti 를 그대로 돌려받아 다음 교체에 사용
+        JwtService jwtService = mock(JwtService.class);
+        when(jwtService.generateRefreshToken(anyString(), anyString())).thenAnswer(invocation -> invocation.getArgument(1));
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        nodeA = new RefreshTokenStore(repository, jwtService, properties, transactionTemplate);
+        nodeB = new RefreshTokenStore(repository, jwtService, properties, transactionTemplate);
+    }
+
+    @Test
+    void rotationIssuesNextTokenAndRejectsReplay() {
+        String first = nodeA.issue(EMAIL);
+
+        String second = nodeA.rotate(refresh(first));
+
+        assertThat(second).isNotEqualTo(first);
+        assertThat(table.row(first).consumedAt).isNotNull();
+        assertThatThrownBy(() -> nodeA.rotate(refresh(first))).hasMessageContaining("이미 사용된");
+        // 재사용이 감지되면 family 전체가 폐기되어 정상 사용자가 받은 토큰도 더 이상 쓸 수 없음
+        assertThat(table.row(second).revokedAt).isNotNull();
+        assertThatThrownBy(() -> nodeA.rotate(refresh(second))).hasMessageContaining("폐기된");
+    }
+
+    @Test
+    void replayOnAnotherInstanceAfterRotationRevokesFamilyClusterWide() {
+        String first = nodeA.issue(EMAIL);
+        String second = nodeA.rotate(refresh(first));
+
+        // 탈취된 이전 토큰을 다른 인스턴스에 제출 (nodeB 메모리에는 아무 정보도 없음)
+        assertThatThrownBy(() -> nodeB.rotate(refresh(first))).hasMessageContaining("이미 사용된");
+
+        // family 폐기는 DB 에 바로 기록되므로, nodeA 가 발급한 다음 토큰도 어느 인스턴스에서든 거부됨
+        assertThatThrownBy(() -> nodeA.rotate(refresh(second))).hasMessageContaining("폐기된");
+        assertThatThrownBy(() -> nodeB.rotate(refresh(second))).hasMessageContaining("폐기된");
+        assertThat(nodeA.isActive(refresh(second))).isFalse();
+    }
+
+    @Test
+    void tokenIssuedOnOneInstanceIsImmediatelyUsableOnAnother() {
+        String first = nodeA.issue(EMAIL);
+
+        String second = nodeB.rotate(refresh(first));
+
+        assertThat(nodeA.isActive(refresh(first))).isFalse();
+        assertThat(nodeA.isActive(refresh(second))).isTrue();
+    }
+
+    @Test
+    void concurrentDoubleConsumeAcrossInstancesSucceedsOnce() throws Exception {
+        String token = nodeA.issue(EMAIL);
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rotated = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                RefreshTokenStore node = i % 2 == 0 ? nodeA : nodeB;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        node.rotate(refresh(token));
+                        rotated.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(rotated.get()).isEqualTo(1);
+        assertThat(rejected.get()).isEqualTo(threads - 1);
+        assertThat(table.row(token).revokedAt).isNotNull(); // 진 요청은 재사용으로 보고 family 를 폐기
+    }
+
+    @Test
+    void tokenMissedByFamilyRevocationIsRejectedWhenUsed() {
+        String first = nodeA.issue(EMAIL);
+        String second = nodeA.rotate(refresh(first));
+        String family = table.row(first).token.getFamilyId();
+
+        // 폐기 UPDATE 가 family 를 훑은 뒤에 교체 트랜잭션이 second 를 insert 한 경우를 흉내 냄
+        table.repository().revokeFamilies(List.of(family), Instant.now());
+        table.row(second).revokedAt = null;
+
+        assertThatThrownBy(() -> nodeB.rotate(refresh(second))).hasMessageContaining("폐기된");
+        assertThat(nodeB.isActive(refresh(second))).isFalse();
+    }
+
+    @Test
+    void retryOnAnotherInstanceWithinGraceGetsSameSuccessor() {
+        startNodes(Duration.ofSeconds(10));
+        String first = nodeA.issue(EMAIL);
+
+        // 두 탭이 같은 토큰으로 갱신했는데 서로 다른 인스턴스로 들어감 (각 인스턴스의 RefreshCoalescer 는 서로 모름)
+        String second = nodeA.rotate(refresh(first));
+        String retried = nodeB.rotate(refresh(first));
+        String retriedAgainOnA = nodeA.rotate(refresh(first)); // 교체한 인스턴스의 부정 캐시도 유예 기간 안에서는 거부하지 않음
+
+        assertThat(retried).isEqualTo(second);
+        assertThat(retriedAgainOnA).isEqualTo(second);
+        assertThat(table.row(second).revokedAt).isNull(); // family 를 폐기하지 않음
+        assertThat(nodeB.isActive(refresh(second))).isTrue();
+        assertThat(nodeB.rotate(refresh(second))).isNotEqualTo(second);
+    }
+
+    @Test
+    void concurrentRefreshesAcrossInstancesWithinGraceAllSucceed() throws Exception {
+        startNodes(Duration.ofSeconds(10));
+        String token = nodeA.issue(EMAIL);
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                RefreshTokenStore node = i % 2 == 0 ? nodeA : nodeB;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return node.rotate(refresh(token));
+                }));
+            }
+            start.countDown();
+            String successor = futures.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<String> future : futures) {
+                assertThat(future.get(10, TimeUnit.SECONDS)).isEqualTo(successor);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(table.row(token).revokedAt).isNull();
+    }
+
+    @Test
+    void retryAfterSuccessorWasUsedIsTreatedAsReuse() {
+        startNodes(Duration.ofSeconds(10));
+        String first = nodeA.issue(EMAIL);
+        String second = nodeA.rotate(refresh(first));
+        nodeA.rotate(refresh(second));
+
+        // 후속 토큰까지 이미 사용되었으면 돌려줄 토큰이 없으므로 유예 기간 안이어도 재사용
+        assertThatThrownBy(() -> nodeB.rotate(refresh(first))).hasMessageContaining("이미 사용된");
+        assertThat(table.row(second).revokedAt).isNotNull();
+    }
+
+    @Test
+    void unknownTokenOrDifferentSubjectIsRejected() {
+        String token = nodeA.issue(EMAIL);
+
+        assertThatThrownBy(() -> nodeA.rotate(refresh("unknown-jti"))).hasMessageContaining("유효하지 않은");
+        assertThatThrownBy(() -> nodeA.rotate(new VerifiedToken("other@example.com", null, token, new Date(), later())))
+                .hasMessageContaining("유효하지 않은");
+        assertThatThrownBy(() -> nodeA.rotate(new VerifiedToken(EMAIL, "USER", token, new Date(), later())))
+                .hasMessageContaining("유효하지 않은"); // 액세스 토큰은 갱신에 사용할 수 없음
+        assertThat(table.row(token).consumedAt).isNull();
+    }
+
+    private static VerifiedToken refresh(String jti) {
+        return new VerifiedToken(EMAIL, null, jti, new Date(), later());
+    }
+
+    private static Date later() {
+        return new Date(System.currentTimeMillis() + 60_000L);
+    }
+
+    /**
+     * refresh_tokens 테이블 대역 (행 단위 연산은 DB 처럼 원자적)
+     */
+    private static final class Table {
+        private final Map<String, Row> rows = new HashMap<>();
+
+        RefreshTokenRepository repository() {
+            RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+            when(repository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+                insert(invocation.getArgument(0));
+                return invocation.getArgument(0);
+            });
+            when(repository.saveAll(any())).thenAnswer(invocation -> {
+                List<RefreshToken> saved = new ArrayList<>();
+                for (RefreshToken token : invocation.<Iterable<RefreshToken>>getArgument(0)) {
+                    insert(token);
+                    saved.add(token);
+                }
+                return saved;
+            });
+            when(repository.findById(anyString())).thenAnswer(invocation -> find(invocation.getArgument(0)));
+            when(repository.consumeIfActive(anyString(), anyString(), any())).thenAnswer(invocation ->
+                    consumeIfActive(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+            when(repository.findSuccessorConsumedSince(anyString(), any())).thenAnswer(invocation ->
+                    findSuccessorConsumedSince(invocation.getArgument(0), invocation.getArgument(1)));
+            when(repository.revokeFamilies(anyCollection(), any())).thenAnswer(invocation ->
+                    revokeFamilies(invocation.getArgument(0), invocation.getArgument(1)));
+            when(repository.existsByFamilyIdAndRevokedAtIsNotNull(anyString())).thenAnswer(invocation ->
+                    hasRevoked(invocation.getArgument(0)));
+            return repository;
+        }
+
+        synchronized Row row(String jti) {
+            return rows.get(jti);
+        }
+
+        private synchronized void insert(RefreshToken token) {
+            rows.put(token.getJti(), new Row(token));
+        }
+
+        private synchronized Optional<RefreshToken> find(String jti) {
+            Row row = rows.get(jti);
+            return Optional.ofNullable(row == null ? null : row.toEntity());
+        }
+
+        private synchronized int consumeIfActive(String jti, String next, Instant now) {
+            Row row = rows.get(jti);
+            if (row == null || row.consumedAt != null || row.revokedAt != null) {
+                return 0;
+            }
+            row.consumedAt = now;
+            row.replacedBy = next;
+            return 1;
+        }
+
+        // 교체 트랜잭션(사용 처리 + 후속 insert)은 이 대역에서 원자적이지 않으므로 후속 행이 보일 때까지만 기다림 (DB 의 잠금 읽기)
+        private Optional<String> findSuccessorConsumedSince(String jti, Instant since) throws InterruptedException {
+            for (int attempt = 0; attempt < 1_000; attempt++) {
+                synchronized (this) {
+                    Row row = rows.get(jti);
+                    if (row == null || row.consumedAt == null || row.consumedAt.isBefore(since) || row.revokedAt != null) {
+                        return Optional.empty();
+                    }
+                    Row next = rows.get(row.replacedBy);
+                    if (next != null) {
+                        return next.consumedAt == null && next.revokedAt == null ? Optional.of(row.replacedBy) : Optional.empty();
+                    }
+                }
+                Thread.sleep(1);
+            }
+            return Optional.empty();
+        }
+
+        private synchronized int revokeFamilies(Collection<String> familyIds, Instant now) {
+            int updated = 0;
+            for (Row row : rows.values()) {
+                if (familyIds.contains(row.token.getFamilyId()) && row.revokedAt == null) {
+                    row.revokedAt = now;
+                    updated++;
+                }
+            }
+            return updated;
+        }
+
+        private synchronized boolean hasRevoked(String familyId) {
+            return rows.values().stream()
+                    .anyMatch(row -> row.token.getFamilyId().equals(familyId) && row.revokedAt != null);
+        }
+    }
+
+    private static final class Row {
+        private final RefreshToken token;
+        private Instant consumedAt;
+        private Instant revokedAt;
+        private String replacedBy;
+
+        Row(RefreshToken token) {
+            this.token = token;
+        }
+
+        // 조회 시점의 상태를 담은 새 엔티티 (영속성 컨텍스트가 돌려주는 사본처럼)
+        RefreshToken toEntity() {
+            RefreshToken copy = RefreshToken.builder()
+                    .jti(token.getJti())
+                    .familyId(token.getFamilyId())
+                    .email(token.getEmail())
+                    .issuedAt(token.getIssuedAt())
+                    .expiresAt(token.getExpiresAt())
+                    .build();
+            ReflectionTestUtils.setField(copy, "consumedAt", consumedAt);
+            ReflectionTestUtils.setField(copy, "revokedAt", revokedAt);
+            ReflectionTestUtils.setField(copy, "replacedBy", replacedBy);
+            return copy;
+        }
+    }
+}
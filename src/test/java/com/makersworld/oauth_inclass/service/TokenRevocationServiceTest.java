@@ -0,0 +1,110 @@
+package com.makersworld.oauth_inclass.service;
+
+import com.makersworld.oauth_inclass.config.JwtProperties;
+import com.makersworld.oauth_inclass.model.RevokedToken;
+import com.makersworld.oauth_inclass.repository.RevokedTokenRepository;
+import com.makersworld.oauth_inclass.security.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 토큰 폐기 테스트: 중복 폐기(유니크 제약), revoked_at 기준 증분 조회
+ */
+class TokenRevocationServiceTest {
+
+    private final List<RevokedToken> table = new ArrayList<>();
+    private RevokedTokenRepository repository;
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.getRevocation().setPollOverlap(Duration.ofSeconds(30));
+        repository = mock(RevokedTokenRepository.class);
+        // SELECT ... WHERE revoked_at >= ? AND id > ? ORDER BY id LIMIT 1000
+        when(repository.findTop1000ByRevokedAtGreaterThanEqualAndIdGreaterThanOrderByIdAsc(any(), anyLong()))
+                .thenAnswer(invocation -> {
+                    Instant since = invocation.getArgument(0);
+                    long cursor = invocation.getArgument(1);
+                    return table.stream()
+                            .filter(row -> !row.getRevokedAt().isBefore(since) && row.getId() > cursor)
+                            .sorted(Comparator.comparing(RevokedToken::getId))
+                            .limit(1000)
+                            .toList();
+                });
+        service = new TokenRevocationService(repository, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void revokingTwiceIsIdempotent() {
+        VerifiedToken token = token("jti-1");
+        when(repository.save(any(RevokedToken.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'jti-1' for key 'uk_jti'"));
+
+        service.revoke(token);
+        service.revoke(token); // 다른 요청/인스턴스가 먼저 기록한 경우와 같음
+
+        assertThat(service.isRevoked(token)).isTrue();
+        assertThat(service.size()).isEqualTo(1);
+    }
+
+    @Test
+    void rowCommittedOutOfIdOrderIsPickedUpByNextPoll() {
+        Instant now = Instant.now();
+        table.add(row(2L, "jti-2", now.minusSeconds(1)));
+        service.poll();
+        assertThat(service.isRevoked(token("jti-2"))).isTrue();
+
+        // id 1 을 먼저 받았지만 늦게 커밋된 행 ("마지막 id 이후" 조회라면 놓침)
+        table.add(row(1L, "jti-1", now.minusSeconds(2)));
+        service.poll();
+
+        assertThat(service.isRevoked(token("jti-1"))).isTrue();
+        assertThat(service.size()).isEqualTo(2);
+    }
+
+    @Test
+    void rowsOlderThanOverlapAreNotReadAgain() {
+        table.add(row(1L, "jti-1", Instant.now()));
+        service.poll();
+
+        // 첫 조회(전체) 이후에는 이전 조회 시작 시각 - 30초 이전에 폐기된 행을 다시 읽지 않음
+        table.add(row(2L, "jti-old", Instant.now().minus(Duration.ofMinutes(5))));
+        service.poll();
+
+        assertThat(service.isRevoked(token("jti-old"))).isFalse();
+        assertThat(service.isRevoked(token("jti-1"))).isTrue();
+    }
+
+    private static VerifiedToken token(String jti) {
+        return new VerifiedToken("user@example.com", "USER", jti, new Date(),
+                new Date(System.currentTimeMillis() + 60_000L));
+    }
+
+    private static RevokedToken row(long id, String jti, Instant revokedAt) {
+        RevokedToken row = RevokedToken.builder()
+                .jti(jti)
+                .expiresAt(Instant.now().plusSeconds(60))
+                .revokedAt(revokedAt)
+                .build();
+        ReflectionTestUtils.setField(row, "id", id);
+        return row;
+    }
+}
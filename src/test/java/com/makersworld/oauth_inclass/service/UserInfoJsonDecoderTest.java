@@ -0,0 +1,181 @@
+package com.makersworld.oauth_inclass.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.makersworld.oauth_inclass.dto.GoogleUserInfoResponse;
+import com.makersworld.oauth_inclass.dto.KakaoUserInfoResponse;
+import com.makersworld.oauth_inclass.dto.NaverUserInfoResponse;
+import com.makersworld.oauth_inclass.dto.UserInfoResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 스트리밍 디코더: 실제 응답 형태의 userinfo 에서 기존 DTO(Jackson 매핑 + 편의 메서드)와 같은 결과를 내는지 확인합니다.
+ * DTO 쪽 변환은 교체 전 서비스(및 UserInfoDecodingBenchmark.dto)와 같습니다.
+ */
+class UserInfoJsonDecoderTest {
+
+    private static final String KAKAO_ACCOUNT_TAIL = "\"has_email\":true,\"email_needs_agreement\":false,"
+            + "\"is_email_valid\":true,\"is_email_verified\":true,\"email\":\"user@kakao.com\"}}";
+    private static final String NAVER_RESPONSE = "\"id\":\"32742776\",\"nickname\":\"네이버닉네임\","
+            + "\"profile_image\":\"https://ssl.pstatic.net/static/pwe/address/img_profile.png\",\"age\":\"30-39\","
+            + "\"gender\":\"M\",\"email\":\"user@naver.com\",\"mobile\":\"010-0000-0000\",\"mobile_e164\":\"+821000000000\","
+            + "\"birthday\":\"10-01\",\"birthyear\":\"1990\"";
+
+    // Spring Boot 기본 ObjectMapper 와 같이 모르는 필드를 무시
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    @Test
+    void kakaoProfileTakesPrecedenceOverProperties() throws IOException {
+        String json = "{\"id\":3000000123,\"connected_at\":\"2024-01-01T00:00:00Z\","
+                + "\"properties\":{\"nickname\":\"예전닉네임\",\"profile_image\":\"http://k.kakaocdn.net/dn/old_640x640.jpg\","
+                + "\"thumbnail_image\":\"http://k.kakaocdn.net/dn/old_110x110.jpg\"},"
+                + "\"kakao_account\":{\"profile_nickname_needs_agreement\":false,\"profile_image_needs_agreement\":false,"
+                + "\"profile\":{\"nickname\":\"카카오사용자\",\"thumbnail_image_url\":\"http://k.kakaocdn.net/dn/profile_110x110.jpg\","
+                + "\"profile_image_url\":\"http://k.kakaocdn.net/dn/profile_640x640.jpg\",\"is_default_image\":false},"
+                + KAKAO_ACCOUNT_TAIL;
+
+        UserInfoResponse decoded = UserInfoJsonDecoder.kakao(in(json));
+
+        assertThat(decoded).isEqualTo(kakaoDto(json));
+        assertThat(decoded.getName()).isEqualTo("카카오사용자");
+        assertThat(decoded.getPicture()).isEqualTo("http://k.kakaocdn.net/dn/profile_640x640.jpg");
+    }
+
+    @Test
+    void kakaoFallsBackToPropertiesWithoutProfile() throws IOException {
+        String withoutProfile = "{\"id\":3000000123,\"properties\":{\"nickname\":\"예전닉네임\","
+                + "\"profile_image\":\"http://k.kakaocdn.net/dn/old_640x640.jpg\"},\"kakao_account\":{" + KAKAO_ACCOUNT_TAIL;
+        String nullProfile = "{\"id\":3000000123,\"properties\":{\"nickname\":\"예전닉네임\","
+                + "\"profile_image\":\"http://k.kakaocdn.net/dn/old_640x640.jpg\"},\"kakao_account\":{\"profile\":null,"
+                + KAKAO_ACCOUNT_TAIL;
+
+        for (String json : new String[]{withoutProfile, nullProfile}) {
+            UserInfoResponse decoded = UserInfoJsonDecoder.kakao(in(json));
+
+            assertThat(decoded).isEqualTo(kakaoDto(json));
+            assertThat(decoded.getName()).isEqualTo("예전닉네임");
+        }
+    }
+
+    @Test
+    void kakaoEmptyProfileDoesNotFallBackToProperties() throws IOException {
+        // 닉네임 동의 없이 profile 객체만 온 경우: properties 값이 아니라 기본 닉네임 (DTO 와 같은 규칙)
+        String json = "{\"id\":3000000123,\"properties\":{\"nickname\":\"예전닉네임\"},"
+                + "\"kakao_account\":{\"profile_nickname_needs_agreement\":true,\"profile\":{\"is_default_image\":true},"
+                + KAKAO_ACCOUNT_TAIL;
+
+        UserInfoResponse decoded = UserInfoJsonDecoder.kakao(in(json));
+
+        assertThat(decoded).isEqualTo(kakaoDto(json));
+        assertThat(decoded.getName()).isEqualTo("카카오사용자_3000000123");
+        assertThat(decoded.getPicture()).isNull();
+    }
+
+    @Test
+    void kakaoStringAndNumericIdsDecodeTheSame() throws IOException {
+        String numeric = "{\"id\":3000000123,\"kakao_account\":{\"email_needs_agreement\":true}}";
+        String string = "{\"id\":\"3000000123\",\"kakao_account\":{\"email_needs_agreement\":true}}";
+
+        UserInfoResponse fromNumber = UserInfoJsonDecoder.kakao(in(numeric));
+        UserInfoResponse fromString = UserInfoJsonDecoder.kakao(in(string));
+
+        assertThat(fromNumber).isEqualTo(kakaoDto(numeric)).isEqualTo(fromString);
+        assertThat(fromString).isEqualTo(kakaoDto(string));
+        // 이메일 동의가 없으면 회원번호 기반 더미 이메일
+        assertThat(fromString.getId()).isEqualTo("3000000123");
+        assertThat(fromString.getEmail()).isEqualTo("kakao_user_3000000123@dummy.kakao.local");
+    }
+
+    @Test
+    void kakaoNullAndStructValuesAreTreatedAsMissing() throws IOException {
+        String nulls = "{\"id\":3000000123,\"properties\":null,\"kakao_account\":null}";
+        assertThat(UserInfoJsonDecoder.kakao(in(nulls))).isEqualTo(kakaoDto(nulls));
+
+        // Jackson 매핑은 문자열 자리의 객체/배열에서 실패하지만, 디코더는 없는 값으로 보고 기본값을 씀
+        String structs = "{\"id\":3000000123,\"properties\":{\"nickname\":{\"ko\":\"닉네임\"},\"profile_image\":[]},"
+                + "\"kakao_account\":{\"email\":[\"user@kakao.com\"]}}";
+        String missing = "{\"id\":3000000123,\"properties\":{},\"kakao_account\":{}}";
+        assertThat(UserInfoJsonDecoder.kakao(in(structs))).isEqualTo(kakaoDto(missing));
+    }
+
+    @Test
+    void naverMatchesDtoMapping() throws IOException {
+        String withName = "{\"resultcode\":\"00\",\"message\":\"success\",\"response\":{" + NAVER_RESPONSE
+                + ",\"name\":\"홍길동\"}}";
+        String withoutName = "{\"resultcode\":\"00\",\"message\":\"success\",\"response\":{" + NAVER_RESPONSE + "}}";
+
+        assertThat(UserInfoJsonDecoder.naver(in(withName))).isEqualTo(naverDto(withName));
+        assertThat(UserInfoJsonDecoder.naver(in(withName)).getName()).isEqualTo("홍길동");
+        assertThat(UserInfoJsonDecoder.naver(in(withoutName))).isEqualTo(naverDto(withoutName));
+        assertThat(UserInfoJsonDecoder.naver(in(withoutName)).getName()).isEqualTo("네이버닉네임");
+    }
+
+    @Test
+    void naverNullAndStructValuesAreTreatedAsMissing() throws IOException {
+        String nulls = "{\"resultcode\":\"00\",\"message\":\"success\",\"response\":{\"id\":\"32742776\","
+                + "\"email\":null,\"name\":null,\"nickname\":null,\"profile_image\":null}}";
+        assertThat(UserInfoJsonDecoder.naver(in(nulls))).isEqualTo(naverDto(nulls));
+
+        String structs = "{\"resultcode\":\"00\",\"message\":\"success\",\"response\":{\"id\":\"32742776\","
+                + "\"email\":{},\"name\":[\"홍길동\"],\"nickname\":\"네이버닉네임\"}}";
+        String missing = "{\"resultcode\":\"00\",\"message\":\"success\",\"response\":{\"id\":\"32742776\","
+                + "\"nickname\":\"네이버닉네임\"}}";
+        assertThat(UserInfoJsonDecoder.naver(in(structs))).isEqualTo(naverDto(missing));
+    }
+
+    @Test
+    void naverFailureResultCodeDecodesToEmptyMono() {
+        String json = "{\"resultcode\":\"024\",\"message\":\"Authentication failed\"}";
+
+        assertThat(UserInfoJsonDecoder.decode(body(json), UserInfoJsonDecoder::naver).block()).isNull();
+        assertThat(UserInfoJsonDecoder.decode(body("{\"message\":\"success\",\"response\":{\"id\":\"1\"}}"),
+                UserInfoJsonDecoder::naver).block()).isNull();
+    }
+
+    @Test
+    void googleMatchesDtoMappingForVerifiedEmail() throws IOException {
+        String json = "{\"id\":\"108234567890123456789\",\"email\":\"user@gmail.com\",\"verified_email\":true,"
+                + "\"name\":\"홍길동\",\"given_name\":\"길동\",\"family_name\":\"홍\","
+                + "\"picture\":\"https://lh3.googleusercontent.com/a/ACg8ocJ0c1n7Xq2b3Yk9sQ=s96-c\",\"locale\":\"ko\"}";
+        GoogleUserInfoResponse dto = objectMapper.readValue(json, GoogleUserInfoResponse.class);
+
+        assertThat(UserInfoJsonDecoder.google(in(json))).isEqualTo(UserInfoResponse.builder()
+                .id(dto.getId()).email(dto.getEmail()).name(dto.getName()).picture(dto.getPicture()).build());
+
+        String unverified = json.replace("\"verified_email\":true", "\"verified_email\":false");
+        assertThat(UserInfoJsonDecoder.decode(body(unverified), UserInfoJsonDecoder::google).block()).isNull();
+    }
+
+    private UserInfoResponse kakaoDto(String json) throws IOException {
+        KakaoUserInfoResponse response = objectMapper.readValue(json, KakaoUserInfoResponse.class);
+        return UserInfoResponse.builder().id(String.valueOf(response.getId())).email(response.getValidatedEmail())
+                .name(response.getValidatedNickname()).picture(response.getProfileImageUrl()).build();
+    }
+
+    private UserInfoResponse naverDto(String json) throws IOException {
+        NaverUserInfoResponse response = objectMapper.readValue(json, NaverUserInfoResponse.class);
+        return UserInfoResponse.builder().id(response.getId()).email(response.getValidatedEmail())
+                .name(response.getValidatedName()).picture(response.getProfileImage()).build();
+    }
+
+    private static InputStream in(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Flux<DataBuffer> body(String json) {
+        return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}